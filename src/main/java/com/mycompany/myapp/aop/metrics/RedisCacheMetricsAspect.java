@@ -0,0 +1,96 @@
+package com.mycompany.myapp.aop.metrics;
+
+import com.mycompany.myapp.management.RedisCacheMetersService;
+import java.beans.Introspector;
+import java.util.Collection;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Aspect timing the public methods of the Redis cache services that access Redis, named after the cache they serve
+ * ({@code BookRedisService} is the {@code book} cache). The key builders and the handler of the invalidations published by
+ * other nodes never access Redis and are not timed.
+ * <p>
+ * Lookups, the {@code get*} and {@code *Exists} methods, are recorded as a {@code hit} or a {@code miss} depending on their
+ * result: {@code null}, {@code false} and empty collections or pages are misses. A hit served by an in-process cache is
+ * recorded as a {@code near-hit} instead, see {@link RedisCacheMetersService#trackNearCacheHit()}. The other methods are
+ * recorded as a {@code success}. Operations that threw or reported a swallowed error are recorded as an {@code error}.
+ */
+@Aspect
+public class RedisCacheMetricsAspect {
+
+    private static final String SERVICE_SUFFIX = "RedisService";
+
+    private final RedisCacheMetersService redisCacheMetersService;
+
+    public RedisCacheMetricsAspect(RedisCacheMetersService redisCacheMetersService) {
+        this.redisCacheMetersService = redisCacheMetersService;
+    }
+
+    /**
+     * Pointcut that matches the public methods of the Redis cache services.
+     */
+    @Pointcut("within(com.mycompany.myapp.service.redis.*RedisService) && execution(public * *(..))")
+    public void redisServicePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches the public methods of the Redis cache services that do not access Redis.
+     */
+    @Pointcut(
+        "execution(public String com.mycompany.myapp.service.redis.BookRedisService.createPage*(..))" +
+        " || execution(public void com.mycompany.myapp.service.redis.BookRedisService.handleInvalidation(String))"
+    )
+    public void localOnlyPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a cache operation and records its result.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the operation.
+     */
+    @Around("redisServicePointcut() && !localOnlyPointcut()")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getName();
+        RedisCacheMetersService.Operation operation = redisCacheMetersService.start(cacheName(joinPoint));
+        String result = RedisCacheMetersService.RESULT_ERROR;
+        try {
+            Object value = joinPoint.proceed();
+            result = isLookup(name) ? lookupResult(value) : RedisCacheMetersService.RESULT_SUCCESS;
+            return value;
+        } catch (Throwable e) {
+            redisCacheMetersService.trackError(e);
+            throw e;
+        } finally {
+            redisCacheMetersService.stop(operation, name, result);
+        }
+    }
+
+    private static String cacheName(ProceedingJoinPoint joinPoint) {
+        String type = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        if (type.endsWith(SERVICE_SUFFIX)) {
+            type = type.substring(0, type.length() - SERVICE_SUFFIX.length());
+        }
+        return Introspector.decapitalize(type);
+    }
+
+    private static boolean isLookup(String name) {
+        return name.startsWith("get") || name.endsWith("Exists");
+    }
+
+    private static String lookupResult(Object value) {
+        boolean miss =
+            value == null ||
+            Boolean.FALSE.equals(value) ||
+            (value instanceof Collection && ((Collection<?>) value).isEmpty()) ||
+            (value instanceof Slice && !((Slice<?>) value).hasContent());
+        return miss ? RedisCacheMetersService.RESULT_MISS : RedisCacheMetersService.RESULT_HIT;
+    }
+}
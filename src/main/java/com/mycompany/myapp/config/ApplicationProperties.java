@@ -1,6 +1,11 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.service.redis.codec.RedisValueCodec;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to System Library.
@@ -10,7 +15,581 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Cache cache = new Cache();
+
+    private final Search search = new Search();
+
+    private final Inventory inventory = new Inventory();
+
+    private final Reminder reminder = new Reminder();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final S3 s3 = new S3();
+
+    private final Image image = new Image();
+
+    private final Overdue overdue = new Overdue();
+
+    private final CatalogueImport catalogueImport = new CatalogueImport();
+
     // jhipster-needle-application-properties-property
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    public Reminder getReminder() {
+        return reminder;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public S3 getS3() {
+        return s3;
+    }
+
+    public Image getImage() {
+        return image;
+    }
+
+    public Overdue getOverdue() {
+        return overdue;
+    }
+
+    public CatalogueImport getCatalogueImport() {
+        return catalogueImport;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Cache {
+
+        private final Redis redis = new Redis();
+
+        private final BookDetail bookDetail = new BookDetail();
+
+        private final Http http = new Http();
+
+        public Redis getRedis() {
+            return redis;
+        }
+
+        public BookDetail getBookDetail() {
+            return bookDetail;
+        }
+
+        public Http getHttp() {
+            return http;
+        }
+
+        /**
+         * Value encoding of the typed Redis caches (book, category and publisher lists, book details).
+         */
+        public static class Redis {
+
+            private RedisValueCodec codec = RedisValueCodec.JSON;
+
+            private boolean compression = false;
+
+            public RedisValueCodec getCodec() {
+                return codec;
+            }
+
+            public void setCodec(RedisValueCodec codec) {
+                this.codec = codec;
+            }
+
+            public boolean isCompression() {
+                return compression;
+            }
+
+            public void setCompression(boolean compression) {
+                this.compression = compression;
+            }
+        }
+
+        /**
+         * In-process (L1) cache kept in front of the Redis book detail entries.
+         */
+        public static class BookDetail {
+
+            private long maxSize = 10000;
+
+            private long timeToLiveSeconds = 300;
+
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+
+        /**
+         * {@code Cache-Control} ages of the catalogue responses tagged with a version, see {@code ConditionalGet}.
+         */
+        public static class Http {
+
+            private long maxAgeSeconds = 0;
+
+            private long sharedMaxAgeSeconds = 0;
+
+            public long getMaxAgeSeconds() {
+                return maxAgeSeconds;
+            }
+
+            public void setMaxAgeSeconds(long maxAgeSeconds) {
+                this.maxAgeSeconds = maxAgeSeconds;
+            }
+
+            public long getSharedMaxAgeSeconds() {
+                return sharedMaxAgeSeconds;
+            }
+
+            public void setSharedMaxAgeSeconds(long sharedMaxAgeSeconds) {
+                this.sharedMaxAgeSeconds = sharedMaxAgeSeconds;
+            }
+        }
+    }
+
+    public static class Search {
+
+        private final Indexing indexing = new Indexing();
+
+        private final Reindex reindex = new Reindex();
+
+        public Indexing getIndexing() {
+            return indexing;
+        }
+
+        public Reindex getReindex() {
+            return reindex;
+        }
+
+        /**
+         * Full rebuild of the search indices, see {@code SearchReindexService}.
+         */
+        public static class Reindex {
+
+            private int workers = 4;
+
+            private int batchSize = 1000;
+
+            public int getWorkers() {
+                return workers;
+            }
+
+            public void setWorkers(int workers) {
+                this.workers = workers;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+        }
+
+        /**
+         * Elasticsearch indexing queue: ids written in a transaction are indexed after commit, in bulk.
+         */
+        public static class Indexing {
+
+            private boolean async = true;
+
+            private int batchSize = 500;
+
+            private long flushIntervalMs = 1000;
+
+            private int maxAttempts = 5;
+
+            private long initialBackoffMs = 1000;
+
+            private long maxBackoffMs = 60000;
+
+            public boolean isAsync() {
+                return async;
+            }
+
+            public void setAsync(boolean async) {
+                this.async = async;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public long getFlushIntervalMs() {
+                return flushIntervalMs;
+            }
+
+            public void setFlushIntervalMs(long flushIntervalMs) {
+                this.flushIntervalMs = flushIntervalMs;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public long getInitialBackoffMs() {
+                return initialBackoffMs;
+            }
+
+            public void setInitialBackoffMs(long initialBackoffMs) {
+                this.initialBackoffMs = initialBackoffMs;
+            }
+
+            public long getMaxBackoffMs() {
+                return maxBackoffMs;
+            }
+
+            public void setMaxBackoffMs(long maxBackoffMs) {
+                this.maxBackoffMs = maxBackoffMs;
+            }
+        }
+    }
+
+    /**
+     * Available copies of the book copies, see {@code InventoryService}.
+     */
+    public static class Inventory {
+
+        private boolean redisGate = false;
+
+        private long reconcileIntervalMs = 300000;
+
+        private int reconcileBatchSize = 1000;
+
+        public boolean isRedisGate() {
+            return redisGate;
+        }
+
+        public void setRedisGate(boolean redisGate) {
+            this.redisGate = redisGate;
+        }
+
+        public long getReconcileIntervalMs() {
+            return reconcileIntervalMs;
+        }
+
+        public void setReconcileIntervalMs(long reconcileIntervalMs) {
+            this.reconcileIntervalMs = reconcileIntervalMs;
+        }
+
+        public int getReconcileBatchSize() {
+            return reconcileBatchSize;
+        }
+
+        public void setReconcileBatchSize(int reconcileBatchSize) {
+            this.reconcileBatchSize = reconcileBatchSize;
+        }
+    }
+
+    /**
+     * Due date reminders of the check outs, see {@code ReminderService}.
+     */
+    public static class Reminder {
+
+        private List<Duration> offsets = Arrays.asList(Duration.ofDays(-3), Duration.ofDays(-1), Duration.ZERO);
+
+        private long pollIntervalMs = 10000;
+
+        private int batchSize = 100;
+
+        private long leaseSeconds = 300;
+
+        public List<Duration> getOffsets() {
+            return offsets;
+        }
+
+        public void setOffsets(List<Duration> offsets) {
+            this.offsets = offsets;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getLeaseSeconds() {
+            return leaseSeconds;
+        }
+
+        public void setLeaseSeconds(long leaseSeconds) {
+            this.leaseSeconds = leaseSeconds;
+        }
+    }
+
+    /**
+     * Delivery of the mail outbox, see {@code MailOutboxDispatcher}.
+     */
+    public static class MailOutbox {
+
+        private int batchSize = 50;
+
+        private long pollIntervalMs = 2000;
+
+        private int ratePerSecond = 10;
+
+        private int maxAttempts = 5;
+
+        private long initialBackoffMs = 30000;
+
+        private long maxBackoffMs = 3600000;
+
+        private long leaseSeconds = 300;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public int getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(int ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public long getLeaseSeconds() {
+            return leaseSeconds;
+        }
+
+        public void setLeaseSeconds(long leaseSeconds) {
+            this.leaseSeconds = leaseSeconds;
+        }
+    }
+
+    /**
+     * Streaming uploads to S3, see {@code S3Service}.
+     */
+    public static class S3 {
+
+        private DataSize partSize = DataSize.ofMegabytes(8);
+
+        private int partConcurrency = 4;
+
+        private int uploadThreads = 16;
+
+        public DataSize getPartSize() {
+            return partSize;
+        }
+
+        public void setPartSize(DataSize partSize) {
+            this.partSize = partSize;
+        }
+
+        public int getPartConcurrency() {
+            return partConcurrency;
+        }
+
+        public void setPartConcurrency(int partConcurrency) {
+            this.partConcurrency = partConcurrency;
+        }
+
+        public int getUploadThreads() {
+            return uploadThreads;
+        }
+
+        public void setUploadThreads(int uploadThreads) {
+            this.uploadThreads = uploadThreads;
+        }
+    }
+
+    /**
+     * Resized variants of the uploaded images, see {@code ImageVariantService}.
+     */
+    public static class Image {
+
+        private int workers = 2;
+
+        private int queueCapacity = 100;
+
+        private int thumbnailWidth = 160;
+
+        private int mediumWidth = 480;
+
+        private int largeWidth = 1200;
+
+        private float quality = 0.8f;
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getThumbnailWidth() {
+            return thumbnailWidth;
+        }
+
+        public void setThumbnailWidth(int thumbnailWidth) {
+            this.thumbnailWidth = thumbnailWidth;
+        }
+
+        public int getMediumWidth() {
+            return mediumWidth;
+        }
+
+        public void setMediumWidth(int mediumWidth) {
+            this.mediumWidth = mediumWidth;
+        }
+
+        public int getLargeWidth() {
+            return largeWidth;
+        }
+
+        public void setLargeWidth(int largeWidth) {
+            this.largeWidth = largeWidth;
+        }
+
+        public float getQuality() {
+            return quality;
+        }
+
+        public void setQuality(float quality) {
+            this.quality = quality;
+        }
+    }
+
+    /**
+     * Overdue state of the patrons, see {@code OverduePatronService}.
+     */
+    public static class Overdue {
+
+        private long sweepIntervalMs = 60000;
+
+        private long overlapSeconds = 300;
+
+        public long getSweepIntervalMs() {
+            return sweepIntervalMs;
+        }
+
+        public void setSweepIntervalMs(long sweepIntervalMs) {
+            this.sweepIntervalMs = sweepIntervalMs;
+        }
+
+        public long getOverlapSeconds() {
+            return overlapSeconds;
+        }
+
+        public void setOverlapSeconds(long overlapSeconds) {
+            this.overlapSeconds = overlapSeconds;
+        }
+    }
+
+    /**
+     * Bulk import of books and book copies, see {@code CatalogueImportService}.
+     */
+    public static class CatalogueImport {
+
+        private int chunkSize = 1000;
+
+        private int indexBatchSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getIndexBatchSize() {
+            return indexBatchSize;
+        }
+
+        public void setIndexBatchSize(int indexBatchSize) {
+            this.indexBatchSize = indexBatchSize;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
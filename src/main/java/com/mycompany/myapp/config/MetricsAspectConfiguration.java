@@ -0,0 +1,15 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.metrics.RedisCacheMetricsAspect;
+import com.mycompany.myapp.management.RedisCacheMetersService;
+import org.springframework.context.annotation.*;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class MetricsAspectConfiguration {
+
+    @Bean
+    public RedisCacheMetricsAspect redisCacheMetricsAspect(RedisCacheMetersService redisCacheMetersService) {
+        return new RedisCacheMetricsAspect(redisCacheMetersService);
+    }
+}
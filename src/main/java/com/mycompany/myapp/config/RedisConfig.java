@@ -1,6 +1,16 @@
 package com.mycompany.myapp.config;
 
-import com.mycompany.myapp.service.redis.RedisExpiredKeyListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.management.RedisCacheMetersService;
+import com.mycompany.myapp.service.dto.BookTileDTO;
+import com.mycompany.myapp.service.redis.BookDetailInvalidationListener;
+import com.mycompany.myapp.service.redis.BookRedisService;
+import com.mycompany.myapp.service.redis.codec.MeteredRedisSerializer;
+import com.mycompany.myapp.service.redis.codec.RedisValueSerializerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,11 +18,13 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 @Configuration
 @EnableCaching
@@ -31,28 +43,90 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate() {
+    public RedisTemplate<String, Object> redisTemplate(RedisCacheMetersService redisCacheMetersService) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        RedisSerializer<Object> valueSerializer = new MeteredRedisSerializer<>(
+            new JdkSerializationRedisSerializer(),
+            redisCacheMetersService
+        );
         redisTemplate.setConnectionFactory(jedisConnectionFactory());
         redisTemplate.setKeySerializer(new StringRedisSerializer());
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
         redisTemplate.setHashKeySerializer(new JdkSerializationRedisSerializer());
-        redisTemplate.setValueSerializer(new JdkSerializationRedisSerializer());
+        redisTemplate.setValueSerializer(valueSerializer);
+        redisTemplate.setHashValueSerializer(valueSerializer);
         redisTemplate.setEnableTransactionSupport(true);
         redisTemplate.afterPropertiesSet();
         return redisTemplate;
     }
 
     @Bean
-    RedisMessageListenerContainer container(RedisConnectionFactory connectionFactory, MessageListenerAdapter listenerAdapter) {
+    public RedisValueSerializerFactory redisValueSerializerFactory(
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper,
+        Jackson2ObjectMapperBuilder objectMapperBuilder
+    ) {
+        ApplicationProperties.Cache.Redis redis = applicationProperties.getCache().getRedis();
+        return new RedisValueSerializerFactory(redis.getCodec(), redis.isCompression(), objectMapper, objectMapperBuilder);
+    }
+
+    @Bean
+    public RedisTemplate<String, Book> bookRedisTemplate(
+        RedisValueSerializerFactory serializerFactory,
+        RedisCacheMetersService redisCacheMetersService
+    ) {
+        return typedRedisTemplate(new MeteredRedisSerializer<>(serializerFactory.forType(Book.class), redisCacheMetersService));
+    }
+
+    @Bean
+    public RedisTemplate<String, BookTileDTO> bookTileRedisTemplate(
+        RedisValueSerializerFactory serializerFactory,
+        RedisCacheMetersService redisCacheMetersService
+    ) {
+        return typedRedisTemplate(new MeteredRedisSerializer<>(serializerFactory.forType(BookTileDTO.class), redisCacheMetersService));
+    }
+
+    @Bean
+    public RedisTemplate<String, Category> categoryRedisTemplate(
+        RedisValueSerializerFactory serializerFactory,
+        RedisCacheMetersService redisCacheMetersService
+    ) {
+        return typedRedisTemplate(new MeteredRedisSerializer<>(serializerFactory.forType(Category.class), redisCacheMetersService));
+    }
+
+    @Bean
+    public RedisTemplate<String, Publisher> publisherRedisTemplate(
+        RedisValueSerializerFactory serializerFactory,
+        RedisCacheMetersService redisCacheMetersService
+    ) {
+        return typedRedisTemplate(new MeteredRedisSerializer<>(serializerFactory.forType(Publisher.class), redisCacheMetersService));
+    }
+
+    private <T> RedisTemplate<String, T> typedRedisTemplate(RedisSerializer<T> valueSerializer) {
+        RedisTemplate<String, T> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(jedisConnectionFactory());
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(valueSerializer);
+        redisTemplate.setHashValueSerializer(valueSerializer);
+        redisTemplate.setEnableTransactionSupport(true);
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+
+    @Bean
+    RedisMessageListenerContainer container(
+        RedisConnectionFactory connectionFactory,
+        @Qualifier("bookDetailListenerAdapter") MessageListenerAdapter bookDetailListenerAdapter
+    ) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(listenerAdapter, new PatternTopic("__keyevent@0__:expired"));
+        container.addMessageListener(bookDetailListenerAdapter, new ChannelTopic(BookRedisService.INVALIDATION_CHANNEL));
         return container;
     }
 
     @Bean
-    MessageListenerAdapter listenerAdapter(RedisExpiredKeyListener listener) {
+    MessageListenerAdapter bookDetailListenerAdapter(BookDetailInvalidationListener listener) {
         return new MessageListenerAdapter(listener);
     }
 }
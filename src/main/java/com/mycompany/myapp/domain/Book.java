@@ -36,6 +36,15 @@ public class Book implements Serializable {
     @Column(name = "image")
     private String image;
 
+    @Column(name = "image_thumbnail")
+    private String imageThumbnail;
+
+    @Column(name = "image_medium")
+    private String imageMedium;
+
+    @Column(name = "image_large")
+    private String imageLarge;
+
     @Column(name = "description")
     private String description;
 
@@ -103,6 +112,45 @@ public class Book implements Serializable {
         this.image = image;
     }
 
+    public String getImageThumbnail() {
+        return this.imageThumbnail;
+    }
+
+    public Book imageThumbnail(String imageThumbnail) {
+        this.setImageThumbnail(imageThumbnail);
+        return this;
+    }
+
+    public void setImageThumbnail(String imageThumbnail) {
+        this.imageThumbnail = imageThumbnail;
+    }
+
+    public String getImageMedium() {
+        return this.imageMedium;
+    }
+
+    public Book imageMedium(String imageMedium) {
+        this.setImageMedium(imageMedium);
+        return this;
+    }
+
+    public void setImageMedium(String imageMedium) {
+        this.imageMedium = imageMedium;
+    }
+
+    public String getImageLarge() {
+        return this.imageLarge;
+    }
+
+    public Book imageLarge(String imageLarge) {
+        this.setImageLarge(imageLarge);
+        return this;
+    }
+
+    public void setImageLarge(String imageLarge) {
+        this.imageLarge = imageLarge;
+    }
+
     public String getDescription() {
         return this.description;
     }
@@ -242,6 +290,9 @@ public class Book implements Serializable {
             "id=" + getId() +
             ", title='" + getTitle() + "'" +
             ", image='" + getImage() + "'" +
+            ", imageThumbnail='" + getImageThumbnail() + "'" +
+            ", imageMedium='" + getImageMedium() + "'" +
+            ", imageLarge='" + getImageLarge() + "'" +
             ", description='" + getDescription() + "'" +
             "}";
     }
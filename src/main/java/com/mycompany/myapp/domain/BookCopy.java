@@ -35,6 +35,15 @@ public class BookCopy implements Serializable {
     @Column(name = "image")
     private String image;
 
+    @Column(name = "image_thumbnail")
+    private String imageThumbnail;
+
+    @Column(name = "image_medium")
+    private String imageMedium;
+
+    @Column(name = "image_large")
+    private String imageLarge;
+
     @Column(name = "description")
     private String description;
 
@@ -106,6 +115,45 @@ public class BookCopy implements Serializable {
         this.image = image;
     }
 
+    public String getImageThumbnail() {
+        return this.imageThumbnail;
+    }
+
+    public BookCopy imageThumbnail(String imageThumbnail) {
+        this.setImageThumbnail(imageThumbnail);
+        return this;
+    }
+
+    public void setImageThumbnail(String imageThumbnail) {
+        this.imageThumbnail = imageThumbnail;
+    }
+
+    public String getImageMedium() {
+        return this.imageMedium;
+    }
+
+    public BookCopy imageMedium(String imageMedium) {
+        this.setImageMedium(imageMedium);
+        return this;
+    }
+
+    public void setImageMedium(String imageMedium) {
+        this.imageMedium = imageMedium;
+    }
+
+    public String getImageLarge() {
+        return this.imageLarge;
+    }
+
+    public BookCopy imageLarge(String imageLarge) {
+        this.setImageLarge(imageLarge);
+        return this;
+    }
+
+    public void setImageLarge(String imageLarge) {
+        this.imageLarge = imageLarge;
+    }
+
     public String getDescription() {
         return this.description;
     }
@@ -203,6 +251,9 @@ public class BookCopy implements Serializable {
             ", yearPublished=" + getYearPublished() +
             ", amount=" + getAmount() +
             ", image='" + getImage() + "'" +
+            ", imageThumbnail='" + getImageThumbnail() + "'" +
+            ", imageMedium='" + getImageMedium() + "'" +
+            ", imageLarge='" + getImageLarge() + "'" +
             ", description='" + getDescription() + "'" +
             "}";
     }
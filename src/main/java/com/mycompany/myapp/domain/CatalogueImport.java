@@ -0,0 +1,312 @@
+package com.mycompany.myapp.domain;
+
+import com.mycompany.myapp.domain.enumeration.CatalogueImportFormat;
+import com.mycompany.myapp.domain.enumeration.CatalogueImportStatus;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import javax.persistence.*;
+
+/**
+ * A bulk import of books and book copies by the {@code CatalogueImportService}.
+ * <p>
+ * {@code rowsRead} is the number of rows of the file committed so far: it is updated in the transaction of each chunk of
+ * rows, and an import resumed with the same file skips them. {@code runStartedAt} and {@code runStartRow} are reset each time
+ * the import is (re)started, to report the throughput of the current run.
+ */
+@Entity
+@Table(name = "catalogue_import")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CatalogueImport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "file_name", length = 255, nullable = false)
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false)
+    private CatalogueImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private CatalogueImportStatus status;
+
+    @Column(name = "rows_read", nullable = false)
+    private Long rowsRead;
+
+    @Column(name = "rows_rejected", nullable = false)
+    private Long rowsRejected;
+
+    @Column(name = "books_imported", nullable = false)
+    private Long booksImported;
+
+    @Column(name = "copies_imported", nullable = false)
+    private Long copiesImported;
+
+    @Column(name = "authors_created", nullable = false)
+    private Long authorsCreated;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "run_started_at", nullable = false)
+    private Instant runStartedAt;
+
+    @Column(name = "run_start_row", nullable = false)
+    private Long runStartRow;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public CatalogueImport id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return this.fileName;
+    }
+
+    public CatalogueImport fileName(String fileName) {
+        this.setFileName(fileName);
+        return this;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public CatalogueImportFormat getFormat() {
+        return this.format;
+    }
+
+    public CatalogueImport format(CatalogueImportFormat format) {
+        this.setFormat(format);
+        return this;
+    }
+
+    public void setFormat(CatalogueImportFormat format) {
+        this.format = format;
+    }
+
+    public CatalogueImportStatus getStatus() {
+        return this.status;
+    }
+
+    public CatalogueImport status(CatalogueImportStatus status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(CatalogueImportStatus status) {
+        this.status = status;
+    }
+
+    public Long getRowsRead() {
+        return this.rowsRead;
+    }
+
+    public CatalogueImport rowsRead(Long rowsRead) {
+        this.setRowsRead(rowsRead);
+        return this;
+    }
+
+    public void setRowsRead(Long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public Long getRowsRejected() {
+        return this.rowsRejected;
+    }
+
+    public CatalogueImport rowsRejected(Long rowsRejected) {
+        this.setRowsRejected(rowsRejected);
+        return this;
+    }
+
+    public void setRowsRejected(Long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public Long getBooksImported() {
+        return this.booksImported;
+    }
+
+    public CatalogueImport booksImported(Long booksImported) {
+        this.setBooksImported(booksImported);
+        return this;
+    }
+
+    public void setBooksImported(Long booksImported) {
+        this.booksImported = booksImported;
+    }
+
+    public Long getCopiesImported() {
+        return this.copiesImported;
+    }
+
+    public CatalogueImport copiesImported(Long copiesImported) {
+        this.setCopiesImported(copiesImported);
+        return this;
+    }
+
+    public void setCopiesImported(Long copiesImported) {
+        this.copiesImported = copiesImported;
+    }
+
+    public Long getAuthorsCreated() {
+        return this.authorsCreated;
+    }
+
+    public CatalogueImport authorsCreated(Long authorsCreated) {
+        this.setAuthorsCreated(authorsCreated);
+        return this;
+    }
+
+    public void setAuthorsCreated(Long authorsCreated) {
+        this.authorsCreated = authorsCreated;
+    }
+
+    public Instant getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public CatalogueImport createdAt(Instant createdAt) {
+        this.setCreatedAt(createdAt);
+        return this;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return this.updatedAt;
+    }
+
+    public CatalogueImport updatedAt(Instant updatedAt) {
+        this.setUpdatedAt(updatedAt);
+        return this;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getRunStartedAt() {
+        return this.runStartedAt;
+    }
+
+    public CatalogueImport runStartedAt(Instant runStartedAt) {
+        this.setRunStartedAt(runStartedAt);
+        return this;
+    }
+
+    public void setRunStartedAt(Instant runStartedAt) {
+        this.runStartedAt = runStartedAt;
+    }
+
+    public Long getRunStartRow() {
+        return this.runStartRow;
+    }
+
+    public CatalogueImport runStartRow(Long runStartRow) {
+        this.setRunStartRow(runStartRow);
+        return this;
+    }
+
+    public void setRunStartRow(Long runStartRow) {
+        this.runStartRow = runStartRow;
+    }
+
+    public Instant getFinishedAt() {
+        return this.finishedAt;
+    }
+
+    public CatalogueImport finishedAt(Instant finishedAt) {
+        this.setFinishedAt(finishedAt);
+        return this;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    public CatalogueImport lastError(String lastError) {
+        this.setLastError(lastError);
+        return this;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    /**
+     * @return the rows read per second by the current run, until it finished.
+     */
+    public double getRowsPerSecond() {
+        if (runStartedAt == null || rowsRead == null || runStartRow == null) {
+            return 0;
+        }
+        Instant end = finishedAt != null ? finishedAt : updatedAt;
+        long millis = Math.max(1, Duration.between(runStartedAt, end).toMillis());
+        return (rowsRead - runStartRow) * 1000.0 / millis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CatalogueImport)) {
+            return false;
+        }
+        return id != null && id.equals(((CatalogueImport) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CatalogueImport{" +
+            "id=" + getId() +
+            ", fileName='" + getFileName() + "'" +
+            ", format='" + getFormat() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", rowsRead=" + getRowsRead() +
+            ", rowsRejected=" + getRowsRejected() +
+            ", booksImported=" + getBooksImported() +
+            ", copiesImported=" + getCopiesImported() +
+            "}";
+    }
+}
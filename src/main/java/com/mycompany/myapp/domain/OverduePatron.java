@@ -0,0 +1,93 @@
+package com.mycompany.myapp.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+
+/**
+ * The overdue check outs of a patron, kept by the {@code OverduePatronService}: a patron has a row while at least one of
+ * its confirmed check outs is not returned after its end time.
+ */
+@Entity
+@Table(name = "overdue_patron")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OverduePatron implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "card_number", length = 10)
+    private String cardNumber;
+
+    @Column(name = "overdue_count", nullable = false)
+    private Integer overdueCount;
+
+    @Column(name = "oldest_end_time", nullable = false)
+    private Instant oldestEndTime;
+
+    public String getCardNumber() {
+        return this.cardNumber;
+    }
+
+    public OverduePatron cardNumber(String cardNumber) {
+        this.setCardNumber(cardNumber);
+        return this;
+    }
+
+    public void setCardNumber(String cardNumber) {
+        this.cardNumber = cardNumber;
+    }
+
+    public Integer getOverdueCount() {
+        return this.overdueCount;
+    }
+
+    public OverduePatron overdueCount(Integer overdueCount) {
+        this.setOverdueCount(overdueCount);
+        return this;
+    }
+
+    public void setOverdueCount(Integer overdueCount) {
+        this.overdueCount = overdueCount;
+    }
+
+    public Instant getOldestEndTime() {
+        return this.oldestEndTime;
+    }
+
+    public OverduePatron oldestEndTime(Instant oldestEndTime) {
+        this.setOldestEndTime(oldestEndTime);
+        return this;
+    }
+
+    public void setOldestEndTime(Instant oldestEndTime) {
+        this.oldestEndTime = oldestEndTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OverduePatron)) {
+            return false;
+        }
+        return cardNumber != null && cardNumber.equals(((OverduePatron) o).cardNumber);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OverduePatron{" +
+            "cardNumber='" + getCardNumber() + "'" +
+            ", overdueCount=" + getOverdueCount() +
+            ", oldestEndTime='" + getOldestEndTime() + "'" +
+            "}";
+    }
+}
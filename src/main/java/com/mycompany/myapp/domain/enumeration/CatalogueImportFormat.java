@@ -0,0 +1,9 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * The CatalogueImportFormat enumeration.
+ */
+public enum CatalogueImportFormat {
+    CSV,
+    JSONL,
+}
@@ -0,0 +1,10 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * The CatalogueImportStatus enumeration.
+ */
+public enum CatalogueImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED,
+}
@@ -0,0 +1,158 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Meters of the Redis caches in {@code service.redis}, all tagged with the cache name:
+ * <ul>
+ *     <li>{@code cache.redis.operations}: timer per operation and result ({@code hit}, {@code near-hit}, {@code miss},
+ *     {@code success} or {@code error});</li>
+ *     <li>{@code cache.redis.payload}: serialized bytes per direction ({@code read} or {@code write});</li>
+ *     <li>{@code cache.redis.errors}: failures per exception type, including the ones the cache services swallow.</li>
+ * </ul>
+ * The cache of the operation running on the current thread is tracked so that serializers and error handlers, which do not
+ * know which cache they work for, are attributed to it.
+ */
+@Service
+public class RedisCacheMetersService {
+
+    public static final String OPERATIONS_METER_NAME = "cache.redis.operations";
+    public static final String OPERATIONS_METER_DESCRIPTION = "Latency of the Redis cache operations.";
+    public static final String PAYLOAD_METER_NAME = "cache.redis.payload";
+    public static final String PAYLOAD_METER_DESCRIPTION = "Size of the values read from and written to the Redis caches.";
+    public static final String PAYLOAD_METER_BASE_UNIT = "bytes";
+    public static final String ERRORS_METER_NAME = "cache.redis.errors";
+    public static final String ERRORS_METER_DESCRIPTION = "Failed Redis cache operations.";
+    public static final String ERRORS_METER_BASE_UNIT = "errors";
+    public static final String CACHE_DIMENSION = "cache";
+    public static final String OPERATION_DIMENSION = "operation";
+    public static final String RESULT_DIMENSION = "result";
+    public static final String DIRECTION_DIMENSION = "direction";
+    public static final String EXCEPTION_DIMENSION = "exception";
+
+    public static final String RESULT_HIT = "hit";
+    public static final String RESULT_NEAR_HIT = "near-hit";
+    public static final String RESULT_MISS = "miss";
+    public static final String RESULT_SUCCESS = "success";
+    public static final String RESULT_ERROR = "error";
+    public static final String DIRECTION_READ = "read";
+    public static final String DIRECTION_WRITE = "write";
+
+    private static final String UNKNOWN_CACHE = "unknown";
+
+    private final Logger log = LoggerFactory.getLogger(RedisCacheMetersService.class);
+
+    private final MeterRegistry registry;
+    private final ThreadLocal<Operation> currentOperation = new ThreadLocal<>();
+
+    public RedisCacheMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Start timing an operation of {@code cache} on the current thread.
+     */
+    public Operation start(String cache) {
+        Operation operation = new Operation(cache, currentOperation.get());
+        currentOperation.set(operation);
+        return operation;
+    }
+
+    /**
+     * Record an operation started with {@link #start(String)}; an operation that reported an error is recorded as such
+     * whatever the given result, and a hit of an operation that reported a near cache hit is recorded as a near hit.
+     */
+    public void stop(Operation operation, String name, String result) {
+        long duration = System.nanoTime() - operation.startNanos;
+        if (operation.parent != null) {
+            currentOperation.set(operation.parent);
+        } else {
+            currentOperation.remove();
+        }
+        Timer
+            .builder(OPERATIONS_METER_NAME)
+            .description(OPERATIONS_METER_DESCRIPTION)
+            .tag(CACHE_DIMENSION, operation.cache)
+            .tag(OPERATION_DIMENSION, name)
+            .tag(RESULT_DIMENSION, resultOf(operation, result))
+            .register(registry)
+            .record(duration, TimeUnit.NANOSECONDS);
+    }
+
+    private static String resultOf(Operation operation, String result) {
+        if (operation.failed) {
+            return RESULT_ERROR;
+        }
+        return operation.nearCacheHit && RESULT_HIT.equals(result) ? RESULT_NEAR_HIT : result;
+    }
+
+    /**
+     * Mark the current operation as served by an in-process cache, without accessing Redis.
+     */
+    public void trackNearCacheHit() {
+        Operation operation = currentOperation.get();
+        if (operation != null) {
+            operation.nearCacheHit = true;
+        }
+    }
+
+    /**
+     * Count a failed cache access and mark the current operation as failed.
+     */
+    public void trackError(Throwable e) {
+        Operation operation = currentOperation.get();
+        String cache = operation != null ? operation.cache : UNKNOWN_CACHE;
+        if (operation != null) {
+            operation.failed = true;
+        }
+        log.warn("Redis cache {} operation failed: {}", cache, e.toString());
+        log.debug("Redis cache failure", e);
+        Counter
+            .builder(ERRORS_METER_NAME)
+            .baseUnit(ERRORS_METER_BASE_UNIT)
+            .description(ERRORS_METER_DESCRIPTION)
+            .tag(CACHE_DIMENSION, cache)
+            .tag(EXCEPTION_DIMENSION, e.getClass().getSimpleName())
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * Record the size of a value serialized to or deserialized from Redis.
+     */
+    public void trackPayload(String direction, int bytes) {
+        Operation operation = currentOperation.get();
+        DistributionSummary
+            .builder(PAYLOAD_METER_NAME)
+            .baseUnit(PAYLOAD_METER_BASE_UNIT)
+            .description(PAYLOAD_METER_DESCRIPTION)
+            .tag(CACHE_DIMENSION, operation != null ? operation.cache : UNKNOWN_CACHE)
+            .tag(DIRECTION_DIMENSION, direction)
+            .register(registry)
+            .record(bytes);
+    }
+
+    /**
+     * A cache operation running on the current thread.
+     */
+    public static final class Operation {
+
+        private final String cache;
+        private final Operation parent;
+        private final long startNanos = System.nanoTime();
+        private boolean failed;
+        private boolean nearCacheHit;
+
+        private Operation(String cache, Operation parent) {
+            this.cache = cache;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.mycompany.myapp.management;
+
+import com.mycompany.myapp.service.search.SearchReindexService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /management/reindex}) reporting the progress of the search index rebuilds.
+ */
+@Component
+@Endpoint(id = "reindex")
+public class SearchReindexEndpoint {
+
+    private final SearchReindexService searchReindexService;
+
+    public SearchReindexEndpoint(SearchReindexService searchReindexService) {
+        this.searchReindexService = searchReindexService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("running", searchReindexService.isRunning());
+        result.put("indices", searchReindexService.getProgress());
+        return result;
+    }
+}
@@ -1,7 +1,10 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Author;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, Long> {}
+public interface AuthorRepository extends JpaRepository<Author, Long> {
+    @Query("select author.id from Author author where author.id > :id order by author.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select author.id as id, author.name as name from Author author order by author.id")
+    List<IdAndName> findAllIdsAndNames();
+}
@@ -0,0 +1,47 @@
+package com.mycompany.myapp.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.hibernate.annotations.QueryHints;
+
+/**
+ * Loads the collections of a list of entities with one query per collection, whatever the number of entities.
+ * <p>
+ * Fetching several collections in one query returns the cartesian product of their rows, see
+ * https://vladmihalcea.com/hibernate-multiplebagfetchexception/. Each query here fetches one collection, and the to-one
+ * relationships of its elements, for all the entities at once by id; the persistence context merges the results into the
+ * same instances. The entities are returned in their original order.
+ */
+final class BagRelationshipLoader {
+
+    private BagRelationshipLoader() {}
+
+    /**
+     * @param entityManager the entity manager of the current transaction.
+     * @param type the entity type.
+     * @param entities the entities.
+     * @param id the id of an entity.
+     * @param fetches the fetch joins of each query, from the entity aliased {@code e}.
+     * @return the entities with their collections loaded, in the same order.
+     */
+    static <T> List<T> fetch(EntityManager entityManager, Class<T> type, List<T> entities, Function<T, ?> id, String... fetches) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        List<Object> ids = entities.stream().map(id).collect(Collectors.toList());
+        Map<Object, T> loaded = new HashMap<>();
+        for (String fetch : fetches) {
+            entityManager
+                .createQuery("select distinct e from " + type.getSimpleName() + " e " + fetch + " where e.id in :ids", type)
+                .setParameter("ids", ids)
+                .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+                .getResultList()
+                .forEach(entity -> loaded.put(id.apply(entity), entity));
+        }
+        return entities.stream().map(entity -> loaded.getOrDefault(id.apply(entity), entity)).collect(Collectors.toList());
+    }
+}
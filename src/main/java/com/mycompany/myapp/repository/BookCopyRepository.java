@@ -28,17 +28,33 @@ public interface BookCopyRepository extends JpaRepository<BookCopy, Long> {
     }
 
     @Query(
-        value = "select distinct bookCopy from BookCopy bookCopy left join fetch bookCopy.book left join fetch bookCopy.publisher",
+        value = "select distinct bookCopy from BookCopy bookCopy " +
+        "left join fetch bookCopy.book book left join fetch book.category left join fetch bookCopy.publisher",
         countQuery = "select count(distinct bookCopy) from BookCopy bookCopy"
     )
     Page<BookCopy> findAllWithToOneRelationships(Pageable pageable);
 
-    @Query("select distinct bookCopy from BookCopy bookCopy left join fetch bookCopy.book left join fetch bookCopy.publisher")
+    @Query(
+        "select distinct bookCopy from BookCopy bookCopy " +
+        "left join fetch bookCopy.book book left join fetch book.category left join fetch bookCopy.publisher"
+    )
     List<BookCopy> findAllWithToOneRelationships();
 
-    @Query("select bookCopy from BookCopy bookCopy left join fetch bookCopy.book left join fetch bookCopy.publisher where bookCopy.id =:id")
+    @Query(
+        "select bookCopy from BookCopy bookCopy " +
+        "left join fetch bookCopy.book book left join fetch book.category left join fetch bookCopy.publisher " +
+        "where bookCopy.id =:id"
+    )
     Optional<BookCopy> findOneWithToOneRelationships(@Param("id") Long id);
 
+    @Query(
+        "select bookCopy from BookCopy bookCopy " +
+        "left join fetch bookCopy.book " +
+        "left join fetch bookCopy.publisher " +
+        "where bookCopy.id in :ids"
+    )
+    List<BookCopy> findAllWithToOneRelationshipsByIdIn(@Param("ids") List<Long> ids);
+
     @Query(value = "select * from book_copy where publisher_id = ?1 and book_id = ?2 and year_published = ?3", nativeQuery = true)
     Optional<BookCopy> findPublishYearOfPublisher(long publisherId, long bookId, long year);
 
@@ -47,4 +63,25 @@ public interface BookCopyRepository extends JpaRepository<BookCopy, Long> {
 
     @Query(value = "select * from book_copy where book_id = ?1 and amount > 0", nativeQuery = true)
     List<BookCopy> checkBookAvailable(long bookId);
+
+    @Query("select bookCopy.id from BookCopy bookCopy where bookCopy.id > :id order by bookCopy.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select bookCopy.id, bookCopy.amount from BookCopy bookCopy where bookCopy.id > :id order by bookCopy.id")
+    List<Object[]> findAmountsAfter(@Param("id") Long id, Pageable pageable);
+
+    List<BookCopy> findAllByImage(String image);
+
+    /**
+     * Take one copy if any is left, in a single conditional update.
+     *
+     * @return the number of updated rows, {@code 0} when the book copy is sold out.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BookCopy bookCopy set bookCopy.amount = bookCopy.amount - 1 where bookCopy.id = :id and bookCopy.amount > 0")
+    int decrementAmount(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BookCopy bookCopy set bookCopy.amount = bookCopy.amount + 1 where bookCopy.id = :id")
+    int incrementAmount(@Param("id") Long id);
 }
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Book;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -16,7 +17,7 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface BookRepository extends BookRepositoryWithBagRelationships, JpaRepository<Book, Long> {
+public interface BookRepository extends BookRepositoryWithBagRelationships, BookRepositoryWithBatchInsert, JpaRepository<Book, Long> {
     default Optional<Book> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findOneWithToOneRelationships(id));
     }
@@ -29,6 +30,10 @@ public interface BookRepository extends BookRepositoryWithBagRelationships, JpaR
         return this.fetchBagRelationships(this.findAllWithToOneRelationships(pageable));
     }
 
+    default List<Book> findAllWithEagerRelationshipsAfter(Long id, Pageable pageable) {
+        return this.fetchBagRelationships(this.findAllWithToOneRelationshipsAfter(id, pageable));
+    }
+
     @Query(
         value = "select distinct book from Book book left join fetch book.category",
         countQuery = "select count(distinct book) from Book book"
@@ -38,6 +43,12 @@ public interface BookRepository extends BookRepositoryWithBagRelationships, JpaR
     @Query("select distinct book from Book book left join fetch book.category")
     List<Book> findAllWithToOneRelationships();
 
+    @Query("select book from Book book left join fetch book.category where book.id > :id order by book.id")
+    List<Book> findAllWithToOneRelationshipsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select book from Book book where book.id > :id order by book.id")
+    List<Book> findAllAfter(@Param("id") Long id, Pageable pageable);
+
     @Query("select book from Book book left join fetch book.category where book.id =:id")
     Optional<Book> findOneWithToOneRelationships(@Param("id") Long id);
 
@@ -60,9 +71,63 @@ public interface BookRepository extends BookRepositoryWithBagRelationships, JpaR
     )
     Page<Long> findBookIdsByCategoryId(@Param("id") long categoryId, Pageable pageable);
 
+    @Query("select book.id from Book book where book.category.id = :categoryId and book.id > :id order by book.id")
+    List<Long> findBookIdsByCategoryIdAfter(@Param("categoryId") long categoryId, @Param("id") Long id, Pageable pageable);
+
+    long countByCategoryId(long categoryId);
+
+    @Query(
+        "select book.id as id, book.title as title, book.image as image, book.imageThumbnail as imageThumbnail, " +
+        "book.imageMedium as imageMedium from Book book where book.id in :ids"
+    )
+    List<BookTile> findTilesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+        "select book.id as bookId, author.id as id, author.name as name " +
+        "from Book book join book.authors author where book.id in :ids order by author.name"
+    )
+    List<AuthorName> findAuthorNamesByBookIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("select distinct book from Book book  join fetch book.category join fetch book.authors where book.category.id =:id")
     List<Book> findAllByCategoryIdNoPageable(@Param("id") long categoryId);
 
     @Query("select distinct book from Book book join  book.authors author where author.id=:authorId")
     List<Book> findAllByAuthorId(@Param("authorId") long authorId);
+
+    @Query("select book.id from Book book where book.category.id = :id")
+    List<Long> findIdsByCategoryId(@Param("id") long categoryId);
+
+    @Query(value = "select book.id from Book book", countQuery = "select count(book) from Book book")
+    Page<Long> findIds(Pageable pageable);
+
+    @Query("select book.id from Book book where book.id > :id order by book.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
+
+    List<Book> findAllByImage(String image);
+
+    /**
+     * The columns of a book shown by its tile in the catalogue grid.
+     */
+    interface BookTile {
+        Long getId();
+
+        String getTitle();
+
+        String getImage();
+
+        String getImageThumbnail();
+
+        String getImageMedium();
+    }
+
+    /**
+     * The name of an author of a book, read with the tiles of the catalogue grid.
+     */
+    interface AuthorName {
+        Long getBookId();
+
+        Long getId();
+
+        String getName();
+    }
 }
@@ -1,28 +1,28 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Book;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.IntStream;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
-import org.hibernate.annotations.QueryHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
  */
+@Transactional(readOnly = true)
 public class BookRepositoryWithBagRelationshipsImpl implements BookRepositoryWithBagRelationships {
 
+    private static final String[] FETCHES = { "left join fetch e.authors" };
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public Optional<Book> fetchBagRelationships(Optional<Book> book) {
-        return book.map(this::fetchAuthors);
+        return book.map(result -> fetchBagRelationships(List.of(result)).get(0));
     }
 
     @Override
@@ -32,26 +32,6 @@ public class BookRepositoryWithBagRelationshipsImpl implements BookRepositoryWit
 
     @Override
     public List<Book> fetchBagRelationships(List<Book> books) {
-        return Optional.of(books).map(this::fetchAuthors).orElse(Collections.emptyList());
-    }
-
-    Book fetchAuthors(Book result) {
-        return entityManager
-            .createQuery("select book from Book book left join fetch book.authors where book is :book", Book.class)
-            .setParameter("book", result)
-            .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
-            .getSingleResult();
-    }
-
-    List<Book> fetchAuthors(List<Book> books) {
-        HashMap<Object, Integer> order = new HashMap<>();
-        IntStream.range(0, books.size()).forEach(index -> order.put(books.get(index).getId(), index));
-        List<Book> result = entityManager
-            .createQuery("select distinct book from Book book left join fetch book.authors where book in :books", Book.class)
-            .setParameter("books", books)
-            .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
-            .getResultList();
-        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
-        return result;
+        return BagRelationshipLoader.fetch(entityManager, Book.class, books, Book::getId, FETCHES);
     }
 }
@@ -0,0 +1,15 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Book;
+import java.util.List;
+
+public interface BookRepositoryWithBatchInsert {
+    /**
+     * Insert new books and their copies in JDBC batches: the persistence context is flushed and cleared every
+     * {@code hibernate.jdbc.batch_size} books, so it never holds more than one batch. Their category, authors and publishers
+     * must already be persisted.
+     *
+     * @param books the new books, with their copies in {@link Book#getBookCopies()}.
+     */
+    void insertInBatches(List<Book> books);
+}
@@ -0,0 +1,40 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Batch inserts of {@link Book}. With {@code hibernate.order_inserts}, each flush sends the books, their authors and their
+ * copies as one JDBC batch per table.
+ */
+public class BookRepositoryWithBatchInsertImpl implements BookRepositoryWithBatchInsert {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertInBatches(List<Book> books) {
+        int batchSize = Math.max(
+            1,
+            entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getSessionFactoryOptions().getJdbcBatchSize()
+        );
+        int pending = 0;
+        for (Book book : books) {
+            entityManager.persist(book);
+            for (BookCopy bookCopy : book.getBookCopies()) {
+                entityManager.persist(bookCopy);
+            }
+            if (++pending == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
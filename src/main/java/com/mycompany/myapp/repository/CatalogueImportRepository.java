@@ -0,0 +1,12 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.CatalogueImport;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the CatalogueImport entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface CatalogueImportRepository extends JpaRepository<CatalogueImport, Long> {}
@@ -2,6 +2,7 @@ package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.CheckOut;
 import com.mycompany.myapp.domain.enumeration.Status;
+import java.time.Instant;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,7 +15,7 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CheckOutRepository extends JpaRepository<CheckOut, Long> {
+public interface CheckOutRepository extends CheckOutRepositoryWithExport, JpaRepository<CheckOut, Long> {
     @Query(value = "select * from check_out where status=?1", nativeQuery = true)
     List<CheckOut> findCheckoutByStatus(String status);
 
@@ -27,6 +28,16 @@ public interface CheckOutRepository extends JpaRepository<CheckOut, Long> {
     )
     Page<CheckOut> findCheckOutByStatus(@Param("status") Status status, Pageable pageable);
 
+    @Query(
+        "select checkout from CheckOut checkout " +
+        "left join fetch checkout.bookCopy " +
+        "left join fetch checkout.patronAccount " +
+        "where checkout.status = :status and checkout.id > :id order by checkout.id"
+    )
+    List<CheckOut> findCheckOutByStatusAfter(@Param("status") Status status, @Param("id") Long id, Pageable pageable);
+
+    long countByStatus(Status status);
+
     @Query(
         value = "select checkout from CheckOut checkout left join fetch checkout.bookCopy left join fetch checkout.patronAccount where checkout.status=:status and " +
         "checkout.isReturned=:returned and checkout.patronAccount.cardNumber=:cardNumber order by checkout.startTime desc"
@@ -36,4 +47,26 @@ public interface CheckOutRepository extends JpaRepository<CheckOut, Long> {
         @Param("status") Status status,
         @Param("returned") boolean returned
     );
+
+    @Query(
+        "select checkOut from CheckOut checkOut " +
+        "left join fetch checkOut.bookCopy bookCopy " +
+        "left join fetch bookCopy.book " +
+        "left join fetch checkOut.patronAccount " +
+        "where checkOut.id in :ids"
+    )
+    List<CheckOut> findAllWithToOneRelationshipsByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * The patrons of the confirmed check outs, not returned, that are due in a period.
+     */
+    @Query(
+        "select distinct checkOut.patronAccount.cardNumber from CheckOut checkOut " +
+        "where checkOut.status = com.mycompany.myapp.domain.enumeration.Status.Confirmed and checkOut.isReturned = false " +
+        "and checkOut.endTime >= :from and checkOut.endTime < :to"
+    )
+    List<String> findCardNumbersDueBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("select checkOut.id from CheckOut checkOut where checkOut.id > :id order by checkOut.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
 }
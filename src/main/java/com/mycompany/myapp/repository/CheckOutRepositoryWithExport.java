@@ -0,0 +1,20 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.service.dto.CheckOutExportDTO;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+public interface CheckOutRepositoryWithExport {
+    /**
+     * Stream the check outs matching the filters, by id, through a forward-only cursor. The stream must be consumed and closed
+     * within a transaction.
+     *
+     * @param status the status of the check outs, any status if {@code null}.
+     * @param from the check outs starting at or after this instant, if not {@code null}.
+     * @param to the check outs starting before this instant, if not {@code null}.
+     * @param cardNumber the card number of the patron, any patron if {@code null}.
+     * @return the export rows.
+     */
+    Stream<CheckOutExportDTO> streamForExport(Status status, Instant from, Instant to, String cardNumber);
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.service.dto.CheckOutExportDTO;
+import java.time.Instant;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import org.hibernate.annotations.QueryHints;
+
+/**
+ * Export of the check outs. The rows are read by a constructor expression, so the persistence context stays empty however
+ * many rows are streamed, and fetched {@link #FETCH_SIZE} at a time: the PostgreSQL driver only uses a cursor when a fetch
+ * size is set and the connection is in a transaction, and reads the whole result otherwise.
+ */
+public class CheckOutRepositoryWithExportImpl implements CheckOutRepositoryWithExport {
+
+    private static final int FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<CheckOutExportDTO> streamForExport(Status status, Instant from, Instant to, String cardNumber) {
+        StringBuilder jpql = new StringBuilder(
+            "select new com.mycompany.myapp.service.dto.CheckOutExportDTO(" +
+            "checkOut.id, checkOut.startTime, checkOut.endTime, checkOut.status, checkOut.isReturned, " +
+            "patronAccount.cardNumber, bookCopy.id, book.id, book.title) " +
+            "from CheckOut checkOut " +
+            "left join checkOut.patronAccount patronAccount " +
+            "left join checkOut.bookCopy bookCopy " +
+            "left join bookCopy.book book " +
+            "where 1 = 1"
+        );
+        // only the filters given are part of the query, so it can use the index matching them
+        if (status != null) {
+            jpql.append(" and checkOut.status = :status");
+        }
+        if (from != null) {
+            jpql.append(" and checkOut.startTime >= :from");
+        }
+        if (to != null) {
+            jpql.append(" and checkOut.startTime < :to");
+        }
+        if (cardNumber != null) {
+            jpql.append(" and patronAccount.cardNumber = :cardNumber");
+        }
+        jpql.append(" order by checkOut.id");
+
+        TypedQuery<CheckOutExportDTO> query = entityManager
+            .createQuery(jpql.toString(), CheckOutExportDTO.class)
+            .setHint(QueryHints.FETCH_SIZE, FETCH_SIZE)
+            .setHint(QueryHints.READ_ONLY, true);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (cardNumber != null) {
+            query.setParameter("cardNumber", cardNumber);
+        }
+        return query.getResultStream();
+    }
+}
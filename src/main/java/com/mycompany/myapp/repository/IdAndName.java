@@ -0,0 +1,10 @@
+package com.mycompany.myapp.repository;
+
+/**
+ * Projection of the id and name of an entity, to resolve names to ids without loading the entities.
+ */
+public interface IdAndName {
+    Long getId();
+
+    String getName();
+}
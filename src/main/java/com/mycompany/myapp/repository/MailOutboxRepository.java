@@ -0,0 +1,27 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.MailOutbox;
+import com.mycompany.myapp.domain.enumeration.MailStatus;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the MailOutbox entity.
+ */
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+    /**
+     * Lock the pending mails that are due, skipping the ones already locked by another dispatcher.
+     */
+    @Query(
+        value = "select * from mail_outbox where status = 'PENDING' and next_attempt_at <= :now " +
+        "order by next_attempt_at limit :limit for update skip locked",
+        nativeQuery = true
+    )
+    List<MailOutbox> findDueForUpdate(@Param("now") Instant now, @Param("limit") int limit);
+
+    long countByStatus(MailStatus status);
+}
@@ -1,7 +1,10 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Notification;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {}
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    @Query("select notification from Notification notification left join fetch notification.patronAccount where notification.id in :ids")
+    List<Notification> findAllWithToOneRelationshipsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("select notification.id from Notification notification where notification.id > :id order by notification.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
+}
@@ -0,0 +1,44 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.OverduePatron;
+import com.mycompany.myapp.domain.PatronAccount;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OverduePatron entity.
+ * <p>
+ * The rows are written by the statements of {@link OverduePatronRepositoryWithRefresh}.
+ */
+@Repository
+public interface OverduePatronRepository extends OverduePatronRepositoryWithRefresh, JpaRepository<OverduePatron, String> {
+    /**
+     * Lock some patrons, in a stable order, so their overdue check outs are counted by one transaction at a time.
+     */
+    @Query(
+        value = "select card_number from patron_account where card_number in (:cardNumbers) order by card_number for update",
+        nativeQuery = true
+    )
+    List<String> lockPatrons(@Param("cardNumbers") Collection<String> cardNumbers);
+
+    /**
+     * Lock all the patrons, in the same order, so the table is rebuilt while no other transaction counts some of them.
+     */
+    @Query(value = "select card_number from patron_account order by card_number for update", nativeQuery = true)
+    List<String> lockAllPatrons();
+
+    @Query(
+        value = "select pa from OverduePatron op, PatronAccount pa join fetch pa.user u " +
+        "where pa.cardNumber = op.cardNumber and u.activated = true order by op.oldestEndTime",
+        countQuery = "select count(op) from OverduePatron op, PatronAccount pa join pa.user u " +
+        "where pa.cardNumber = op.cardNumber and u.activated = true"
+    )
+    Page<PatronAccount> findAllPatronAccounts(Pageable pageable);
+
+    Page<OverduePatron> findAllByOrderByOldestEndTime(Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.mycompany.myapp.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface OverduePatronRepositoryWithRefresh {
+    /**
+     * Count the overdue check outs of some patrons again, replacing their rows. The patrons must be locked.
+     *
+     * @return the number of patrons, among them, that have some.
+     */
+    int refreshOverdue(Collection<String> cardNumbers, Instant now);
+
+    /**
+     * Count the overdue check outs of all the patrons again, replacing every row. All the patrons must be locked.
+     *
+     * @return the number of patrons that have some.
+     */
+    int refreshAllOverdue(Instant now);
+}
@@ -0,0 +1,48 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.OverduePatron;
+import java.time.Instant;
+import java.util.Collection;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Native statements writing the overdue_patron table, in portable SQL: the rows of the patrons are deleted and inserted
+ * again from their check outs. They are declared to only touch that table: a native statement without query spaces would
+ * evict the whole second-level cache.
+ */
+public class OverduePatronRepositoryWithRefreshImpl implements OverduePatronRepositoryWithRefresh {
+
+    private static final String INSERT =
+        "insert into overdue_patron (card_number, overdue_count, oldest_end_time) " +
+        "select co.patron_account_card_number, count(*), min(co.end_time) from check_out co " +
+        "where %s and co.status = 'Confirmed' and co.is_returned = false and co.end_time < :now " +
+        "group by co.patron_account_card_number";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int refreshOverdue(Collection<String> cardNumbers, Instant now) {
+        statement("delete from overdue_patron where card_number in (:cardNumbers)")
+            .setParameter("cardNumbers", cardNumbers)
+            .executeUpdate();
+        return statement(String.format(INSERT, "co.patron_account_card_number in (:cardNumbers)"))
+            .setParameter("cardNumbers", cardNumbers)
+            .setParameter("now", now)
+            .executeUpdate();
+    }
+
+    @Override
+    public int refreshAllOverdue(Instant now) {
+        statement("delete from overdue_patron").executeUpdate();
+        return statement(String.format(INSERT, "co.patron_account_card_number is not null")).setParameter("now", now).executeUpdate();
+    }
+
+    private NativeQuery<?> statement(String sql) {
+        // the counts read the check outs changed in the current transaction
+        entityManager.flush();
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedEntityClass(OverduePatron.class);
+    }
+}
@@ -1,7 +1,6 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.PatronAccount;
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -39,6 +38,9 @@ public interface PatronAccountRepository extends JpaRepository<PatronAccount, St
     @Query("select patronAccount from PatronAccount patronAccount left join fetch patronAccount.user where patronAccount.id =:id")
     Optional<PatronAccount> findOneWithToOneRelationships(@Param("id") String id);
 
+    @Query("select patronAccount from PatronAccount patronAccount left join fetch patronAccount.user where patronAccount.id in :ids")
+    List<PatronAccount> findAllWithToOneRelationshipsByIdIn(@Param("ids") List<String> ids);
+
     @Query(
         "select distinct pa from PatronAccount pa " +
         "left join fetch pa.user u " +
@@ -54,13 +56,14 @@ public interface PatronAccountRepository extends JpaRepository<PatronAccount, St
     Page<PatronAccount> findAllUser(Pageable pageable);
 
     @Query(
-        value = "select distinct pa.*, co.end_time from check_out co " +
-        "JOIN patron_account pa ON pa.card_number = co.patron_account_card_number " +
-        "and co.end_time < ?1 and co.status = 'Confirmed' " +
-        "and co.is_returned = false " +
-        "JOIN jhi_user ON jhi_user.id = pa.user_id " +
-        "and jhi_user.activated = true order by co.end_time",
-        nativeQuery = true
+        "select pa from PatronAccount pa left join fetch pa.user u " +
+        "where 'ROLE_USER' member of u.authorities and pa.cardNumber > :cardNumber order by pa.cardNumber"
     )
-    Page<PatronAccount> listPatronNotEnoughCondition(Instant TimeNow, Pageable pageable);
+    List<PatronAccount> findAllUserAfter(@Param("cardNumber") String cardNumber, Pageable pageable);
+
+    @Query("select count(distinct pa) from PatronAccount pa left join pa.user u where 'ROLE_USER' member of u.authorities")
+    long countAllUser();
+
+    @Query("select patronAccount.cardNumber from PatronAccount patronAccount where patronAccount.cardNumber > :id order by patronAccount.cardNumber")
+    List<String> findIdsAfter(@Param("id") String id, Pageable pageable);
 }
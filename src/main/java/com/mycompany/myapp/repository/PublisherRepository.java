@@ -1,7 +1,10 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Publisher;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PublisherRepository extends JpaRepository<Publisher, Long> {}
+public interface PublisherRepository extends JpaRepository<Publisher, Long> {
+    @Query("select publisher.id from Publisher publisher where publisher.id > :id order by publisher.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select publisher.id as id, publisher.name as name from Publisher publisher order by publisher.id")
+    List<IdAndName> findAllIdsAndNames();
+}
@@ -28,15 +28,26 @@ public interface WaitListRepository extends JpaRepository<WaitList, Long> {
     }
 
     @Query(
-        value = "select distinct waitList from WaitList waitList left join fetch waitList.book",
+        value = "select distinct waitList from WaitList waitList " +
+        "left join fetch waitList.book book left join fetch book.category " +
+        "left join fetch waitList.patronAccount patronAccount left join fetch patronAccount.user",
         countQuery = "select count(distinct waitList) from WaitList waitList"
     )
     Page<WaitList> findAllWithToOneRelationships(Pageable pageable);
 
-    @Query("select distinct waitList from WaitList waitList left join fetch waitList.book")
+    @Query(
+        "select distinct waitList from WaitList waitList " +
+        "left join fetch waitList.book book left join fetch book.category " +
+        "left join fetch waitList.patronAccount patronAccount left join fetch patronAccount.user"
+    )
     List<WaitList> findAllWithToOneRelationships();
 
-    @Query("select waitList from WaitList waitList left join fetch waitList.book where waitList.id =:id")
+    @Query(
+        "select waitList from WaitList waitList " +
+        "left join fetch waitList.book book left join fetch book.category " +
+        "left join fetch waitList.patronAccount patronAccount left join fetch patronAccount.user " +
+        "where waitList.id =:id"
+    )
     Optional<WaitList> findOneWithToOneRelationships(@Param("id") Long id);
 
     @Transactional
@@ -46,4 +57,15 @@ public interface WaitListRepository extends JpaRepository<WaitList, Long> {
 
     @Query("select waitList from WaitList waitList where waitList.book.id =:bookId")
     List<WaitList> findByBookId(@Param("bookId") Long bookId);
+
+    @Query(
+        "select waitList from WaitList waitList " +
+        "left join fetch waitList.patronAccount " +
+        "left join fetch waitList.book " +
+        "where waitList.id in :ids"
+    )
+    List<WaitList> findAllWithToOneRelationshipsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("select waitList.id from WaitList waitList where waitList.id > :id order by waitList.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
 }
@@ -12,6 +12,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
@@ -27,6 +28,8 @@ interface BookCopySearchRepositoryInternal {
     Page<BookCopy> search(Query query);
 
     void index(BookCopy entity);
+
+    void indexAll(List<Long> ids, IndexCoordinates index);
 }
 
 class BookCopySearchRepositoryInternalImpl implements BookCopySearchRepositoryInternal {
@@ -62,4 +65,12 @@ class BookCopySearchRepositoryInternalImpl implements BookCopySearchRepositoryIn
     public void index(BookCopy entity) {
         repository.findOneWithEagerRelationships(entity.getId()).ifPresent(elasticsearchTemplate::save);
     }
+
+    @Override
+    public void indexAll(List<Long> ids, IndexCoordinates index) {
+        List<BookCopy> entities = repository.findAllWithToOneRelationshipsByIdIn(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, index);
+        }
+    }
 }
@@ -1,17 +1,25 @@
 package com.mycompany.myapp.repository.search;
 
+import com.mycompany.myapp.domain.Author;
 import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
 import com.mycompany.myapp.repository.BookRepository;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.springframework.data.domain.*;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 
 /**
@@ -25,6 +33,12 @@ interface BookSearchRepositoryInternal {
     Page<Book> search(Query query);
 
     void index(Book entity);
+
+    void indexAll(List<Long> ids, IndexCoordinates index);
+
+    void updateCategory(Category category, IndexCoordinates index);
+
+    void updateAuthor(Author author, IndexCoordinates index);
 }
 
 class BookSearchRepositoryInternalImpl implements BookSearchRepositoryInternal {
@@ -84,4 +98,49 @@ class BookSearchRepositoryInternalImpl implements BookSearchRepositoryInternal {
     public void index(Book entity) {
         repository.findOneWithEagerRelationships(entity.getId()).ifPresent(elasticsearchTemplate::save);
     }
+
+    @Override
+    public void indexAll(List<Long> ids, IndexCoordinates index) {
+        List<Book> entities = repository.findAllByIdWithAssociations(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, index);
+        }
+    }
+
+    @Override
+    public void updateCategory(Category category, IndexCoordinates index) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("name", category.getName());
+        params.put("description", category.getDescription());
+        updateByQuery(
+            QueryBuilders.termQuery("category.id", category.getId()),
+            "ctx._source.category.name = params.name; ctx._source.category.description = params.description",
+            params,
+            index
+        );
+    }
+
+    @Override
+    public void updateAuthor(Author author, IndexCoordinates index) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", author.getId());
+        params.put("name", author.getName());
+        updateByQuery(
+            QueryBuilders.termQuery("authors.id", author.getId()),
+            "for (def author : ctx._source.authors) { if (author.id == params.id) { author.name = params.name } }",
+            params,
+            index
+        );
+    }
+
+    private void updateByQuery(QueryBuilder query, String script, Map<String, Object> params, IndexCoordinates index) {
+        UpdateQuery updateQuery = UpdateQuery
+            .builder(new NativeSearchQuery(query))
+            .withScript(script)
+            .withLang("painless")
+            .withParams(params)
+            .withAbortOnVersionConflict(false)
+            .build();
+        elasticsearchTemplate.updateByQuery(updateQuery, index);
+    }
 }
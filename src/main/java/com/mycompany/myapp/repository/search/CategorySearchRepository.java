@@ -10,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
@@ -25,6 +26,8 @@ interface CategorySearchRepositoryInternal {
     Page<Category> search(Query query);
 
     void index(Category entity);
+
+    void indexAll(List<Long> ids, IndexCoordinates index);
 }
 
 class CategorySearchRepositoryInternalImpl implements CategorySearchRepositoryInternal {
@@ -63,4 +66,12 @@ class CategorySearchRepositoryInternalImpl implements CategorySearchRepositoryIn
     public void index(Category entity) {
         repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
     }
+
+    @Override
+    public void indexAll(List<Long> ids, IndexCoordinates index) {
+        List<Category> entities = repository.findAllById(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, index);
+        }
+    }
 }
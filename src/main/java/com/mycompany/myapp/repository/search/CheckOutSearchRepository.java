@@ -16,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
@@ -36,6 +37,8 @@ interface CheckOutSearchRepositoryInternal {
     Page<CheckOut> search(Query query);
 
     void index(CheckOut entity);
+
+    void indexAll(List<Long> ids, IndexCoordinates index);
 }
 
 class CheckOutSearchRepositoryInternalImpl implements CheckOutSearchRepositoryInternal {
@@ -65,4 +68,12 @@ class CheckOutSearchRepositoryInternalImpl implements CheckOutSearchRepositoryIn
     public void index(CheckOut entity) {
         repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
     }
+
+    @Override
+    public void indexAll(List<Long> ids, IndexCoordinates index) {
+        List<CheckOut> entities = repository.findAllWithToOneRelationshipsByIdIn(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, index);
+        }
+    }
 }
@@ -16,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
@@ -36,6 +37,8 @@ interface NotificationSearchRepositoryInternal {
     Page<Notification> search(Query query);
 
     void index(Notification entity);
+
+    void indexAll(List<Long> ids, IndexCoordinates index);
 }
 
 class NotificationSearchRepositoryInternalImpl implements NotificationSearchRepositoryInternal {
@@ -65,4 +68,12 @@ class NotificationSearchRepositoryInternalImpl implements NotificationSearchRepo
     public void index(Notification entity) {
         repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
     }
+
+    @Override
+    public void indexAll(List<Long> ids, IndexCoordinates index) {
+        List<Notification> entities = repository.findAllWithToOneRelationshipsByIdIn(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, index);
+        }
+    }
 }
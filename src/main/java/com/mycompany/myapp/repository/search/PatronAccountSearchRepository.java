@@ -12,6 +12,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
@@ -28,6 +29,8 @@ interface PatronAccountSearchRepositoryInternal {
     Page<PatronAccount> search(Query query);
 
     void index(PatronAccount entity);
+
+    void indexAll(List<String> ids, IndexCoordinates index);
 }
 
 class PatronAccountSearchRepositoryInternalImpl implements PatronAccountSearchRepositoryInternal {
@@ -75,4 +78,12 @@ class PatronAccountSearchRepositoryInternalImpl implements PatronAccountSearchRe
     public void index(PatronAccount entity) {
         repository.findOneWithEagerRelationships(entity.getCardNumber()).ifPresent(elasticsearchTemplate::save);
     }
+
+    @Override
+    public void indexAll(List<String> ids, IndexCoordinates index) {
+        List<PatronAccount> entities = repository.findAllWithToOneRelationshipsByIdIn(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, index);
+        }
+    }
 }
@@ -10,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
@@ -25,6 +26,8 @@ interface PublisherSearchRepositoryInternal {
     Page<Publisher> search(Query query);
 
     void index(Publisher entity);
+
+    void indexAll(List<Long> ids, IndexCoordinates index);
 }
 
 class PublisherSearchRepositoryInternalImpl implements PublisherSearchRepositoryInternal {
@@ -63,4 +66,12 @@ class PublisherSearchRepositoryInternalImpl implements PublisherSearchRepository
     public void index(Publisher entity) {
         repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
     }
+
+    @Override
+    public void indexAll(List<Long> ids, IndexCoordinates index) {
+        List<Publisher> entities = repository.findAllById(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, index);
+        }
+    }
 }
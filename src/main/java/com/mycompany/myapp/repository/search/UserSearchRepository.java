@@ -3,9 +3,12 @@ package com.mycompany.myapp.repository.search;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import java.util.List;
 import java.util.stream.Stream;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 
@@ -16,14 +19,18 @@ public interface UserSearchRepository extends ElasticsearchRepository<User, Long
 
 interface UserSearchRepositoryInternal {
     Stream<User> search(String query);
+
+    void indexAll(List<Long> ids, IndexCoordinates index);
 }
 
 class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
 
     private final ElasticsearchRestTemplate elasticsearchTemplate;
+    private final UserRepository repository;
 
-    UserSearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate) {
+    UserSearchRepositoryInternalImpl(ElasticsearchRestTemplate elasticsearchTemplate, UserRepository repository) {
         this.elasticsearchTemplate = elasticsearchTemplate;
+        this.repository = repository;
     }
 
     @Override
@@ -31,4 +38,12 @@ class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
         NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
         return elasticsearchTemplate.search(nativeSearchQuery, User.class).map(SearchHit::getContent).stream();
     }
+
+    @Override
+    public void indexAll(List<Long> ids, IndexCoordinates index) {
+        List<User> entities = repository.findAllById(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, index);
+        }
+    }
 }
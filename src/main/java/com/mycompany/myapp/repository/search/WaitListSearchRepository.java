@@ -16,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
@@ -36,6 +37,8 @@ interface WaitListSearchRepositoryInternal {
     Page<WaitList> search(Query query);
 
     void index(WaitList entity);
+
+    void indexAll(List<Long> ids, IndexCoordinates index);
 }
 
 class WaitListSearchRepositoryInternalImpl implements WaitListSearchRepositoryInternal {
@@ -65,4 +68,12 @@ class WaitListSearchRepositoryInternalImpl implements WaitListSearchRepositoryIn
     public void index(WaitList entity) {
         repository.findOneWithEagerRelationships(entity.getId()).ifPresent(elasticsearchTemplate::save);
     }
+
+    @Override
+    public void indexAll(List<Long> ids, IndexCoordinates index) {
+        List<WaitList> entities = repository.findAllWithToOneRelationshipsByIdIn(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, index);
+        }
+    }
 }
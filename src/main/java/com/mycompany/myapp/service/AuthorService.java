@@ -7,8 +7,9 @@ import com.mycompany.myapp.repository.BookRepository;
 import com.mycompany.myapp.repository.search.AuthorSearchRepository;
 import com.mycompany.myapp.repository.search.BookSearchRepository;
 import com.mycompany.myapp.service.redis.BookRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import io.undertow.util.BadRequestException;
-import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +32,8 @@ public class AuthorService {
     private final BookRedisService bookRedisService;
     private final AuthorSearchRepository authorSearchRepository;
     private final BookSearchRepository bookSearchRepository;
+    private final SearchIndexer searchIndexer;
+    private final ResourceVersionService resourceVersionService;
 
     public AuthorService(
         BookRepository bookRepository,
@@ -38,7 +41,9 @@ public class AuthorService {
         AuthorRepository authorRepository,
         BookRedisService bookRedisService,
         AuthorSearchRepository authorSearchRepository,
-        BookSearchRepository bookSearchRepository
+        BookSearchRepository bookSearchRepository,
+        SearchIndexer searchIndexer,
+        ResourceVersionService resourceVersionService
     ) {
         this.bookRepository = bookRepository;
         this.bookService = bookService;
@@ -46,6 +51,8 @@ public class AuthorService {
         this.bookRedisService = bookRedisService;
         this.authorSearchRepository = authorSearchRepository;
         this.bookSearchRepository = bookSearchRepository;
+        this.searchIndexer = searchIndexer;
+        this.resourceVersionService = resourceVersionService;
     }
 
     /**
@@ -57,7 +64,7 @@ public class AuthorService {
     public Author save(Author author) {
         log.debug("Request to save Author : {}", author);
         Author result = authorRepository.save(author);
-        authorSearchRepository.index(result);
+        searchIndexer.index(Author.class, result.getId());
         return result;
     }
 
@@ -71,10 +78,8 @@ public class AuthorService {
         log.debug("Request to update Author : {}", author);
         try {
             Author result = authorRepository.save(author);
-            authorSearchRepository.index(result);
-            bookRedisService.deleteByPrefix("Book");
-            List<Book> bookList = bookRepository.findAllByAuthorId(author.getId());
-            for (Book book : bookList) bookSearchRepository.index(bookRepository.findOneWithEagerRelationships(book.getId()).get());
+            searchIndexer.index(Author.class, result.getId());
+            updateBooks(result);
             return result;
         } catch (Exception e) {
             throw new BadRequestException("Update author not successfully!");
@@ -101,12 +106,22 @@ public class AuthorService {
             })
             .map(authorRepository::save)
             .map(savedAuthor -> {
-                authorSearchRepository.save(savedAuthor);
+                searchIndexer.index(Author.class, savedAuthor.getId());
+                updateBooks(savedAuthor);
 
                 return savedAuthor;
             });
     }
 
+    /**
+     * The author is denormalized into its book documents, cached book details and the pages of their categories.
+     */
+    private void updateBooks(Author author) {
+        searchIndexer.updateAfterCommit(Book.class, index -> bookSearchRepository.updateAuthor(author, index));
+        bookRedisService.deleteBooksByAuthorId(author.getId());
+        resourceVersionService.bump(ResourceVersionService.BOOKS);
+    }
+
     /**
      * Get all the authors.
      *
@@ -139,7 +154,7 @@ public class AuthorService {
     public void delete(Long id) {
         log.debug("Request to delete Author : {}", id);
         authorRepository.deleteById(id);
-        authorSearchRepository.deleteById(id);
+        searchIndexer.delete(Author.class, id);
     }
 
     /**
@@ -3,7 +3,11 @@ package com.mycompany.myapp.service;
 import com.mycompany.myapp.domain.BookCopy;
 import com.mycompany.myapp.repository.BookCopyRepository;
 import com.mycompany.myapp.repository.search.BookCopySearchRepository;
+import com.mycompany.myapp.service.dto.BookCopySummaryDTO;
+import com.mycompany.myapp.service.mapper.BookCopyMapper;
 import com.mycompany.myapp.service.redis.BookRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import io.undertow.util.BadRequestException;
 import java.util.List;
 import java.util.Objects;
@@ -29,17 +33,32 @@ public class BookCopyService {
     private final BookCopySearchRepository bookCopySearchRepository;
     private final WaitListService waitListService;
     private final BookRedisService bookRedisService;
+    private final InventoryService inventoryService;
+    private final SearchIndexer searchIndexer;
+    private final ResourceVersionService resourceVersionService;
+    private final ImageVariantService imageVariantService;
+    private final BookCopyMapper bookCopyMapper;
 
     public BookCopyService(
         BookCopyRepository bookCopyRepository,
         BookCopySearchRepository bookCopySearchRepository,
         WaitListService waitListService,
-        BookRedisService bookRedisService
+        BookRedisService bookRedisService,
+        InventoryService inventoryService,
+        SearchIndexer searchIndexer,
+        ImageVariantService imageVariantService,
+        ResourceVersionService resourceVersionService,
+        BookCopyMapper bookCopyMapper
     ) {
         this.bookCopyRepository = bookCopyRepository;
         this.bookCopySearchRepository = bookCopySearchRepository;
         this.waitListService = waitListService;
         this.bookRedisService = bookRedisService;
+        this.inventoryService = inventoryService;
+        this.searchIndexer = searchIndexer;
+        this.resourceVersionService = resourceVersionService;
+        this.imageVariantService = imageVariantService;
+        this.bookCopyMapper = bookCopyMapper;
     }
 
     /**
@@ -58,9 +77,10 @@ public class BookCopyService {
             if (bookCopyRepository.checkBookAvailable(bookCopy.getBook().getId()).isEmpty()) waitListService.Notification(
                 bookCopy.getBook().getId()
             );
-            BookCopy result = bookCopyRepository.save(bookCopy);
+            BookCopy result = bookCopyRepository.save(imageVariantService.applyVariants(bookCopy));
             bookRedisService.deleteBooksId(bookCopy.getBook().getId());
-            bookCopySearchRepository.index(result);
+            resourceVersionService.bump(ResourceVersionService.BOOKS);
+            searchIndexer.index(BookCopy.class, result.getId());
             return result;
         } catch (Exception e) {
             throw new BadRequestException("Save book copy not successfully!");
@@ -92,9 +112,11 @@ public class BookCopyService {
                 bookCopy.getAmount() > 0 &&
                 bookCopyRepository.checkBookAvailable(bookCopy.getBook().getId()).isEmpty()
             ) waitListService.Notification(bookCopy.getBook().getId());
-            BookCopy result = bookCopyRepository.save(bookCopy);
+            BookCopy result = bookCopyRepository.save(imageVariantService.applyVariants(bookCopy));
             bookRedisService.deleteBooksId(bookCopy.getBook().getId());
-            bookCopySearchRepository.index(result);
+            resourceVersionService.bump(ResourceVersionService.BOOKS);
+            inventoryService.evict(result.getId());
+            searchIndexer.index(BookCopy.class, result.getId());
             return result;
         } catch (Exception e) {
             throw new BadRequestException("Update book copy not successfully!");
@@ -121,6 +143,7 @@ public class BookCopyService {
                 }
                 if (bookCopy.getImage() != null) {
                     existingBookCopy.setImage(bookCopy.getImage());
+                    imageVariantService.applyVariants(existingBookCopy);
                 }
                 if (bookCopy.getDescription() != null) {
                     existingBookCopy.setDescription(bookCopy.getDescription());
@@ -130,7 +153,9 @@ public class BookCopyService {
             })
             .map(bookCopyRepository::save)
             .map(savedBookCopy -> {
-                bookCopySearchRepository.save(savedBookCopy);
+                searchIndexer.index(BookCopy.class, savedBookCopy.getId());
+                inventoryService.evict(savedBookCopy.getId());
+                resourceVersionService.bump(ResourceVersionService.BOOKS);
 
                 return savedBookCopy;
             });
@@ -140,12 +165,12 @@ public class BookCopyService {
      * Get all the bookCopies.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of DTOs.
      */
     @Transactional(readOnly = true)
-    public Page<BookCopy> findAll(Pageable pageable) {
+    public Page<BookCopySummaryDTO> findAll(Pageable pageable) {
         log.debug("Request to get all BookCopies");
-        return bookCopyRepository.findAll(pageable);
+        return bookCopyRepository.findAll(pageable).map(bookCopyMapper::toSummaryDto);
     }
 
     @Transactional(readOnly = true)
@@ -154,13 +179,26 @@ public class BookCopyService {
         return bookCopyRepository.findAllByBook(bookId, pageable);
     }
 
+    /**
+     * Get the bookCopies of a book.
+     *
+     * @param bookId the id of the book.
+     * @param pageable the pagination information.
+     * @return the list of DTOs.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookCopySummaryDTO> findSummariesByBook(long bookId, Pageable pageable) {
+        return findAllByBook(bookId, pageable).map(bookCopyMapper::toSummaryDto);
+    }
+
     /**
      * Get all the bookCopies with eager load of many-to-many relationships.
      *
-     * @return the list of entities.
+     * @return the list of DTOs.
      */
-    public Page<BookCopy> findAllWithEagerRelationships(Pageable pageable) {
-        return bookCopyRepository.findAllWithEagerRelationships(pageable);
+    @Transactional(readOnly = true)
+    public Page<BookCopySummaryDTO> findAllWithEagerRelationships(Pageable pageable) {
+        return bookCopyRepository.findAllWithEagerRelationships(pageable).map(bookCopyMapper::toSummaryDto);
     }
 
     /**
@@ -195,7 +233,8 @@ public class BookCopyService {
     public void delete(Long id) {
         log.debug("Request to delete BookCopy : {}", id);
         bookCopyRepository.deleteById(id);
-        bookCopySearchRepository.deleteById(id);
+        searchIndexer.delete(BookCopy.class, id);
+        resourceVersionService.bump(ResourceVersionService.BOOKS);
     }
 
     /**
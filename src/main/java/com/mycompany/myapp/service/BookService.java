@@ -9,12 +9,24 @@ import com.mycompany.myapp.repository.BookCopyRepository;
 import com.mycompany.myapp.repository.BookRepository;
 import com.mycompany.myapp.repository.WaitListRepository;
 import com.mycompany.myapp.repository.search.BookSearchRepository;
+import com.mycompany.myapp.service.dto.AuthorDTO;
+import com.mycompany.myapp.service.dto.BookDTO;
+import com.mycompany.myapp.service.dto.BookTileDTO;
+import com.mycompany.myapp.service.dto.KeysetPage;
+import com.mycompany.myapp.service.mapper.BookMapper;
 import com.mycompany.myapp.service.redis.BookRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import com.mycompany.myapp.service.redis.SingleFlightLoader;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import io.undertow.util.BadRequestException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -22,6 +34,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -39,6 +52,11 @@ public class BookService {
     private final BookSearchRepository bookSearchRepository;
     private final BookRedisService bookRedisService;
     private final WaitListRepository waitListRepository;
+    private final SingleFlightLoader singleFlightLoader;
+    private final SearchIndexer searchIndexer;
+    private final ResourceVersionService resourceVersionService;
+    private final ImageVariantService imageVariantService;
+    private final BookMapper bookMapper;
 
     public BookService(
         BookRepository bookRepository,
@@ -47,7 +65,12 @@ public class BookService {
         AuthorRepository authorRepository,
         BookSearchRepository bookSearchRepository,
         BookRedisService bookRedisService,
-        WaitListRepository waitListRepository
+        WaitListRepository waitListRepository,
+        SingleFlightLoader singleFlightLoader,
+        SearchIndexer searchIndexer,
+        ImageVariantService imageVariantService,
+        BookMapper bookMapper,
+        ResourceVersionService resourceVersionService
     ) {
         this.bookRepository = bookRepository;
         this.bookCopyService = bookCopyService;
@@ -55,6 +78,11 @@ public class BookService {
         this.bookSearchRepository = bookSearchRepository;
         this.bookRedisService = bookRedisService;
         this.waitListRepository = waitListRepository;
+        this.singleFlightLoader = singleFlightLoader;
+        this.searchIndexer = searchIndexer;
+        this.resourceVersionService = resourceVersionService;
+        this.imageVariantService = imageVariantService;
+        this.bookMapper = bookMapper;
     }
 
     /**
@@ -71,9 +99,10 @@ public class BookService {
                 authorSet.add(authorRepository.findById(author.getId()).get());
             }
             book.setAuthors(authorSet);
-            Book result = bookRepository.save(book);
-            bookSearchRepository.index(result);
+            Book result = bookRepository.save(imageVariantService.applyVariants(book));
+            searchIndexer.index(Book.class, result.getId());
             bookRedisService.deleteBooksByCategoryId(book.getCategory().getId());
+            resourceVersionService.bump(ResourceVersionService.BOOKS);
             return result;
         } catch (Exception e) {
             throw new BadRequestException("Save not successfully!!!");
@@ -92,15 +121,14 @@ public class BookService {
             Optional<Book> resultCheck = bookRepository.findById(book.getId());
             String categoryIdUpdate = book.getCategory().getId().toString();
             String categoryIdOld = resultCheck.get().getCategory().getId().toString();
-            Book result = bookRepository.save(book);
-            bookSearchRepository.index(result);
+            Book result = bookRepository.save(imageVariantService.applyVariants(book));
+            searchIndexer.index(Book.class, result.getId());
             if (!categoryIdOld.equals(categoryIdUpdate)) {
                 bookRedisService.deleteBooksByCategoryId(Long.parseLong(categoryIdOld));
             }
             bookRedisService.deleteBooksByCategoryId(Long.parseLong(categoryIdUpdate));
-            if (bookRedisService.keyBookIdExists(book.getId())) {
-                bookRedisService.saveBooks(book);
-            }
+            bookRedisService.deleteBooksId(book.getId());
+            resourceVersionService.bump(ResourceVersionService.BOOKS);
             return result;
         } catch (Exception e) {
             throw new BadRequestException("Update not successfully!");
@@ -124,6 +152,7 @@ public class BookService {
                 }
                 if (book.getImage() != null) {
                     existingBook.setImage(book.getImage());
+                    imageVariantService.applyVariants(existingBook);
                 }
                 if (book.getDescription() != null) {
                     existingBook.setDescription(book.getDescription());
@@ -133,7 +162,9 @@ public class BookService {
             })
             .map(bookRepository::save)
             .map(savedBook -> {
-                bookSearchRepository.save(savedBook);
+                searchIndexer.index(Book.class, savedBook.getId());
+                bookRedisService.deleteBooksId(savedBook.getId());
+                resourceVersionService.bump(ResourceVersionService.BOOKS);
 
                 return savedBook;
             });
@@ -151,27 +182,105 @@ public class BookService {
         return bookRepository.findAll(pageable);
     }
 
+    /**
+     * Get the books after a book, ordered by id.
+     *
+     * @param id the id of the last book of the previous page, or {@code null} for the first page.
+     * @param size the page size.
+     * @param eagerload flag to eager load the authors.
+     * @param count flag to count all the books.
+     * @return the page of entities.
+     */
     @Transactional(readOnly = true)
-    public Page<Book> findAllByCategoryId(long categoryId, Pageable pageable) {
+    public KeysetPage<Book> findAllAfter(Long id, int size, boolean eagerload, boolean count) {
+        log.debug("Request to get the Books after {}", id);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Book> books = eagerload
+            ? bookRepository.findAllWithEagerRelationshipsAfter(id == null ? 0L : id, limit)
+            : bookRepository.findAllAfter(id == null ? 0L : id, limit);
+        return KeysetPage.of(books, size, Book::getId, count ? bookRepository.count() : null);
+    }
+
+    /**
+     * Get the tiles of the books of a category.
+     *
+     * @param categoryId the id of the category, {@code -1} for all the books.
+     * @param pageable the pagination information.
+     * @return the page of tiles.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<BookTileDTO> findAllByCategoryId(long categoryId, Pageable pageable) {
         log.debug("Request to get all Books");
         if (categoryId == -1) {
-            return findAllWithEagerRelationships(pageable);
+            Page<Long> bookIdsPage = bookRepository.findIds(pageable);
+            return new PageImpl<>(findTiles(bookIdsPage.getContent()), pageable, bookIdsPage.getTotalElements());
+        }
+        return singleFlightLoader.load(
+            bookRedisService.createPageKey(categoryId, bookRedisService.createPageField(pageable)),
+            () -> findCachedBooksByCategoryId(categoryId, pageable),
+            () -> {
+                Page<Long> bookIdsPage = bookRepository.findBookIdsByCategoryId(categoryId, pageable);
+                List<BookTileDTO> books = findTiles(bookIdsPage.getContent());
+                if (!books.isEmpty()) {
+                    bookRedisService.saveBooksByCategoryId(categoryId, bookIdsPage.getTotalElements(), pageable, books);
+                }
+                return new PageImpl<>(books, pageable, bookIdsPage.getTotalElements());
+            }
+        );
+    }
+
+    /**
+     * Get the tiles of the books of a category after a book, ordered by id.
+     *
+     * @param categoryId the id of the category, {@code -1} for all the books.
+     * @param id the id of the last book of the previous page, or {@code null} for the first page.
+     * @param size the page size.
+     * @param count flag to count all the books of the category.
+     * @return the page of tiles.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<BookTileDTO> findAllByCategoryIdAfter(long categoryId, Long id, int size, boolean count) {
+        log.debug("Request to get the Books of category {} after {}", categoryId, id);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Long> bookIds = categoryId == -1
+            ? bookRepository.findIdsAfter(id == null ? 0L : id, limit)
+            : bookRepository.findBookIdsByCategoryIdAfter(categoryId, id == null ? 0L : id, limit);
+        Long total = null;
+        if (count) {
+            total = categoryId == -1 ? bookRepository.count() : bookRepository.countByCategoryId(categoryId);
+        }
+        return KeysetPage.of(findTiles(bookIds), size, BookTileDTO::getId, total);
+    }
+
+    /**
+     * Read the tiles of some books, with one query for their columns and one for the names of their authors.
+     *
+     * @param ids the ids of the books.
+     * @return the tiles, in the order of the ids.
+     */
+    private List<BookTileDTO> findTiles(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        if (!bookRedisService.keyExists(categoryId, pageable).isEmpty()) {
-            String input = bookRedisService.keyExists(categoryId, pageable).iterator().next();
-            String[] parts = input.split(":");
-            String lastValueStr = parts[parts.length - 1];
-            long total = Integer.parseInt(lastValueStr);
-            System.out.println("List book by category redis: " + total);
-            return new PageImpl<>(bookRedisService.getBooksByCategoryId(categoryId, total, pageable), pageable, total);
+        Map<Long, BookTileDTO> tiles = new HashMap<>();
+        for (BookRepository.BookTile tile : bookRepository.findTilesByIdIn(ids)) {
+            tiles.put(
+                tile.getId(),
+                new BookTileDTO(tile.getId(), tile.getTitle(), tile.getImage(), tile.getImageThumbnail(), tile.getImageMedium())
+            );
         }
-        Page<Long> bookIdsPage = bookRepository.findBookIdsByCategoryId(categoryId, pageable);
-        List<Book> books = bookRepository.findAllByIdWithAssociations(bookIdsPage.getContent());
-        Page<Book> bookPages = new PageImpl<>(books, pageable, bookIdsPage.getTotalElements());
-        if (!books.isEmpty()) {
-            bookRedisService.saveBooksByCategoryId(categoryId, bookIdsPage.getTotalElements(), pageable, books);
+        for (BookRepository.AuthorName author : bookRepository.findAuthorNamesByBookIdIn(ids)) {
+            tiles.get(author.getBookId()).getAuthors().add(new AuthorDTO(author.getId(), author.getName()));
+        }
+        return ids.stream().map(tiles::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private Page<BookTileDTO> findCachedBooksByCategoryId(long categoryId, Pageable pageable) {
+        Page<BookTileDTO> cachedBooks = bookRedisService.getBooksByCategoryId(categoryId, pageable);
+        if (cachedBooks != null) {
+            log.debug("List book by category redis: {}", cachedBooks.getTotalElements());
         }
-        return bookPages;
+        return cachedBooks;
     }
 
     /**
@@ -187,18 +296,18 @@ public class BookService {
      * Get one book by id.
      *
      * @param id the id of the entity.
-     * @return the entity.
+     * @return the detail of the entity.
      */
     @Transactional(readOnly = true)
-    public Optional<Book> findOne(Long id) {
+    public Optional<BookDTO> findOne(Long id) {
         log.debug("Request to get Book : {}", id);
-        if (bookRedisService.keyBookIdExists(id)) {
-            System.out.println("Book detail redis");
-            return Optional.ofNullable(bookRedisService.getBookById(id));
+        Book cachedBook = bookRedisService.getBookById(id);
+        if (cachedBook != null) {
+            return Optional.of(bookMapper.toDto(cachedBook));
         }
         Optional<Book> book = bookRepository.findOne(id);
         book.ifPresent(bookRedisService::saveBooks);
-        return book;
+        return book.map(bookMapper::toDto);
     }
 
     /**
@@ -218,9 +327,10 @@ public class BookService {
 
             String categoryIdOld = resultCheck.get().getCategory().getId().toString();
             bookRepository.deleteById(id);
-            bookSearchRepository.deleteById(id);
+            searchIndexer.delete(Book.class, id);
             bookRedisService.deleteBooksByCategoryId(Long.parseLong(categoryIdOld));
             bookRedisService.deleteBooksId(id);
+            resourceVersionService.bump(ResourceVersionService.BOOKS);
         } catch (Exception e) {
             throw new BadRequestException("Delete not successfully!");
         }
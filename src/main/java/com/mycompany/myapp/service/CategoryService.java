@@ -8,6 +8,9 @@ import com.mycompany.myapp.repository.search.BookSearchRepository;
 import com.mycompany.myapp.repository.search.CategorySearchRepository;
 import com.mycompany.myapp.service.redis.BookRedisService;
 import com.mycompany.myapp.service.redis.CategoryRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import com.mycompany.myapp.service.redis.SingleFlightLoader;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import io.undertow.util.BadRequestException;
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +20,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -34,6 +38,9 @@ public class CategoryService {
     private final BookRedisService bookRedisService;
     private final CategoryRedisService categoryRedisService;
     private final CategorySearchRepository categorySearchRepository;
+    private final SingleFlightLoader singleFlightLoader;
+    private final SearchIndexer searchIndexer;
+    private final ResourceVersionService resourceVersionService;
 
     public CategoryService(
         CategoryRepository categoryRepository,
@@ -41,7 +48,10 @@ public class CategoryService {
         BookSearchRepository bookSearchRepository,
         BookRedisService bookRedisService,
         CategoryRedisService categoryRedisService,
-        CategorySearchRepository categorySearchRepository
+        CategorySearchRepository categorySearchRepository,
+        SingleFlightLoader singleFlightLoader,
+        SearchIndexer searchIndexer,
+        ResourceVersionService resourceVersionService
     ) {
         this.categoryRepository = categoryRepository;
         this.bookRepository = bookRepository;
@@ -49,6 +59,9 @@ public class CategoryService {
         this.bookRedisService = bookRedisService;
         this.categoryRedisService = categoryRedisService;
         this.categorySearchRepository = categorySearchRepository;
+        this.singleFlightLoader = singleFlightLoader;
+        this.searchIndexer = searchIndexer;
+        this.resourceVersionService = resourceVersionService;
     }
 
     /**
@@ -61,8 +74,9 @@ public class CategoryService {
         log.debug("Request to save Category : {}", category);
         try {
             Category result = categoryRepository.save(category);
-            categorySearchRepository.index(result);
+            searchIndexer.index(Category.class, result.getId());
             categoryRedisService.deleteCategoryFromRedis();
+            resourceVersionService.bump(ResourceVersionService.CATEGORIES);
             return result;
         } catch (Exception e) {
             throw new BadRequestException("Save category not successfully!");
@@ -79,15 +93,8 @@ public class CategoryService {
         log.debug("Request to update Category : {}", category);
         try {
             Category result = categoryRepository.save(category);
-            categorySearchRepository.index(result);
-
-            List<Book> bookList = bookRepository.findAllByCategoryIdNoPageable(category.getId());
-            for (Book book : bookList) {
-                bookSearchRepository.index(book);
-                if (bookRedisService.keyBookIdExists(book.getId())) bookRedisService.saveBooks(book);
-            }
-            bookRedisService.deleteBooksByCategoryId(category.getId());
-            categoryRedisService.deleteCategoryFromRedis();
+            searchIndexer.index(Category.class, result.getId());
+            updateBooks(result);
             return result;
         } catch (Exception e) {
             throw new BadRequestException("Update category not successfully!");
@@ -117,28 +124,45 @@ public class CategoryService {
             })
             .map(categoryRepository::save)
             .map(savedCategory -> {
-                categorySearchRepository.save(savedCategory);
+                searchIndexer.index(Category.class, savedCategory.getId());
+                updateBooks(savedCategory);
 
                 return savedCategory;
             });
     }
 
+    /**
+     * The category is denormalized into its book documents, cached book details and the cached pages of the category.
+     */
+    private void updateBooks(Category category) {
+        searchIndexer.updateAfterCommit(Book.class, index -> bookSearchRepository.updateCategory(category, index));
+        bookRedisService.deleteBooksId(bookRepository.findIdsByCategoryId(category.getId()));
+        bookRedisService.deleteBooksByCategoryId(category.getId());
+        categoryRedisService.deleteCategoryFromRedis();
+        resourceVersionService.bump(ResourceVersionService.CATEGORIES, ResourceVersionService.BOOKS);
+    }
+
     /**
      * Get all the categories.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Category> findAll() {
         log.debug("Request to get all Categories");
-        if (categoryRedisService.keyExists()) {
-            System.out.println("List category");
-            return categoryRedisService.getCategoryFromRedis();
-        }
-        List<Category> categoryList = categoryRepository.findAll();
-        if (!categoryList.isEmpty()) categoryRedisService.saveCategoryToRedis(categoryList);
-        return categoryList;
+        return singleFlightLoader.load(
+            "Category",
+            () -> {
+                List<Category> cachedCategories = categoryRedisService.getCategoryFromRedis();
+                return cachedCategories == null || cachedCategories.isEmpty() ? null : cachedCategories;
+            },
+            () -> {
+                List<Category> categoryList = categoryRepository.findAll();
+                if (!categoryList.isEmpty()) categoryRedisService.saveCategoryToRedis(categoryList);
+                return categoryList;
+            }
+        );
     }
 
     /**
@@ -161,8 +185,9 @@ public class CategoryService {
     public void delete(Long id) {
         log.debug("Request to delete Category : {}", id);
         categoryRepository.deleteById(id);
-        categorySearchRepository.deleteById(id);
+        searchIndexer.delete(Category.class, id);
         categoryRedisService.deleteCategoryFromRedis();
+        resourceVersionService.bump(ResourceVersionService.CATEGORIES);
     }
 
     /**
@@ -0,0 +1,129 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.service.dto.CheckOutExportDTO;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Streaming export of the check out history.
+ * <p>
+ * Rows are read from a forward-only cursor and written to the output as they come, so memory use does not depend on the
+ * number of rows exported.
+ */
+@Service
+public class CheckOutExportService {
+
+    /**
+     * The formats of the export. CSV is separated by {@code ;} like the Liquibase fake data, with a header line.
+     */
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        JSONL("application/x-ndjson", "jsonl");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final char SEPARATOR = ';';
+    private static final String CSV_HEADER = "id;start_time;end_time;status;is_returned;card_number;book_copy_id;book_id;book_title";
+
+    private final Logger log = LoggerFactory.getLogger(CheckOutExportService.class);
+
+    private final CheckOutRepository checkOutRepository;
+    private final ObjectMapper objectMapper;
+
+    public CheckOutExportService(CheckOutRepository checkOutRepository, ObjectMapper objectMapper) {
+        this.checkOutRepository = checkOutRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write the check outs matching the filters, by id. The output is flushed but not closed.
+     *
+     * @param status the status of the check outs, any status if {@code null}.
+     * @param from the check outs starting at or after this instant, if not {@code null}.
+     * @param to the check outs starting before this instant, if not {@code null}.
+     * @param cardNumber the card number of the patron, any patron if {@code null}.
+     * @param format the format of the export.
+     * @param outputStream the output.
+     * @return the number of check outs written.
+     * @throws IOException if the output cannot be written, such as when the client went away.
+     */
+    @Transactional(readOnly = true)
+    public long export(Status status, Instant from, Instant to, String cardNumber, Format format, OutputStream outputStream)
+        throws IOException {
+        log.debug("Request to export CheckOuts : status={}, from={}, to={}, cardNumber={}", status, from, to, cardNumber);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long rows = 0;
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<CheckOutExportDTO> checkOuts = checkOutRepository.streamForExport(status, from, to, cardNumber)) {
+            Iterator<CheckOutExportDTO> iterator = checkOuts.iterator();
+            while (iterator.hasNext()) {
+                CheckOutExportDTO checkOut = iterator.next();
+                writer.write(format == Format.CSV ? toCsv(checkOut) : objectMapper.writeValueAsString(checkOut));
+                writer.write('\n');
+                rows++;
+            }
+        }
+        writer.flush();
+        log.debug("Exported {} CheckOuts", rows);
+        return rows;
+    }
+
+    private static String toCsv(CheckOutExportDTO checkOut) {
+        StringBuilder line = new StringBuilder();
+        append(line, checkOut.getId()).append(SEPARATOR);
+        append(line, checkOut.getStartTime()).append(SEPARATOR);
+        append(line, checkOut.getEndTime()).append(SEPARATOR);
+        append(line, checkOut.getStatus()).append(SEPARATOR);
+        append(line, checkOut.getIsReturned()).append(SEPARATOR);
+        append(line, checkOut.getCardNumber()).append(SEPARATOR);
+        append(line, checkOut.getBookCopyId()).append(SEPARATOR);
+        append(line, checkOut.getBookId()).append(SEPARATOR);
+        return append(line, checkOut.getBookTitle()).toString();
+    }
+
+    /**
+     * Append a value, quoted when it holds a separator, a quote or a line break.
+     */
+    private static StringBuilder append(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+        String text = value.toString();
+        if (text.indexOf(SEPARATOR) < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
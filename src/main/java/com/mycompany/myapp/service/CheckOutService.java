@@ -1,6 +1,5 @@
 package com.mycompany.myapp.service;
 
-import com.mycompany.myapp.domain.BookCopy;
 import com.mycompany.myapp.domain.CheckOut;
 import com.mycompany.myapp.domain.enumeration.Status;
 import com.mycompany.myapp.repository.BookCopyRepository;
@@ -8,15 +7,21 @@ import com.mycompany.myapp.repository.CheckOutRepository;
 import com.mycompany.myapp.repository.search.CheckOutSearchRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.security.SecurityUtils;
-import com.mycompany.myapp.service.redis.CheckOutRedisService;
+import com.mycompany.myapp.service.dto.CheckOutSummaryDTO;
+import com.mycompany.myapp.service.dto.KeysetPage;
+import com.mycompany.myapp.service.mapper.CheckOutMapper;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import io.undertow.util.BadRequestException;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,23 +36,35 @@ public class CheckOutService {
     private final Logger log = LoggerFactory.getLogger(CheckOutService.class);
 
     private final CheckOutRepository checkOutRepository;
-    private final CheckOutRedisService checkOutRedisService;
     private final CheckOutSearchRepository checkOutSearchRepository;
     private final BookCopyRepository bookCopyRepository;
     private final WaitListService waitListService;
+    private final InventoryService inventoryService;
+    private final ReminderService reminderService;
+    private final SearchIndexer searchIndexer;
+    private final OverduePatronService overduePatronService;
+    private final CheckOutMapper checkOutMapper;
 
     public CheckOutService(
         CheckOutRepository checkOutRepository,
-        CheckOutRedisService checkOutRedisService,
         CheckOutSearchRepository checkOutSearchRepository,
         BookCopyRepository bookCopyRepository,
-        WaitListService waitListService
+        WaitListService waitListService,
+        InventoryService inventoryService,
+        ReminderService reminderService,
+        SearchIndexer searchIndexer,
+        OverduePatronService overduePatronService,
+        CheckOutMapper checkOutMapper
     ) {
         this.checkOutRepository = checkOutRepository;
-        this.checkOutRedisService = checkOutRedisService;
         this.checkOutSearchRepository = checkOutSearchRepository;
         this.bookCopyRepository = bookCopyRepository;
         this.waitListService = waitListService;
+        this.inventoryService = inventoryService;
+        this.reminderService = reminderService;
+        this.searchIndexer = searchIndexer;
+        this.overduePatronService = overduePatronService;
+        this.checkOutMapper = checkOutMapper;
     }
 
     /**
@@ -68,7 +85,7 @@ public class CheckOutService {
         }
         checkOut.setStartTime(Instant.now());
         CheckOut result = checkOutRepository.save(checkOut);
-        checkOutSearchRepository.index(result);
+        searchIndexer.index(CheckOut.class, result.getId());
         return result;
     }
 
@@ -91,28 +108,33 @@ public class CheckOutService {
             ) {
                 throw new BadRequestException("End time is less than current time!");
             }
-            Optional<BookCopy> bookCopy = bookCopyRepository.findById(checkOut.getBookCopy().getId());
+            Long bookCopyId = checkOut.getBookCopy().getId();
             if (roles.contains(AuthoritiesConstants.ADMIN) && checkOut.getStatus().equals(Status.Confirmed)) {
                 if (!checkOut.getIsReturned()) {
                     checkOut.setStartTime(Instant.now());
-                    if (checkOut.getBookCopy().getAmount() <= 0) throw new BadRequestException("The book is no longer available!");
-                    bookCopy.get().setAmount(bookCopy.get().getAmount() - 1);
-                    checkOut.setBookCopy(bookCopyRepository.save(bookCopy.get()));
-                    checkOutRedisService.saveCheckOutByPatron(checkOut);
-                } else checkOutRedisService.deleteCheckOutByKey(checkOut);
+                    boolean confirmed = !checkOutOld.get().getStatus().equals(Status.Confirmed);
+                    // a copy is taken once, when the check out gets confirmed
+                    if (confirmed) {
+                        checkOut.setBookCopy(inventoryService.reserve(bookCopyId));
+                    }
+                    // the reminders only move with the due date
+                    if (confirmed || !Objects.equals(checkOutOld.get().getEndTime(), checkOut.getEndTime())) {
+                        reminderService.schedule(checkOut);
+                    }
+                } else reminderService.cancel(checkOut.getId());
             }
-            if (checkOut.getIsReturned()) {
-                bookCopy.get().setAmount(bookCopy.get().getAmount() + 1);
-                if (bookCopyRepository.checkBookAvailable(bookCopy.get().getBook().getId()).isEmpty()) waitListService.Notification(
-                    bookCopy.get().getBook().getId()
-                );
-                bookCopyRepository.save(bookCopy.get());
+            if (checkOut.getIsReturned() && !Boolean.TRUE.equals(checkOutOld.get().getIsReturned())) {
+                inventoryService.release(bookCopyId);
+                reminderService.cancel(checkOut.getId());
+                Long bookId = bookCopyRepository.findById(bookCopyId).get().getBook().getId();
+                if (bookCopyRepository.checkBookAvailable(bookId).isEmpty()) waitListService.Notification(bookId);
             }
             CheckOut result = checkOutRepository.save(checkOut);
-            checkOutSearchRepository.index(result);
+            searchIndexer.index(CheckOut.class, result.getId());
+            overduePatronService.refresh(result);
             return result;
         } catch (Exception e) {
-            checkOutRedisService.deleteCheckOutByKey(checkOut);
+            reminderService.cancel(checkOut.getId());
             throw new BadRequestException(e.getMessage());
         }
     }
@@ -146,7 +168,8 @@ public class CheckOutService {
             })
             .map(checkOutRepository::save)
             .map(savedCheckOut -> {
-                checkOutSearchRepository.save(savedCheckOut);
+                searchIndexer.index(CheckOut.class, savedCheckOut.getId());
+                overduePatronService.refresh(savedCheckOut);
 
                 return savedCheckOut;
             });
@@ -165,15 +188,39 @@ public class CheckOutService {
     }
 
     @Transactional(readOnly = true)
-    public Page<CheckOut> findCheckoutByStatus(Status status, Pageable pageable) {
+    public Page<CheckOutSummaryDTO> findCheckoutByStatus(Status status, Pageable pageable) {
         log.debug("Request to get all CheckOuts by Status");
-        return checkOutRepository.findCheckOutByStatus(status, pageable);
+        return checkOutRepository.findCheckOutByStatus(status, pageable).map(checkOutMapper::toSummaryDto);
     }
 
+    /**
+     * Get the checkOuts with a status after a checkOut, ordered by id.
+     *
+     * @param status the status.
+     * @param id the id of the last checkOut of the previous page, or {@code null} for the first page.
+     * @param size the page size.
+     * @param count flag to count all the checkOuts with the status.
+     * @return the page of DTOs.
+     */
     @Transactional(readOnly = true)
-    public List<CheckOut> findCheckOutByStatusAndReturn(String cardNumber, Status status, boolean returned) {
+    public KeysetPage<CheckOutSummaryDTO> findCheckoutByStatusAfter(Status status, Long id, int size, boolean count) {
+        log.debug("Request to get the CheckOuts by Status after {}", id);
+        List<CheckOutSummaryDTO> checkOuts = checkOutRepository
+            .findCheckOutByStatusAfter(status, id == null ? 0L : id, PageRequest.of(0, size + 1))
+            .stream()
+            .map(checkOutMapper::toSummaryDto)
+            .collect(Collectors.toList());
+        return KeysetPage.of(checkOuts, size, CheckOutSummaryDTO::getId, count ? checkOutRepository.countByStatus(status) : null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CheckOutSummaryDTO> findCheckOutByStatusAndReturn(String cardNumber, Status status, boolean returned) {
         log.debug("Request to get all CheckOuts by Status");
-        return checkOutRepository.findCheckOutByStatusAndReturn(cardNumber, status, returned);
+        return checkOutRepository
+            .findCheckOutByStatusAndReturn(cardNumber, status, returned)
+            .stream()
+            .map(checkOutMapper::toSummaryDto)
+            .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
@@ -201,8 +248,10 @@ public class CheckOutService {
      */
     public void delete(Long id) {
         log.debug("Request to delete CheckOut : {}", id);
+        Optional<CheckOut> checkOut = checkOutRepository.findById(id);
         checkOutRepository.deleteById(id);
-        checkOutSearchRepository.deleteById(id);
+        searchIndexer.delete(CheckOut.class, id);
+        checkOut.ifPresent(overduePatronService::refresh);
     }
 
     /**
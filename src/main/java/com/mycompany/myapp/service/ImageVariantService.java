@@ -0,0 +1,314 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.repository.BookCopyRepository;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.service.redis.BookRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import com.mycompany.myapp.service.search.SearchIndexer;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates the resized variants of the uploaded images.
+ * <p>
+ * After an upload, the image is read back from S3 on a bounded worker pool and stored as a thumbnail, a medium and a large
+ * JPEG under keys derived from its own ({@code {key}-thumbnail.jpg}, ...). The variants are encoded from the pixels only,
+ * which drops the metadata of the original. The variant URLs are then recorded on the books and book copies using the image.
+ * Entities saved with an image whose variants are not known yet are checked by {@link #applyVariants(Book)} once their
+ * transaction commits, so that S3 is never called while a transaction holds a database connection.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final String[] VARIANTS = { "thumbnail", "medium", "large" };
+
+    private static final String CONTENT_TYPE = "image/jpeg";
+
+    private final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final S3Service s3Service;
+    private final BookRepository bookRepository;
+    private final BookCopyRepository bookCopyRepository;
+    private final BookRedisService bookRedisService;
+    private final SearchIndexer searchIndexer;
+    private final ResourceVersionService resourceVersionService;
+    private final ApplicationProperties.Image properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+
+    public ImageVariantService(
+        S3Service s3Service,
+        BookRepository bookRepository,
+        BookCopyRepository bookCopyRepository,
+        BookRedisService bookRedisService,
+        SearchIndexer searchIndexer,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        ResourceVersionService resourceVersionService
+    ) {
+        this.s3Service = s3Service;
+        this.bookRepository = bookRepository;
+        this.bookCopyRepository = bookCopyRepository;
+        this.bookRedisService = bookRedisService;
+        this.searchIndexer = searchIndexer;
+        this.resourceVersionService = resourceVersionService;
+        this.properties = applicationProperties.getImage();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers =
+            new ThreadPoolExecutor(
+                properties.getWorkers(),
+                properties.getWorkers(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("image-variants-")
+            );
+    }
+
+    /**
+     * Generate the variants of an uploaded image in the background.
+     *
+     * @param imageUrl the URL returned by {@link S3Service#saveS3}.
+     */
+    public void generate(String imageUrl) {
+        try {
+            workers.execute(() -> {
+                try {
+                    process(imageUrl);
+                } catch (Exception e) {
+                    log.warn("Variants of image {} could not be generated: {}", imageUrl, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the original stays in use until the image is uploaded again
+            log.warn("Variants of image {} skipped, the image queue is full", imageUrl);
+        }
+    }
+
+    /**
+     * Keep the variant URLs of the image of a book when they match its image, or clear them and record them after commit if
+     * they are generated.
+     */
+    public Book applyVariants(Book book) {
+        String[] variants = variantsOf(book.getImage(), book.getImageLarge());
+        return book.imageThumbnail(variants[0]).imageMedium(variants[1]).imageLarge(variants[2]);
+    }
+
+    /**
+     * Keep the variant URLs of the image of a book copy when they match its image, or clear them and record them after commit
+     * if they are generated.
+     */
+    public BookCopy applyVariants(BookCopy bookCopy) {
+        String[] variants = variantsOf(bookCopy.getImage(), bookCopy.getImageLarge());
+        return bookCopy.imageThumbnail(variants[0]).imageMedium(variants[1]).imageLarge(variants[2]);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        workers.shutdown();
+    }
+
+    private void process(String imageUrl) throws IOException {
+        String key = s3Service.getKey(imageUrl);
+        BufferedImage source;
+        try (InputStream in = s3Service.download(key)) {
+            source = read(in);
+        }
+        if (source == null) {
+            log.debug("Upload {} is not an image", key);
+            return;
+        }
+        int[] widths = { properties.getThumbnailWidth(), properties.getMediumWidth(), properties.getLargeWidth() };
+        String[] urls = new String[VARIANTS.length];
+        for (int i = 0; i < VARIANTS.length; i++) {
+            String variantKey = variantKey(key, VARIANTS[i]);
+            s3Service.store(variantKey, writeJpeg(resize(source, widths[i])), CONTENT_TYPE);
+            urls[i] = s3Service.getUrl(variantKey);
+        }
+        record(imageUrl, urls);
+        log.debug("Generated the variants of image {}", key);
+    }
+
+    /**
+     * Decode an image, subsampled when it is much larger than the large variant so huge uploads do not fill the heap.
+     */
+    private BufferedImage read(InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int subsampling = Math.max(1, reader.getWidth(0) / (properties.getLargeWidth() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale an image down to a width, halving it step by step, on a white background since JPEG has no transparency.
+     */
+    static BufferedImage resize(BufferedImage source, int width) {
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, Math.round(source.getHeight() * (float) targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        do {
+            int stepWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int stepHeight = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage step = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, stepWidth, stepHeight, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+
+    private byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(properties.getQuality());
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Record the variant URLs on the books and book copies of an image, then invalidate the cached books once the
+     * transaction has committed, outside of it.
+     */
+    private void record(String imageUrl, String[] urls) {
+        List<Book> books = transactionTemplate.execute(status -> {
+            List<Book> result = bookRepository.findAllByImage(imageUrl);
+            for (Book book : result) {
+                book.imageThumbnail(urls[0]).imageMedium(urls[1]).imageLarge(urls[2]);
+                searchIndexer.index(Book.class, book.getId());
+            }
+            for (BookCopy bookCopy : bookCopyRepository.findAllByImage(imageUrl)) {
+                bookCopy.imageThumbnail(urls[0]).imageMedium(urls[1]).imageLarge(urls[2]);
+                searchIndexer.index(BookCopy.class, bookCopy.getId());
+            }
+            return result;
+        });
+        if (books != null && !books.isEmpty()) {
+            Set<Long> categoryIds = new HashSet<>();
+            for (Book book : books) {
+                if (book.getCategory() != null) {
+                    categoryIds.add(book.getCategory().getId());
+                }
+            }
+            bookRedisService.deleteBooksId(books.stream().map(Book::getId).collect(Collectors.toList()));
+            categoryIds.forEach(bookRedisService::deleteBooksByCategoryId);
+        }
+        resourceVersionService.bump(ResourceVersionService.BOOKS);
+    }
+
+    private String[] variantsOf(String image, String imageLarge) {
+        if (image == null || image.isEmpty()) {
+            return new String[VARIANTS.length];
+        }
+        String key = s3Service.getKey(image);
+        if (!image.equals(s3Service.getUrl(key))) {
+            // not uploaded to our bucket
+            return new String[VARIANTS.length];
+        }
+        String[] urls = new String[VARIANTS.length];
+        for (int i = 0; i < VARIANTS.length; i++) {
+            urls[i] = s3Service.getUrl(variantKey(key, VARIANTS[i]));
+        }
+        if (urls[2].equals(imageLarge)) {
+            return urls;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordIfGenerated(image, key, urls);
+                    }
+                }
+            );
+        } else {
+            recordIfGenerated(image, key, urls);
+        }
+        return new String[VARIANTS.length];
+    }
+
+    /**
+     * Record the variants of an image on the entities using it if they are already generated; the ones generated later are
+     * recorded by {@link #generate(String)}.
+     */
+    private void recordIfGenerated(String imageUrl, String key, String[] urls) {
+        try {
+            workers.execute(() -> {
+                try {
+                    // the large variant is stored last
+                    if (s3Service.exists(variantKey(key, VARIANTS[2]))) {
+                        record(imageUrl, urls);
+                    }
+                } catch (Exception e) {
+                    log.debug("Variants of image {} could not be checked: {}", imageUrl, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Variants of image {} not checked, the image queue is full", imageUrl);
+        }
+    }
+
+    private static String variantKey(String key, String variant) {
+        int extension = key.lastIndexOf('.');
+        return (extension < 0 ? key : key.substring(0, extension)) + "-" + variant + ".jpg";
+    }
+}
@@ -0,0 +1,193 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.repository.BookCopyRepository;
+import com.mycompany.myapp.service.redis.BookRedisService;
+import com.mycompany.myapp.service.redis.InventoryRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import io.undertow.util.BadRequestException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Reserves and releases the copies of a {@link BookCopy}.
+ * <p>
+ * Each reservation is a single conditional update ({@code amount = amount - 1 where amount > 0}), so concurrent
+ * confirmations never take more copies than there are and never read-modify-write the row. When
+ * {@code application.inventory.redis-gate} is on, a Redis counter decremented by a Lua script turns sold-out confirmations
+ * away before they reach the database; the counters are rebuilt from the database by {@link #reconcile()}.
+ * <p>
+ * The amount is part of the book details, so a reservation or a release evicts the cached details of the book and bumps
+ * the version of the books once it commits.
+ */
+@Service
+@Transactional
+public class InventoryService {
+
+    private static final String NOT_AVAILABLE = "The book is no longer available!";
+
+    private final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private final BookCopyRepository bookCopyRepository;
+    private final InventoryRedisService inventoryRedisService;
+    private final BookRedisService bookRedisService;
+    private final ResourceVersionService resourceVersionService;
+    private final ApplicationProperties.Inventory properties;
+
+    public InventoryService(
+        BookCopyRepository bookCopyRepository,
+        InventoryRedisService inventoryRedisService,
+        BookRedisService bookRedisService,
+        ResourceVersionService resourceVersionService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.bookCopyRepository = bookCopyRepository;
+        this.inventoryRedisService = inventoryRedisService;
+        this.bookRedisService = bookRedisService;
+        this.resourceVersionService = resourceVersionService;
+        this.properties = applicationProperties.getInventory();
+    }
+
+    /**
+     * Take one copy of a book copy.
+     *
+     * @param bookCopyId the id of the book copy.
+     * @return the book copy with its remaining amount.
+     * @throws BadRequestException if no copy is left.
+     */
+    public BookCopy reserve(Long bookCopyId) throws BadRequestException {
+        log.debug("Request to reserve a copy of BookCopy : {}", bookCopyId);
+        if (properties.isRedisGate()) {
+            long gate = inventoryRedisService.tryReserve(bookCopyId);
+            if (gate == InventoryRedisService.SOLD_OUT) {
+                throw new BadRequestException(NOT_AVAILABLE);
+            }
+            if (gate == InventoryRedisService.RESERVED) {
+                afterCompletion(bookCopyId, false);
+            }
+        }
+        if (bookCopyRepository.decrementAmount(bookCopyId) == 0) {
+            if (properties.isRedisGate()) {
+                // the counter let a confirmation through that the database turned away
+                inventoryRedisService.evict(bookCopyId);
+            }
+            throw new BadRequestException(NOT_AVAILABLE);
+        }
+        BookCopy bookCopy = bookCopyRepository.findById(bookCopyId).orElseThrow(() -> new BadRequestException(NOT_AVAILABLE));
+        amountChanged(bookCopy);
+        return bookCopy;
+    }
+
+    /**
+     * Give one copy of a book copy back.
+     *
+     * @param bookCopyId the id of the book copy.
+     */
+    public void release(Long bookCopyId) {
+        log.debug("Request to release a copy of BookCopy : {}", bookCopyId);
+        if (bookCopyRepository.incrementAmount(bookCopyId) > 0) {
+            bookCopyRepository.findById(bookCopyId).ifPresent(this::amountChanged);
+        }
+        if (properties.isRedisGate()) {
+            afterCompletion(bookCopyId, true);
+        }
+    }
+
+    /**
+     * Drop the Redis counter of a book copy whose amount was set directly, once the transaction commits.
+     *
+     * @param bookCopyId the id of the book copy.
+     */
+    public void evict(Long bookCopyId) {
+        if (!properties.isRedisGate()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        inventoryRedisService.evict(bookCopyId);
+                    }
+                }
+            );
+        } else {
+            inventoryRedisService.evict(bookCopyId);
+        }
+    }
+
+    /**
+     * Rebuild the Redis counters from the amounts in the database, walking the book copies by id.
+     * <p>
+     * The amounts may be stale by the time they reach Redis, so a counter is only ever raised, see
+     * {@link InventoryRedisService#reset(Map, long)}: a release running during the walk is never lost, while a reservation
+     * may leave its counter above the database until a confirmation is turned away by the conditional update and evicts it.
+     */
+    @Scheduled(fixedDelayString = "${application.inventory.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        if (!properties.isRedisGate()) {
+            return;
+        }
+        // counters outlive a few missed runs, then fall back to the database
+        long ttlSeconds = Math.max(1, properties.getReconcileIntervalMs() * 3 / 1000);
+        long lastId = 0;
+        int counters = 0;
+        List<Object[]> rows;
+        do {
+            rows = bookCopyRepository.findAmountsAfter(lastId, PageRequest.of(0, properties.getReconcileBatchSize()));
+            Map<Long, Integer> amounts = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                amounts.put(lastId, row[1] == null ? 0 : (Integer) row[1]);
+            }
+            inventoryRedisService.reset(amounts, ttlSeconds);
+            counters += amounts.size();
+        } while (rows.size() == properties.getReconcileBatchSize());
+        log.debug("Reconciled {} inventory counters", counters);
+    }
+
+    /**
+     * Evict the cached details of the book of a book copy and bump the version of the books. Both run once the transaction
+     * commits: the eviction is queued in the {@code MULTI} of the transaction, the version is bumped after commit.
+     */
+    private void amountChanged(BookCopy bookCopy) {
+        resourceVersionService.bump(ResourceVersionService.BOOKS);
+        if (bookCopy.getBook() != null) {
+            bookRedisService.deleteBooksId(bookCopy.getBook().getId());
+        }
+    }
+
+    /**
+     * Give a copy back to the Redis counter when the transaction ends: after a rollback for a reservation, after a commit for
+     * a release.
+     */
+    private void afterCompletion(Long bookCopyId, boolean onCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                inventoryRedisService.release(bookCopyId);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if ((status == STATUS_COMMITTED) == onCommit) {
+                        inventoryRedisService.release(bookCopyId);
+                    }
+                }
+            }
+        );
+    }
+}
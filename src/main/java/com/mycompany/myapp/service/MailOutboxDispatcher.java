@@ -0,0 +1,190 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.MailOutbox;
+import com.mycompany.myapp.domain.enumeration.MailStatus;
+import com.mycompany.myapp.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends the mails queued in the {@link MailOutbox} by {@link MailService}.
+ * <p>
+ * Due mails are claimed in batches with {@code for update skip locked}, so dispatchers running on several nodes never claim
+ * the same mail, and leased: a mail claimed by a node that stops before sending it is claimed again once the lease runs out.
+ * Each batch is sent over a single SMTP connection and batches are paced to {@code application.mail-outbox.rate-per-second}.
+ * Failed mails are retried with an exponential backoff until {@code application.mail-outbox.max-attempts}.
+ */
+@Service
+public class MailOutboxDispatcher {
+
+    public static final String PENDING_METER_NAME = "mail.outbox.pending";
+
+    public static final String LATENCY_METER_NAME = "mail.outbox.latency";
+
+    public static final String DELIVERIES_METER_NAME = "mail.outbox.deliveries";
+
+    private static final int LAST_ERROR_LENGTH = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailService mailService;
+    private final JavaMailSender javaMailSender;
+    private final ApplicationProperties.MailOutbox properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final Timer latency;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public MailOutboxDispatcher(
+        MailOutboxRepository mailOutboxRepository,
+        MailService mailService,
+        JavaMailSender javaMailSender,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailService = mailService;
+        this.javaMailSender = javaMailSender;
+        this.properties = applicationProperties.getMailOutbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        meterRegistry.gauge(PENDING_METER_NAME, pending);
+        this.latency = Timer.builder(LATENCY_METER_NAME).description("Time from queueing to sending a mail").register(meterRegistry);
+        this.sent = Counter.builder(DELIVERIES_METER_NAME).tag("result", "sent").register(meterRegistry);
+        this.retried = Counter.builder(DELIVERIES_METER_NAME).tag("result", "retried").register(meterRegistry);
+        this.failed = Counter.builder(DELIVERIES_METER_NAME).tag("result", "failed").register(meterRegistry);
+    }
+
+    /**
+     * Claim and send the due mails, batch after batch, until none is left.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        int batchSize = properties.getBatchSize();
+        List<MailOutbox> claimed;
+        do {
+            long start = System.currentTimeMillis();
+            claimed = claim(batchSize);
+            if (!claimed.isEmpty()) {
+                complete(claimed, send(claimed));
+                pace(start, claimed.size());
+            }
+        } while (claimed.size() == batchSize);
+        pending.set(mailOutboxRepository.countByStatus(MailStatus.PENDING));
+    }
+
+    private List<MailOutbox> claim(int batchSize) {
+        List<MailOutbox> claimed = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<MailOutbox> mails = mailOutboxRepository.findDueForUpdate(now, batchSize);
+            for (MailOutbox mail : mails) {
+                mail.attempts(mail.getAttempts() + 1).nextAttemptAt(now.plusSeconds(properties.getLeaseSeconds()));
+            }
+            return mails;
+        });
+        return claimed == null ? Collections.emptyList() : claimed;
+    }
+
+    /**
+     * Send a batch of mails over one SMTP connection.
+     *
+     * @return the error of each mail that was not sent.
+     */
+    private Map<MailOutbox, Exception> send(List<MailOutbox> mails) {
+        Map<MailOutbox, Exception> errors = new IdentityHashMap<>();
+        Map<MimeMessage, MailOutbox> messages = new IdentityHashMap<>();
+        List<MimeMessage> rendered = mailService.render(mails, errors::put);
+        for (int i = 0; i < mails.size(); i++) {
+            if (rendered.get(i) != null) {
+                messages.put(rendered.get(i), mails.get(i));
+            }
+        }
+        if (messages.isEmpty()) {
+            return errors;
+        }
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(mail -> errors.put(mail, e));
+            }
+            e.getFailedMessages().forEach((message, error) -> errors.put(messages.get(message), error));
+        } catch (MailException e) {
+            messages.values().forEach(mail -> errors.put(mail, e));
+        }
+        return errors;
+    }
+
+    private void complete(List<MailOutbox> mails, Map<MailOutbox, Exception> errors) {
+        Instant now = Instant.now();
+        List<MailOutbox> completed = new ArrayList<>(mails.size());
+        for (MailOutbox mail : mails) {
+            Exception error = errors.get(mail);
+            if (error == null) {
+                mail.status(MailStatus.SENT).sentAt(now).lastError(null);
+                latency.record(Duration.between(mail.getCreatedAt(), now));
+                sent.increment();
+            } else if (mail.getAttempts() >= properties.getMaxAttempts()) {
+                log.warn("Email to '{}' failed after {} attempts: {}", mail.getRecipient(), mail.getAttempts(), error.getMessage());
+                mail.status(MailStatus.FAILED).lastError(lastError(error));
+                failed.increment();
+            } else {
+                log.debug("Email to '{}' will be retried: {}", mail.getRecipient(), error.getMessage());
+                mail.nextAttemptAt(now.plusMillis(backoff(mail.getAttempts()))).lastError(lastError(error));
+                retried.increment();
+            }
+            completed.add(mail);
+        }
+        transactionTemplate.executeWithoutResult(status -> mailOutboxRepository.saveAll(completed));
+    }
+
+    private long backoff(int attempts) {
+        long backoff = properties.getInitialBackoffMs() << Math.min(attempts - 1, 20);
+        return Math.min(backoff, properties.getMaxBackoffMs());
+    }
+
+    /**
+     * Wait until the batch fits in the configured rate, so a large outbox does not flood the SMTP server.
+     */
+    private void pace(long start, int count) {
+        long wait = start + count * 1000L / Math.max(1, properties.getRatePerSecond()) - System.currentTimeMillis();
+        if (wait <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String lastError(Exception error) {
+        String message = String.valueOf(error.getMessage());
+        return message.length() > LAST_ERROR_LENGTH ? message.substring(0, LAST_ERROR_LENGTH) : message;
+    }
+}
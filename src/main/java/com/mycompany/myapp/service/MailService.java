@@ -1,27 +1,38 @@
 package com.mycompany.myapp.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.domain.MailOutbox;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.enumeration.MailStatus;
+import com.mycompany.myapp.repository.MailOutboxRepository;
 import com.mycompany.myapp.service.dto.InfoCheckOut;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
 import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring5.SpringTemplateEngine;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Notifications are written to the mail outbox in the transaction of the caller and sent in batches by the
+ * {@link MailOutboxDispatcher}. We use the {@link Async} annotation to send the other emails asynchronously.
  */
 @Service
 public class MailService {
@@ -29,27 +40,30 @@ public class MailService {
     private final Logger log = LoggerFactory.getLogger(MailService.class);
 
     private static final String USER = "user";
-    private static final String InfoCheckOut = "infoCheckOut";
-    private static final String BASE_URL = "baseUrl";
+    private static final Locale LOCALE = Locale.forLanguageTag("en");
 
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
 
-    private final MessageSource messageSource;
+    private final MailTemplateRenderer mailTemplateRenderer;
 
-    private final SpringTemplateEngine templateEngine;
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final ObjectMapper objectMapper;
 
     public MailService(
         JHipsterProperties jHipsterProperties,
         JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        MailTemplateRenderer mailTemplateRenderer,
+        MailOutboxRepository mailOutboxRepository,
+        ObjectMapper objectMapper
     ) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+        this.mailTemplateRenderer = mailTemplateRenderer;
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.objectMapper = objectMapper;
     }
 
     @Async
@@ -84,13 +98,98 @@ public class MailService {
             log.debug("Email doesn't exist for user '{}'", infoCheckOut.getUsername());
             return;
         }
-        Locale locale = Locale.forLanguageTag("en");
-        Context context = new Context(locale);
-        context.setVariable(InfoCheckOut, infoCheckOut);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(infoCheckOut.getEmail(), subject, content, false, true);
+        String content = mailTemplateRenderer.render(templateName, LOCALE, infoCheckOut);
+        sendEmail(infoCheckOut.getEmail(), mailTemplateRenderer.subject(titleKey, LOCALE), content, false, true);
+    }
+
+    /**
+     * Render a batch of mails of the outbox, see {@link MailOutboxDispatcher}. The mails of a template are rendered together
+     * from its cached skeleton.
+     *
+     * @param mails the mails to render.
+     * @param onError called for each mail that could not be rendered.
+     * @return the rendered messages, in the order of the mails, with {@code null} for the mails that could not be rendered.
+     */
+    public List<MimeMessage> render(List<MailOutbox> mails, BiConsumer<MailOutbox, Exception> onError) {
+        Map<String, List<Integer>> indexesByTemplate = new LinkedHashMap<>();
+        Map<String, List<InfoCheckOut>> infoCheckOutsByTemplate = new LinkedHashMap<>();
+        for (int i = 0; i < mails.size(); i++) {
+            MailOutbox mail = mails.get(i);
+            try {
+                InfoCheckOut infoCheckOut = objectMapper.readValue(mail.getPayload(), InfoCheckOut.class);
+                indexesByTemplate.computeIfAbsent(mail.getTemplate(), template -> new ArrayList<>()).add(i);
+                infoCheckOutsByTemplate.computeIfAbsent(mail.getTemplate(), template -> new ArrayList<>()).add(infoCheckOut);
+            } catch (JsonProcessingException e) {
+                onError.accept(mail, e);
+            }
+        }
+
+        MimeMessage[] messages = new MimeMessage[mails.size()];
+        for (Map.Entry<String, List<Integer>> entry : indexesByTemplate.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            List<String> contents;
+            try {
+                contents = mailTemplateRenderer.renderAll(entry.getKey(), LOCALE, infoCheckOutsByTemplate.get(entry.getKey()));
+            } catch (RuntimeException e) {
+                indexes.forEach(i -> onError.accept(mails.get(i), e));
+                continue;
+            }
+            for (int j = 0; j < indexes.size(); j++) {
+                MailOutbox mail = mails.get(indexes.get(j));
+                try {
+                    MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+                    MimeMessageHelper message = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
+                    message.setTo(mail.getRecipient());
+                    message.setFrom(jHipsterProperties.getMail().getFrom());
+                    message.setSubject(mailTemplateRenderer.subject(mail.getTitleKey(), LOCALE));
+                    message.setText(contents.get(j), true);
+                    messages[indexes.get(j)] = mimeMessage;
+                } catch (MessagingException | RuntimeException e) {
+                    onError.accept(mail, e);
+                }
+            }
+        }
+        return Arrays.asList(messages);
+    }
+
+    /**
+     * Queue a mail in the outbox, in the transaction of the caller.
+     */
+    public void enqueue(InfoCheckOut infoCheckOut, String templateName, String titleKey) {
+        if (infoCheckOut.getEmail() == null) {
+            log.debug("Email doesn't exist for user '{}'", infoCheckOut.getUsername());
+            return;
+        }
+        enqueueAll(Collections.singletonList(infoCheckOut), templateName, titleKey);
+    }
+
+    /**
+     * Queue one mail per recipient in the outbox with a single batch insert, in the transaction of the caller.
+     */
+    public void enqueueAll(List<InfoCheckOut> infoCheckOuts, String templateName, String titleKey) {
+        Instant now = Instant.now();
+        List<MailOutbox> mails = new ArrayList<>(infoCheckOuts.size());
+        for (InfoCheckOut infoCheckOut : infoCheckOuts) {
+            if (infoCheckOut.getEmail() == null) {
+                continue;
+            }
+            try {
+                mails.add(
+                    new MailOutbox()
+                        .recipient(infoCheckOut.getEmail())
+                        .template(templateName)
+                        .titleKey(titleKey)
+                        .payload(objectMapper.writeValueAsString(infoCheckOut))
+                        .status(MailStatus.PENDING)
+                        .attempts(0)
+                        .createdAt(now)
+                        .nextAttemptAt(now)
+                );
+            } catch (JsonProcessingException e) {
+                log.warn("Email to '{}' could not be queued", infoCheckOut.getEmail(), e);
+            }
+        }
+        mailOutboxRepository.saveAll(mails);
     }
 
     //    @Async
@@ -110,15 +209,18 @@ public class MailService {
     //        log.debug("Sending password reset email to '{}'", user.getEmail());
     //        sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
     //    }
-    @Async
     public void sendReturnBook(com.mycompany.myapp.service.dto.InfoCheckOut InfoCheckOut) {
-        log.debug("Sending return book email to '{}'", InfoCheckOut.getEmail());
-        sendEmailFromTemplate(InfoCheckOut, "mail/returnBook", "email.return.title");
+        log.debug("Queueing return book email to '{}'", InfoCheckOut.getEmail());
+        enqueue(InfoCheckOut, "mail/returnBook", "email.return.title");
     }
 
-    @Async
-    public void sendBookAvailable(com.mycompany.myapp.service.dto.InfoCheckOut InfoCheckOut) {
-        log.debug("Sending book available email to '{}'", InfoCheckOut.getEmail());
-        sendEmailFromTemplate(InfoCheckOut, "mail/bookAvailable", "email.available.title");
+    public void sendOverdueBook(InfoCheckOut infoCheckOut) {
+        log.debug("Queueing overdue book email to '{}'", infoCheckOut.getEmail());
+        enqueue(infoCheckOut, "mail/overdueBook", "email.overdue.title");
+    }
+
+    public void sendBookAvailable(List<InfoCheckOut> infoCheckOuts) {
+        log.debug("Queueing book available email to {} patrons", infoCheckOuts.size());
+        enqueueAll(infoCheckOuts, "mail/bookAvailable", "email.available.title");
     }
 }
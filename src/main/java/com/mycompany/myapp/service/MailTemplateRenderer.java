@@ -0,0 +1,152 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.service.dto.InfoCheckOut;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.unbescape.html.HtmlEscape;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Renders the mail templates of the check out notifications.
+ * <p>
+ * A template is processed once per locale with a marker in place of each {@link InfoCheckOut} property, then split at the
+ * markers into a cached skeleton. A mail is rendered by joining the skeleton with the HTML escaped properties of its
+ * recipient, which gives the same HTML as {@code th:text} without running the template engine again. This only holds for
+ * templates that print the properties; templates must not branch on them.
+ */
+@Service
+public class MailTemplateRenderer {
+
+    private static final String INFO_CHECK_OUT = "infoCheckOut";
+    private static final String BASE_URL = "baseUrl";
+
+    private static final Map<String, Function<InfoCheckOut, String>> SLOTS = new LinkedHashMap<>();
+
+    static {
+        SLOTS.put("username", InfoCheckOut::getUsername);
+        SLOTS.put("email", InfoCheckOut::getEmail);
+        SLOTS.put("bookTitle", InfoCheckOut::getBookTitle);
+    }
+
+    private final Logger log = LoggerFactory.getLogger(MailTemplateRenderer.class);
+
+    private final SpringTemplateEngine templateEngine;
+    private final MessageSource messageSource;
+    private final JHipsterProperties jHipsterProperties;
+
+    private final Map<String, Skeleton> skeletons = new ConcurrentHashMap<>();
+    private final Map<String, String> subjects = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(SpringTemplateEngine templateEngine, MessageSource messageSource, JHipsterProperties jHipsterProperties) {
+        this.templateEngine = templateEngine;
+        this.messageSource = messageSource;
+        this.jHipsterProperties = jHipsterProperties;
+    }
+
+    /**
+     * Render a template with the template engine, for each call.
+     */
+    public String process(String templateName, Locale locale, InfoCheckOut infoCheckOut) {
+        Context context = new Context(locale);
+        context.setVariable(INFO_CHECK_OUT, infoCheckOut);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        return templateEngine.process(templateName, context);
+    }
+
+    /**
+     * Render a template for one recipient from its cached skeleton.
+     */
+    public String render(String templateName, Locale locale, InfoCheckOut infoCheckOut) {
+        return skeleton(templateName, locale).fill(infoCheckOut, new StringBuilder()).toString();
+    }
+
+    /**
+     * Render a template for a batch of recipients from its cached skeleton, in one pass.
+     */
+    public List<String> renderAll(String templateName, Locale locale, List<InfoCheckOut> infoCheckOuts) {
+        Skeleton skeleton = skeleton(templateName, locale);
+        List<String> contents = new ArrayList<>(infoCheckOuts.size());
+        StringBuilder content = new StringBuilder(skeleton.length);
+        for (InfoCheckOut infoCheckOut : infoCheckOuts) {
+            content.setLength(0);
+            contents.add(skeleton.fill(infoCheckOut, content).toString());
+        }
+        return contents;
+    }
+
+    public String subject(String titleKey, Locale locale) {
+        return subjects.computeIfAbsent(titleKey + "@" + locale, key -> messageSource.getMessage(titleKey, null, locale));
+    }
+
+    /**
+     * Drop the cached skeletons and subjects, e.g. after the templates or messages changed.
+     */
+    public void clear() {
+        skeletons.clear();
+        subjects.clear();
+    }
+
+    private Skeleton skeleton(String templateName, Locale locale) {
+        return skeletons.computeIfAbsent(templateName + "@" + locale, key -> compile(templateName, locale));
+    }
+
+    private Skeleton compile(String templateName, Locale locale) {
+        log.debug("Compiling mail template {} for locale {}", templateName, locale);
+        // letters and digits only, so the markers go through message formatting and HTML escaping untouched
+        String token = UUID.randomUUID().toString().replace("-", "");
+        List<String> slotNames = new ArrayList<>(SLOTS.keySet());
+        InfoCheckOut markers = new InfoCheckOut();
+        markers.setUsername("slot" + token + "x0x");
+        markers.setEmail("slot" + token + "x1x");
+        markers.setBookTitle("slot" + token + "x2x");
+
+        String html = process(templateName, locale, markers);
+        Matcher matcher = Pattern.compile("slot" + token + "x(\\d+)x").matcher(html);
+        List<String> parts = new ArrayList<>();
+        List<Function<InfoCheckOut, String>> slots = new ArrayList<>();
+        int start = 0;
+        while (matcher.find()) {
+            parts.add(html.substring(start, matcher.start()));
+            slots.add(SLOTS.get(slotNames.get(Integer.parseInt(matcher.group(1)))));
+            start = matcher.end();
+        }
+        parts.add(html.substring(start));
+        return new Skeleton(parts, slots, html.length());
+    }
+
+    private static final class Skeleton {
+
+        private final String[] parts;
+        private final List<Function<InfoCheckOut, String>> slots;
+        private final int length;
+
+        private Skeleton(List<String> parts, List<Function<InfoCheckOut, String>> slots, int length) {
+            this.parts = parts.toArray(new String[0]);
+            this.slots = slots;
+            this.length = length;
+        }
+
+        private StringBuilder fill(InfoCheckOut infoCheckOut, StringBuilder content) {
+            for (int i = 0; i < slots.size(); i++) {
+                content.append(parts[i]);
+                // as th:text prints a message argument
+                content.append(HtmlEscape.escapeHtml4Xml(String.valueOf(slots.get(i).apply(infoCheckOut))));
+            }
+            return content.append(parts[parts.length - 1]);
+        }
+    }
+}
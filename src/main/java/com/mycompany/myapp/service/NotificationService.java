@@ -5,6 +5,7 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 import com.mycompany.myapp.domain.Notification;
 import com.mycompany.myapp.repository.NotificationRepository;
 import com.mycompany.myapp.repository.search.NotificationSearchRepository;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,9 +27,16 @@ public class NotificationService {
 
     private final NotificationSearchRepository notificationSearchRepository;
 
-    public NotificationService(NotificationRepository notificationRepository, NotificationSearchRepository notificationSearchRepository) {
+    private final SearchIndexer searchIndexer;
+
+    public NotificationService(
+        NotificationRepository notificationRepository,
+        NotificationSearchRepository notificationSearchRepository,
+        SearchIndexer searchIndexer
+    ) {
         this.notificationRepository = notificationRepository;
         this.notificationSearchRepository = notificationSearchRepository;
+        this.searchIndexer = searchIndexer;
     }
 
     /**
@@ -40,7 +48,7 @@ public class NotificationService {
     public Notification save(Notification notification) {
         log.debug("Request to save Notification : {}", notification);
         Notification result = notificationRepository.save(notification);
-        notificationSearchRepository.index(result);
+        searchIndexer.index(Notification.class, result.getId());
         return result;
     }
 
@@ -53,7 +61,7 @@ public class NotificationService {
     public Notification update(Notification notification) {
         log.debug("Request to update Notification : {}", notification);
         Notification result = notificationRepository.save(notification);
-        notificationSearchRepository.index(result);
+        searchIndexer.index(Notification.class, result.getId());
         return result;
     }
 
@@ -80,7 +88,7 @@ public class NotificationService {
             })
             .map(notificationRepository::save)
             .map(savedNotification -> {
-                notificationSearchRepository.save(savedNotification);
+                searchIndexer.index(Notification.class, savedNotification.getId());
 
                 return savedNotification;
             });
@@ -118,7 +126,7 @@ public class NotificationService {
     public void delete(Long id) {
         log.debug("Request to delete Notification : {}", id);
         notificationRepository.deleteById(id);
-        notificationSearchRepository.deleteById(id);
+        searchIndexer.delete(Notification.class, id);
     }
 
     /**
@@ -0,0 +1,137 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.OverduePatron;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.repository.OverduePatronRepository;
+import com.mycompany.myapp.repository.PatronAccountRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the {@link OverduePatron} table: the number of overdue check outs of each patron and the oldest end time among them.
+ * <p>
+ * A patron is counted again in the transaction of every change to one of its check outs, and by a sweeper for the check outs
+ * that became overdue since its previous run. The sweeper runs on every node and rebuilds the whole table on its first
+ * run. Counts are idempotent: the patrons are locked while they are counted, so a count always sees the changes committed
+ * before it.
+ */
+@Service
+public class OverduePatronService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(OverduePatronService.class);
+
+    private final OverduePatronRepository overduePatronRepository;
+    private final CheckOutRepository checkOutRepository;
+    private final PatronAccountRepository patronAccountRepository;
+    private final ApplicationProperties.Overdue properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private Instant sweptUntil;
+
+    public OverduePatronService(
+        OverduePatronRepository overduePatronRepository,
+        CheckOutRepository checkOutRepository,
+        PatronAccountRepository patronAccountRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.overduePatronRepository = overduePatronRepository;
+        this.checkOutRepository = checkOutRepository;
+        this.patronAccountRepository = patronAccountRepository;
+        this.properties = applicationProperties.getOverdue();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Count the overdue check outs of the patron of a check out again, in the transaction that changed it.
+     *
+     * @param checkOut the changed check out.
+     */
+    @Transactional
+    public void refresh(CheckOut checkOut) {
+        if (checkOut.getPatronAccount() == null || checkOut.getPatronAccount().getCardNumber() == null) {
+            return;
+        }
+        refresh(List.of(checkOut.getPatronAccount().getCardNumber()), Instant.now());
+    }
+
+    /**
+     * Count the patrons of the check outs that became overdue since the previous sweep, or all of them on the first one.
+     */
+    @Scheduled(fixedDelayString = "${application.overdue.sweep-interval-ms:60000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        if (sweptUntil == null) {
+            transactionTemplate.executeWithoutResult(status -> rebuild(now));
+        } else {
+            Instant from = sweptUntil.minusSeconds(properties.getOverlapSeconds());
+            List<String> cardNumbers = checkOutRepository.findCardNumbersDueBetween(from, now);
+            for (int i = 0; i < cardNumbers.size(); i += BATCH_SIZE) {
+                List<String> batch = cardNumbers.subList(i, Math.min(i + BATCH_SIZE, cardNumbers.size()));
+                transactionTemplate.executeWithoutResult(status -> refresh(batch, now));
+            }
+            log.debug("Swept {} patrons with check outs due since {}", cardNumbers.size(), from);
+        }
+        sweptUntil = now;
+    }
+
+    /**
+     * Get the overdue patrons, the oldest end time first.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<OverduePatron> findAll(Pageable pageable) {
+        log.debug("Request to get all OverduePatrons");
+        return overduePatronRepository.findAllByOrderByOldestEndTime(pageable);
+    }
+
+    /**
+     * Get the overdue check outs of a patron.
+     *
+     * @param cardNumber the card number of the patron.
+     * @return the entity, with no overdue check out when the patron has none, or empty when the patron does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OverduePatron> findOne(String cardNumber) {
+        log.debug("Request to get OverduePatron : {}", cardNumber);
+        Optional<OverduePatron> overduePatron = overduePatronRepository.findById(cardNumber);
+        if (overduePatron.isPresent() || !patronAccountRepository.existsById(cardNumber)) {
+            return overduePatron;
+        }
+        return Optional.of(new OverduePatron().cardNumber(cardNumber).overdueCount(0));
+    }
+
+    private void refresh(List<String> cardNumbers, Instant now) {
+        if (cardNumbers.isEmpty()) {
+            return;
+        }
+        List<String> locked = overduePatronRepository.lockPatrons(new TreeSet<>(cardNumbers));
+        if (locked.isEmpty()) {
+            return;
+        }
+        overduePatronRepository.refreshOverdue(locked, now);
+    }
+
+    private void rebuild(Instant now) {
+        List<String> locked = overduePatronRepository.lockAllPatrons();
+        int overdue = overduePatronRepository.refreshAllOverdue(now);
+        log.info("Rebuilt the overdue patrons: {} overdue among {}", overdue, locked.size());
+    }
+}
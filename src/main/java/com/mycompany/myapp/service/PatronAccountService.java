@@ -4,12 +4,14 @@ import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.PatronAccount;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.repository.OverduePatronRepository;
 import com.mycompany.myapp.repository.PatronAccountRepository;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.repository.search.PatronAccountSearchRepository;
-import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
+import com.mycompany.myapp.service.dto.KeysetPage;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.time.Instant;
 import java.util.*;
 import javax.swing.text.html.Option;
@@ -17,6 +19,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -40,30 +43,34 @@ public class PatronAccountService {
 
     private final PasswordEncoder passwordEncoder;
 
-    private final UserSearchRepository userSearchRepository;
-
     private final AuthorityRepository authorityRepository;
 
     private final CacheManager cacheManager;
 
+    private final SearchIndexer searchIndexer;
+
+    private final OverduePatronRepository overduePatronRepository;
+
     public PatronAccountService(
         PatronAccountRepository patronAccountRepository,
         PatronAccountSearchRepository patronAccountSearchRepository,
         UserRepository userRepository,
         UserService userService,
         PasswordEncoder passwordEncoder,
-        UserSearchRepository userSearchRepository,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        SearchIndexer searchIndexer,
+        OverduePatronRepository overduePatronRepository
     ) {
         this.patronAccountRepository = patronAccountRepository;
         this.patronAccountSearchRepository = patronAccountSearchRepository;
         this.userRepository = userRepository;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
-        this.userSearchRepository = userSearchRepository;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.searchIndexer = searchIndexer;
+        this.overduePatronRepository = overduePatronRepository;
     }
 
     /**
@@ -105,7 +112,7 @@ public class PatronAccountService {
         newUser.setAuthorities(authorities);
 
         userRepository.save(newUser);
-        userSearchRepository.save(newUser);
+        searchIndexer.index(User.class, newUser.getId());
         this.clearUserCaches(newUser);
         log.debug("Created Information for User: {}", newUser);
 
@@ -120,7 +127,7 @@ public class PatronAccountService {
         }
         result.setCardNumber(cardNumber);
         patronAccountRepository.save(result);
-        patronAccountSearchRepository.index(result);
+        searchIndexer.index(PatronAccount.class, result.getCardNumber());
         return result;
     }
 
@@ -143,7 +150,7 @@ public class PatronAccountService {
             patronAccount.get().setUser(userService.updateUserPatronAccount(userDTO).get());
         }
         PatronAccount result = patronAccountRepository.save(patronAccount.get());
-        patronAccountSearchRepository.index(result);
+        searchIndexer.index(PatronAccount.class, result.getCardNumber());
         return Optional.of(result);
     }
 
@@ -154,11 +161,11 @@ public class PatronAccountService {
             this.clearUserCaches(user.get());
             user.get().setActivated(activated);
             patronAccount.get().setUser(userRepository.save(user.get()));
-            userSearchRepository.save(user.get());
+            searchIndexer.index(User.class, user.get().getId());
             this.clearUserCaches(user.get());
         }
         PatronAccount result = patronAccountRepository.save(patronAccount.get());
-        patronAccountSearchRepository.index(result);
+        searchIndexer.index(PatronAccount.class, result.getCardNumber());
         return Optional.of(result);
     }
 
@@ -178,7 +185,7 @@ public class PatronAccountService {
             })
             .map(patronAccountRepository::save)
             .map(savedPatronAccount -> {
-                patronAccountSearchRepository.save(savedPatronAccount);
+                searchIndexer.index(PatronAccount.class, savedPatronAccount.getCardNumber());
 
                 return savedPatronAccount;
             });
@@ -199,7 +206,7 @@ public class PatronAccountService {
     @Transactional(readOnly = true)
     public Page<PatronAccount> listPatronNotEnoughCondition(Pageable pageable) {
         log.debug("Request to get listPatronNotEnoughCondition");
-        return patronAccountRepository.listPatronNotEnoughCondition(Instant.now(), pageable);
+        return overduePatronRepository.findAllPatronAccounts(pageable);
     }
 
     /**
@@ -217,6 +224,24 @@ public class PatronAccountService {
         return patronAccountRepository.findAllUser(pageable);
     }
 
+    /**
+     * Get the patronAccounts of the users after a patronAccount, ordered by card number.
+     *
+     * @param cardNumber the card number of the last patronAccount of the previous page, or {@code null} for the first page.
+     * @param size the page size.
+     * @param count flag to count all the patronAccounts of the users.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<PatronAccount> findAllUserAfter(String cardNumber, int size, boolean count) {
+        log.debug("Request to get the PatronAccounts after {}", cardNumber);
+        List<PatronAccount> patronAccounts = patronAccountRepository.findAllUserAfter(
+            cardNumber == null ? "" : cardNumber,
+            PageRequest.of(0, size + 1)
+        );
+        return KeysetPage.of(patronAccounts, size, PatronAccount::getCardNumber, count ? patronAccountRepository.countAllUser() : null);
+    }
+
     /**
      * Get one patronAccount by id.
      *
@@ -244,7 +269,7 @@ public class PatronAccountService {
         log.debug("Request to delete PatronAccount : {}", id);
         Optional<PatronAccount> patronAccount = patronAccountRepository.findById(id);
         patronAccountRepository.deleteById(id);
-        patronAccountSearchRepository.deleteById(id);
+        searchIndexer.delete(PatronAccount.class, id);
         if (patronAccount.isPresent() && patronAccount.get().getUser() != null) userService.deleteUser(
             patronAccount.get().getUser().getLogin()
         );
@@ -4,6 +4,9 @@ import com.mycompany.myapp.domain.Publisher;
 import com.mycompany.myapp.repository.PublisherRepository;
 import com.mycompany.myapp.repository.search.PublisherSearchRepository;
 import com.mycompany.myapp.service.redis.PublisherRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import com.mycompany.myapp.service.redis.SingleFlightLoader;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import io.undertow.util.BadRequestException;
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -27,15 +31,24 @@ public class PublisherService {
 
     private final PublisherSearchRepository publisherSearchRepository;
     private final PublisherRedisService publisherRedisService;
+    private final SingleFlightLoader singleFlightLoader;
+    private final SearchIndexer searchIndexer;
+    private final ResourceVersionService resourceVersionService;
 
     public PublisherService(
         PublisherRepository publisherRepository,
         PublisherSearchRepository publisherSearchRepository,
-        PublisherRedisService publisherRedisService
+        PublisherRedisService publisherRedisService,
+        SingleFlightLoader singleFlightLoader,
+        SearchIndexer searchIndexer,
+        ResourceVersionService resourceVersionService
     ) {
         this.publisherRepository = publisherRepository;
         this.publisherSearchRepository = publisherSearchRepository;
         this.publisherRedisService = publisherRedisService;
+        this.singleFlightLoader = singleFlightLoader;
+        this.searchIndexer = searchIndexer;
+        this.resourceVersionService = resourceVersionService;
     }
 
     /**
@@ -48,8 +61,9 @@ public class PublisherService {
         log.debug("Request to save Publisher : {}", publisher);
         try {
             Publisher result = publisherRepository.save(publisher);
-            publisherSearchRepository.index(result);
+            searchIndexer.index(Publisher.class, result.getId());
             publisherRedisService.deletePublisherFromRedis();
+            resourceVersionService.bump(ResourceVersionService.PUBLISHERS);
             return result;
         } catch (Exception e) {
             throw new BadRequestException("Save publisher not successfully!");
@@ -66,8 +80,9 @@ public class PublisherService {
         log.debug("Request to update Publisher : {}", publisher);
         try {
             Publisher result = publisherRepository.save(publisher);
-            publisherSearchRepository.index(result);
+            searchIndexer.index(Publisher.class, result.getId());
             publisherRedisService.deletePublisherFromRedis();
+            resourceVersionService.bump(ResourceVersionService.PUBLISHERS);
             return result;
         } catch (Exception e) {
             throw new BadRequestException("Update publisher not successfully!");
@@ -94,7 +109,9 @@ public class PublisherService {
             })
             .map(publisherRepository::save)
             .map(savedPublisher -> {
-                publisherSearchRepository.save(savedPublisher);
+                searchIndexer.index(Publisher.class, savedPublisher.getId());
+                publisherRedisService.deletePublisherFromRedis();
+                resourceVersionService.bump(ResourceVersionService.PUBLISHERS);
 
                 return savedPublisher;
             });
@@ -106,16 +123,21 @@ public class PublisherService {
      * @param pageable the pagination information.
      * @return the list of entities.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Publisher> findAll() {
         log.debug("Request to get all Publishers");
-        if (publisherRedisService.keyExists()) {
-            System.out.println("List publisher");
-            return publisherRedisService.getPublisherFromRedis();
-        }
-        List<Publisher> publishers = publisherRepository.findAll();
-        if (!publishers.isEmpty()) publisherRedisService.savePublisherToRedis(publishers);
-        return publishers;
+        return singleFlightLoader.load(
+            "Publisher",
+            () -> {
+                List<Publisher> cachedPublishers = publisherRedisService.getPublisherFromRedis();
+                return cachedPublishers == null || cachedPublishers.isEmpty() ? null : cachedPublishers;
+            },
+            () -> {
+                List<Publisher> publishers = publisherRepository.findAll();
+                if (!publishers.isEmpty()) publisherRedisService.savePublisherToRedis(publishers);
+                return publishers;
+            }
+        );
     }
 
     /**
@@ -139,8 +161,9 @@ public class PublisherService {
         log.debug("Request to delete Publisher : {}", id);
         try {
             publisherRepository.deleteById(id);
-            publisherSearchRepository.deleteById(id);
+            searchIndexer.delete(Publisher.class, id);
             publisherRedisService.deletePublisherFromRedis();
+            resourceVersionService.bump(ResourceVersionService.PUBLISHERS);
         } catch (Exception e) {
             throw new BadRequestException("Delete publisher not successfully!");
         }
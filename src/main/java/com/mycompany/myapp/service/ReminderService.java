@@ -0,0 +1,146 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.service.dto.InfoCheckOut;
+import com.mycompany.myapp.service.redis.ReminderRedisService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Due date reminders of the confirmed check outs.
+ * <p>
+ * Each check out gets one reminder per configured offset from its end time: negative offsets remind the patron before the
+ * book is due, the others are overdue notices. Reminders are kept in {@link ReminderRedisService} and sent by a polling
+ * worker running on every node; claims are leased, so a reminder is sent by one node only and is retried if that node
+ * stops before sending it. The check out is read again before sending, and reminders of returned check outs are dropped.
+ */
+@Service
+public class ReminderService {
+
+    private final Logger log = LoggerFactory.getLogger(ReminderService.class);
+
+    private final ReminderRedisService reminderRedisService;
+    private final CheckOutRepository checkOutRepository;
+    private final MailService mailService;
+    private final ApplicationProperties.Reminder properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReminderService(
+        ReminderRedisService reminderRedisService,
+        CheckOutRepository checkOutRepository,
+        MailService mailService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.reminderRedisService = reminderRedisService;
+        this.checkOutRepository = checkOutRepository;
+        this.mailService = mailService;
+        this.properties = applicationProperties.getReminder();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Schedule the reminders of a check out, moving the ones already scheduled to its current end time. Reminders before the
+     * due date that would already be late are skipped.
+     *
+     * @param checkOut the confirmed check out.
+     */
+    public void schedule(CheckOut checkOut) {
+        log.debug("Request to schedule reminders of CheckOut : {}", checkOut.getId());
+        Instant now = Instant.now();
+        Map<String, Long> dueTimes = new LinkedHashMap<>();
+        for (Duration offset : properties.getOffsets()) {
+            Instant dueTime = checkOut.getEndTime().plus(offset);
+            if (offset.isNegative() && dueTime.isBefore(now)) {
+                continue;
+            }
+            dueTimes.put(member(checkOut.getId(), offset), dueTime.toEpochMilli());
+        }
+        reminderRedisService.schedule(dueTimes);
+    }
+
+    /**
+     * Cancel the reminders of a check out.
+     *
+     * @param checkOutId the id of the check out.
+     */
+    public void cancel(Long checkOutId) {
+        log.debug("Request to cancel reminders of CheckOut : {}", checkOutId);
+        List<String> members = new ArrayList<>();
+        for (Duration offset : properties.getOffsets()) {
+            members.add(member(checkOutId, offset));
+        }
+        reminderRedisService.cancel(members);
+    }
+
+    /**
+     * Claim and send the due reminders, batch after batch, until none is left.
+     */
+    @Scheduled(fixedDelayString = "${application.reminder.poll-interval-ms:10000}")
+    public void sendDueReminders() {
+        int batchSize = properties.getBatchSize();
+        List<String> claimed;
+        do {
+            long now = System.currentTimeMillis();
+            long leaseUntil = now + properties.getLeaseSeconds() * 1000;
+            claimed = reminderRedisService.claim(now, batchSize, leaseUntil);
+            for (String member : claimed) {
+                try {
+                    send(member);
+                    reminderRedisService.complete(member, leaseUntil);
+                } catch (Exception e) {
+                    // left in the queue, claimed again once the lease runs out
+                    log.warn("Reminder {} could not be sent: {}", member, e.getMessage());
+                }
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    private void send(String member) {
+        int separator = member.indexOf(':');
+        Long checkOutId = Long.parseLong(member.substring(0, separator));
+        Duration offset = Duration.ofSeconds(Long.parseLong(member.substring(separator + 1)));
+        Optional<InfoCheckOut> infoCheckOut = transactionTemplate.execute(status ->
+            checkOutRepository
+                .findById(checkOutId)
+                .filter(checkOut -> Status.Confirmed.equals(checkOut.getStatus()) && !Boolean.TRUE.equals(checkOut.getIsReturned()))
+                .map(ReminderService::toInfoCheckOut)
+        );
+        if (infoCheckOut == null || infoCheckOut.isEmpty()) {
+            log.debug("Dropping reminder {} of a returned or deleted check out", member);
+            return;
+        }
+        if (offset.isNegative()) {
+            mailService.sendReturnBook(infoCheckOut.get());
+        } else {
+            mailService.sendOverdueBook(infoCheckOut.get());
+        }
+    }
+
+    private static InfoCheckOut toInfoCheckOut(CheckOut checkOut) {
+        InfoCheckOut infoCheckOut = new InfoCheckOut();
+        infoCheckOut.setEmail(checkOut.getPatronAccount().getUser().getEmail());
+        infoCheckOut.setUsername(checkOut.getPatronAccount().getUser().getLogin());
+        infoCheckOut.setBookTitle(checkOut.getBookCopy().getBook().getTitle());
+        return infoCheckOut;
+    }
+
+    private static String member(Long checkOutId, Duration offset) {
+        return checkOutId + ":" + offset.getSeconds();
+    }
+}
@@ -1,12 +1,30 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.web.rest.S3Resource;
 import io.undertow.util.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
@@ -14,8 +32,22 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
+/**
+ * Stores uploaded files in S3.
+ * <p>
+ * Files are streamed from the multipart request: a file that fits in one part is stored with a single put, larger files
+ * are sent as an S3 multipart upload whose parts are uploaded in parallel. An upload holds at most
+ * {@code application.s3.part-concurrency} part buffers of {@code application.s3.part-size}, whatever the size of the file.
+ * The SHA-256 of each part is computed while it is uploaded and checked by S3.
+ */
 @Service
 public class S3Service {
 
@@ -25,38 +57,194 @@ public class S3Service {
     private final String bucketName;
     private final String accessKey;
     private final String secretKey;
+    private final ApplicationProperties.S3 properties;
+    private final ExecutorService partUploader;
 
-    public S3Service(Environment env) {
+    public S3Service(Environment env, ApplicationProperties applicationProperties) {
         this.region = env.getProperty("aws-s3.region");
         this.bucketName = env.getProperty("aws-s3.bucketName");
         this.accessKey = env.getProperty("aws-s3.accessKey");
         this.secretKey = env.getProperty("aws-s3.secretKey");
+        this.properties = applicationProperties.getS3();
 
-        this.s3Client =
-            S3Client
-                .builder()
-                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(this.accessKey, this.secretKey)))
-                .region(Region.of(this.region))
-                .build();
+        S3ClientBuilder builder = S3Client
+            .builder()
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(this.accessKey, this.secretKey)))
+            .region(Region.of(this.region));
+        // an S3 compatible store, e.g. MinIO
+        String endpoint = env.getProperty("aws-s3.endpoint");
+        if (endpoint != null && !endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        this.s3Client = builder.build();
+        this.partUploader = Executors.newFixedThreadPool(properties.getUploadThreads(), new CustomizableThreadFactory("s3-upload-"));
     }
 
     public String saveS3(MultipartFile file) throws BadRequestException {
         log.debug("Request to S3 : {}", file);
-        try {
+        try (InputStream in = file.getInputStream()) {
             String originalFileName = file.getOriginalFilename() == null ? "" : file.getOriginalFilename();
             String uuid = UUID.randomUUID().toString();
             String fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
             String newFileName = uuid + fileExtension;
-            PutObjectRequest request = PutObjectRequest.builder().bucket(this.bucketName).key(newFileName).build();
-
-            s3Client.putObject(request, RequestBody.fromBytes(file.getBytes()));
 
-            Region awsRegion = Region.of(this.region);
-            URL imageUrl = s3Client.utilities().getUrl(builder -> builder.bucket(this.bucketName).region(awsRegion).key(newFileName));
-            return imageUrl.toString();
+            upload(newFileName, file.getContentType(), in);
+            return getUrl(newFileName);
         } catch (Exception e) {
             log.error(e.getMessage());
             throw new BadRequestException("System error please try again in a few minutes");
         }
     }
+
+    public String getUrl(String key) {
+        Region awsRegion = Region.of(this.region);
+        URL url = s3Client.utilities().getUrl(builder -> builder.bucket(this.bucketName).region(awsRegion).key(key));
+        return url.toString();
+    }
+
+    /**
+     * The key of an object stored by this service, from its URL.
+     */
+    public String getKey(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    public InputStream download(String key) {
+        return s3Client.getObject(builder -> builder.bucket(this.bucketName).key(key));
+    }
+
+    public void store(String key, byte[] content, String contentType) {
+        PutObjectRequest request = PutObjectRequest
+            .builder()
+            .bucket(this.bucketName)
+            .key(key)
+            .contentType(contentType)
+            .checksumSHA256(sha256(content, content.length))
+            .build();
+        s3Client.putObject(request, RequestBody.fromInputStream(new ByteArrayInputStream(content), content.length));
+    }
+
+    public boolean exists(String key) {
+        try {
+            s3Client.headObject(builder -> builder.bucket(this.bucketName).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        partUploader.shutdown();
+    }
+
+    private void upload(String key, String contentType, InputStream in) throws IOException, InterruptedException, ExecutionException {
+        PartBuffers buffers = new PartBuffers((int) properties.getPartSize().toBytes(), properties.getPartConcurrency());
+        byte[] buffer = buffers.take();
+        int length = in.readNBytes(buffer, 0, buffer.length);
+        if (length < buffer.length) {
+            PutObjectRequest request = PutObjectRequest
+                .builder()
+                .bucket(this.bucketName)
+                .key(key)
+                .contentType(contentType)
+                .checksumSHA256(sha256(buffer, length))
+                .build();
+            s3Client.putObject(request, RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length));
+            return;
+        }
+
+        String uploadId = s3Client
+            .createMultipartUpload(builder ->
+                builder.bucket(this.bucketName).key(key).contentType(contentType).checksumAlgorithm(ChecksumAlgorithm.SHA256)
+            )
+            .uploadId();
+        List<Future<CompletedPart>> parts = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            while (length > 0) {
+                parts.add(uploadPart(key, uploadId, partNumber++, buffer, length, buffers));
+                // waits for a part upload to give its buffer back when all of them are in use
+                buffer = buffers.take();
+                length = in.readNBytes(buffer, 0, buffer.length);
+            }
+            List<CompletedPart> completedParts = new ArrayList<>(parts.size());
+            for (Future<CompletedPart> part : parts) {
+                completedParts.add(part.get());
+            }
+            CompleteMultipartUploadResponse response = s3Client.completeMultipartUpload(builder ->
+                builder.bucket(this.bucketName).key(key).uploadId(uploadId).multipartUpload(upload -> upload.parts(completedParts))
+            );
+            log.debug("Uploaded {} in {} parts, checksum {}", key, completedParts.size(), response.checksumSHA256());
+        } catch (IOException | InterruptedException | ExecutionException | RuntimeException e) {
+            parts.forEach(part -> part.cancel(true));
+            s3Client.abortMultipartUpload(builder -> builder.bucket(this.bucketName).key(key).uploadId(uploadId));
+            throw e;
+        }
+    }
+
+    private Future<CompletedPart> uploadPart(String key, String uploadId, int partNumber, byte[] buffer, int length, PartBuffers buffers) {
+        return partUploader.submit(() -> {
+            try {
+                String checksum = sha256(buffer, length);
+                UploadPartRequest request = UploadPartRequest
+                    .builder()
+                    .bucket(this.bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .checksumSHA256(checksum)
+                    .build();
+                String eTag = s3Client
+                    .uploadPart(request, RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length))
+                    .eTag();
+                return CompletedPart.builder().partNumber(partNumber).eTag(eTag).checksumSHA256(checksum).build();
+            } finally {
+                buffers.release(buffer);
+            }
+        });
+    }
+
+    private static String sha256(byte[] buffer, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(buffer, 0, length);
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The part buffers of one upload, allocated on demand up to a limit and reused.
+     */
+    private static final class PartBuffers {
+
+        private final int partSize;
+        private final int limit;
+        private final BlockingQueue<byte[]> free;
+        private int allocated;
+
+        private PartBuffers(int partSize, int limit) {
+            this.partSize = partSize;
+            this.limit = limit;
+            this.free = new ArrayBlockingQueue<>(limit);
+        }
+
+        private byte[] take() throws InterruptedException {
+            byte[] buffer = free.poll();
+            if (buffer != null) {
+                return buffer;
+            }
+            if (allocated < limit) {
+                allocated++;
+                return new byte[partSize];
+            }
+            return free.take();
+        }
+
+        private void release(byte[] buffer) {
+            free.offer(buffer);
+        }
+    }
 }
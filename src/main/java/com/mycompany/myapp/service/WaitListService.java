@@ -5,6 +5,7 @@ import com.mycompany.myapp.repository.WaitListRepository;
 import com.mycompany.myapp.repository.search.WaitListSearchRepository;
 import com.mycompany.myapp.service.dto.InfoCheckOut;
 import com.mycompany.myapp.service.redis.WaitListRedisService;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import io.undertow.util.BadRequestException;
 import java.time.Instant;
 import java.util.List;
@@ -30,17 +31,20 @@ public class WaitListService {
     private final WaitListSearchRepository waitListSearchRepository;
     private final WaitListRedisService waitListRedisService;
     private final MailService mailService;
+    private final SearchIndexer searchIndexer;
 
     public WaitListService(
         WaitListRepository waitListRepository,
         WaitListSearchRepository waitListSearchRepository,
         WaitListRedisService waitListRedisService,
-        MailService mailService
+        MailService mailService,
+        SearchIndexer searchIndexer
     ) {
         this.waitListRepository = waitListRepository;
         this.waitListSearchRepository = waitListSearchRepository;
         this.waitListRedisService = waitListRedisService;
         this.mailService = mailService;
+        this.searchIndexer = searchIndexer;
     }
 
     /**
@@ -54,6 +58,7 @@ public class WaitListService {
         try {
             waitList.setCreatAt(Instant.now());
             WaitList result = waitListRepository.save(waitList);
+            searchIndexer.index(WaitList.class, result.getId());
             if (result.getBook() != null && result.getPatronAccount() != null) waitListRedisService.add(
                 result.getBook(),
                 result.getPatronAccount()
@@ -73,6 +78,7 @@ public class WaitListService {
     public WaitList update(WaitList waitList) {
         log.debug("Request to update WaitList : {}", waitList);
         WaitList result = waitListRepository.save(waitList);
+        searchIndexer.index(WaitList.class, result.getId());
         return result;
     }
 
@@ -80,10 +86,7 @@ public class WaitListService {
         List<InfoCheckOut> infoCheckOutList = waitListRedisService.getAll(bookId);
         System.out.println("Notification running");
         if (!infoCheckOutList.isEmpty()) {
-            for (InfoCheckOut infoCheckOut : infoCheckOutList) {
-                System.out.println(infoCheckOut.getEmail());
-                mailService.sendBookAvailable(infoCheckOut);
-            }
+            mailService.sendBookAvailable(infoCheckOutList);
             waitListRedisService.delete(bookId);
         }
     }
@@ -108,7 +111,7 @@ public class WaitListService {
             })
             .map(waitListRepository::save)
             .map(savedWaitList -> {
-                waitListSearchRepository.save(savedWaitList);
+                searchIndexer.index(WaitList.class, savedWaitList.getId());
 
                 return savedWaitList;
             });
@@ -155,12 +158,13 @@ public class WaitListService {
     public void delete(Long id) {
         log.debug("Request to delete WaitList : {}", id);
         waitListRepository.deleteById(id);
-        waitListSearchRepository.deleteById(id);
+        searchIndexer.delete(WaitList.class, id);
     }
 
     public void deleteAll() {
         log.debug("Request to delete all table WaitList");
         waitListRepository.deleteAll();
+        searchIndexer.deleteAll(WaitList.class);
     }
 
     /**
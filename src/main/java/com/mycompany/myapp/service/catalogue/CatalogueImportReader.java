@@ -0,0 +1,204 @@
+package com.mycompany.myapp.service.catalogue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.domain.enumeration.CatalogueImportFormat;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams the rows of a catalogue import file, one line at a time. Blank lines are ignored.
+ * <p>
+ * A {@link CatalogueImportFormat#JSONL} file holds one {@link CatalogueImportRow} object per line. A
+ * {@link CatalogueImportFormat#CSV} file is separated by {@code ;} like the Liquibase fake data, starts with a header naming
+ * its columns ({@code title}, {@code category} and any of {@code description}, {@code image}, {@code authors},
+ * {@code publisher}, {@code year_published}, {@code amount}, {@code copy_image}, {@code copy_description}) and has one book
+ * per line: {@code authors} are separated by {@code |}, and the book has one copy when {@code publisher} is set. Values may be
+ * quoted with {@code "}, but cannot span lines.
+ */
+public class CatalogueImportReader implements Closeable {
+
+    private static final char SEPARATOR = ';';
+    private static final String AUTHOR_SEPARATOR = "\\|";
+
+    private final BufferedReader reader;
+    private final CatalogueImportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long line;
+
+    public CatalogueImportReader(InputStream inputStream, CatalogueImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == CatalogueImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    private void readHeader() throws IOException {
+        String header = nextLine();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV file has no header");
+        }
+        List<String> names = split(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("category")) {
+            throw new IllegalArgumentException("The CSV header must have title and category columns");
+        }
+    }
+
+    /**
+     * Skip rows without parsing them.
+     *
+     * @param rows the number of rows to skip.
+     * @return the number of rows skipped, less than {@code rows} at the end of the file.
+     */
+    public long skip(long rows) throws IOException {
+        long skipped = 0;
+        while (skipped < rows && nextLine() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * Read the next row. A row that cannot be parsed is returned with its {@link CatalogueImportRow#getError() error}.
+     *
+     * @return the row, or {@code null} at the end of the file.
+     */
+    public CatalogueImportRow next() throws IOException {
+        String text = nextLine();
+        if (text == null) {
+            return null;
+        }
+        CatalogueImportRow row;
+        try {
+            row = format == CatalogueImportFormat.CSV ? parseCsv(text) : parseJson(text);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            row = new CatalogueImportRow();
+            row.setError(e.getMessage());
+        }
+        row.setLine(line);
+        return row;
+    }
+
+    private String nextLine() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            if (line++ == 0 && text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+        } while (text.isBlank());
+        return text;
+    }
+
+    private CatalogueImportRow parseJson(String text) throws JsonProcessingException {
+        CatalogueImportRow row = objectMapper.readValue(text, CatalogueImportRow.class);
+        if (row == null) {
+            throw new IllegalArgumentException("Not a JSON object");
+        }
+        return row;
+    }
+
+    private CatalogueImportRow parseCsv(String text) {
+        List<String> values = split(text);
+        CatalogueImportRow row = new CatalogueImportRow();
+        row.setTitle(value(values, "title"));
+        row.setDescription(value(values, "description"));
+        row.setImage(value(values, "image"));
+        row.setCategory(value(values, "category"));
+        String authors = value(values, "authors");
+        if (authors != null) {
+            for (String author : authors.split(AUTHOR_SEPARATOR)) {
+                if (!author.isBlank()) {
+                    row.getAuthors().add(author);
+                }
+            }
+        }
+        String publisher = value(values, "publisher");
+        if (publisher != null) {
+            CatalogueImportRow.Copy copy = new CatalogueImportRow.Copy();
+            copy.setPublisher(publisher);
+            copy.setYearPublished(intValue(values, "year_published"));
+            copy.setAmount(intValue(values, "amount"));
+            copy.setImage(value(values, "copy_image"));
+            copy.setDescription(value(values, "copy_description"));
+            row.getCopies().add(copy);
+        }
+        return row;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size() || values.get(index).isBlank()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private Integer intValue(List<String> values, String column) {
+        String value = value(values, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static List<String> split(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    // an escaped quote
+                    value.append(c);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
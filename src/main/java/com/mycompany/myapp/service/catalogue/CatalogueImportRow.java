@@ -0,0 +1,155 @@
+package com.mycompany.myapp.service.catalogue;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A row of a catalogue import: a book, its authors and its copies. Categories, authors and publishers are given by name.
+ */
+public class CatalogueImportRow {
+
+    @JsonIgnore
+    private long line;
+
+    @JsonIgnore
+    private String error;
+
+    private String title;
+
+    private String description;
+
+    private String image;
+
+    private String category;
+
+    private List<String> authors = new ArrayList<>();
+
+    private List<Copy> copies = new ArrayList<>();
+
+    /**
+     * @return the line of the row in the file, starting at 1.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    /**
+     * @return why the row could not be parsed, or {@code null}.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public List<String> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<String> authors) {
+        this.authors = authors == null ? new ArrayList<>() : authors;
+    }
+
+    public List<Copy> getCopies() {
+        return copies;
+    }
+
+    public void setCopies(List<Copy> copies) {
+        this.copies = copies == null ? new ArrayList<>() : copies;
+    }
+
+    /**
+     * A copy of the book, as published by a publisher in a year.
+     */
+    public static class Copy {
+
+        private String publisher;
+
+        private Integer yearPublished;
+
+        private Integer amount;
+
+        private String image;
+
+        private String description;
+
+        public String getPublisher() {
+            return publisher;
+        }
+
+        public void setPublisher(String publisher) {
+            this.publisher = publisher;
+        }
+
+        public Integer getYearPublished() {
+            return yearPublished;
+        }
+
+        public void setYearPublished(Integer yearPublished) {
+            this.yearPublished = yearPublished;
+        }
+
+        public Integer getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Integer amount) {
+            this.amount = amount;
+        }
+
+        public String getImage() {
+            return image;
+        }
+
+        public void setImage(String image) {
+            this.image = image;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.mycompany.myapp.service.catalogue;
+
+import com.mycompany.myapp.domain.CatalogueImport;
+import com.mycompany.myapp.domain.enumeration.CatalogueImportStatus;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Imports a catalogue file from the command line, then exits.
+ * <p>
+ * Run the application with {@code --import-catalogue=books.jsonl} (or a {@code .csv} file), and add
+ * {@code --import-resume=<id>} to resume an import that failed or was interrupted, with the same file.
+ */
+@Component
+public class CatalogueImportRunner implements ApplicationRunner {
+
+    private static final String OPTION = "import-catalogue";
+    private static final String RESUME_OPTION = "import-resume";
+
+    private final Logger log = LoggerFactory.getLogger(CatalogueImportRunner.class);
+
+    private final CatalogueImportService catalogueImportService;
+    private final ConfigurableApplicationContext context;
+
+    public CatalogueImportRunner(CatalogueImportService catalogueImportService, ConfigurableApplicationContext context) {
+        this.catalogueImportService = catalogueImportService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        Path file = Paths.get(args.getOptionValues(OPTION).get(0));
+        CatalogueImport catalogueImport;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            if (args.containsOption(RESUME_OPTION)) {
+                catalogueImport = catalogueImportService.resume(Long.valueOf(args.getOptionValues(RESUME_OPTION).get(0)), inputStream);
+            } else {
+                String fileName = file.getFileName().toString();
+                catalogueImport = catalogueImportService.importFile(inputStream, fileName, CatalogueImportService.formatOf(fileName));
+            }
+        }
+        boolean succeeded = catalogueImport.getStatus() == CatalogueImportStatus.COMPLETED;
+        log.info("Catalogue import {} {}, exiting", catalogueImport.getId(), succeeded ? "completed" : "failed");
+        System.exit(SpringApplication.exit(context, () -> succeeded ? 0 : 1));
+    }
+}
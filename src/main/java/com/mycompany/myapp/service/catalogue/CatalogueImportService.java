@@ -0,0 +1,455 @@
+package com.mycompany.myapp.service.catalogue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.CatalogueImport;
+import com.mycompany.myapp.domain.enumeration.CatalogueImportFormat;
+import com.mycompany.myapp.domain.enumeration.CatalogueImportStatus;
+import com.mycompany.myapp.repository.AuthorRepository;
+import com.mycompany.myapp.repository.BookCopyRepository;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.repository.CatalogueImportRepository;
+import com.mycompany.myapp.repository.CategoryRepository;
+import com.mycompany.myapp.repository.IdAndName;
+import com.mycompany.myapp.repository.PublisherRepository;
+import com.mycompany.myapp.service.redis.BookRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import com.mycompany.myapp.service.search.SearchIndexer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk import of books with their authors and copies, streamed from a {@link CatalogueImportReader}.
+ * <p>
+ * Categories and publishers are resolved by name through maps loaded once per run; authors too, the missing ones being
+ * created. Rows are committed in chunks of {@code chunk-size}, each chunk inserted in JDBC batches by
+ * {@link BookRepository#insertInBatches(List)} and recording the number of rows read in the same transaction, so an
+ * interrupted import resumes with the same file after its last committed chunk. Invalid rows are counted and skipped.
+ * <p>
+ * Nothing is indexed or invalidated per row: at the end of a run, the imported books, copies and authors are bulk indexed and
+ * the cached pages of the categories that received books are invalidated once. The entities of an import all get ids above
+ * its own, taken earlier from the same sequence, so the search pass reads the ids after it; entities created by others in the
+ * meantime are indexed again, which is harmless.
+ */
+@Service
+public class CatalogueImportService {
+
+    private static final int MAX_LENGTH = 255;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(CatalogueImportService.class);
+
+    private final CatalogueImportRepository catalogueImportRepository;
+    private final BookRepository bookRepository;
+    private final BookCopyRepository bookCopyRepository;
+    private final AuthorRepository authorRepository;
+    private final CategoryRepository categoryRepository;
+    private final PublisherRepository publisherRepository;
+    private final SearchIndexer searchIndexer;
+    private final BookRedisService bookRedisService;
+    private final ResourceVersionService resourceVersionService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationProperties.CatalogueImport properties;
+    private final TransactionTemplate transactionTemplate;
+    /** The imports running on this node. */
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public CatalogueImportService(
+        CatalogueImportRepository catalogueImportRepository,
+        BookRepository bookRepository,
+        BookCopyRepository bookCopyRepository,
+        AuthorRepository authorRepository,
+        CategoryRepository categoryRepository,
+        PublisherRepository publisherRepository,
+        SearchIndexer searchIndexer,
+        BookRedisService bookRedisService,
+        ResourceVersionService resourceVersionService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.catalogueImportRepository = catalogueImportRepository;
+        this.bookRepository = bookRepository;
+        this.bookCopyRepository = bookCopyRepository;
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
+        this.publisherRepository = publisherRepository;
+        this.searchIndexer = searchIndexer;
+        this.bookRedisService = bookRedisService;
+        this.resourceVersionService = resourceVersionService;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getCatalogueImport();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Guess the format of a file from its extension.
+     *
+     * @param fileName the name of the file.
+     * @return the format.
+     * @throws IllegalArgumentException if the extension is not {@code .csv}, {@code .jsonl} or {@code .ndjson}.
+     */
+    public static CatalogueImportFormat formatOf(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CatalogueImportFormat.CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return CatalogueImportFormat.JSONL;
+        }
+        throw new IllegalArgumentException("Unknown catalogue import format: " + fileName);
+    }
+
+    /**
+     * Get one catalogue import by id.
+     *
+     * @param id the id of the import.
+     * @return the import, with its progress.
+     */
+    public Optional<CatalogueImport> findOne(Long id) {
+        return catalogueImportRepository.findById(id);
+    }
+
+    /**
+     * Import a file in the calling thread.
+     *
+     * @param inputStream the content of the file, closed once read.
+     * @param fileName the name of the file.
+     * @param format the format of the file.
+     * @return the import, completed or failed.
+     */
+    public CatalogueImport importFile(InputStream inputStream, String fileName, CatalogueImportFormat format) {
+        Instant now = Instant.now();
+        CatalogueImport catalogueImport = catalogueImportRepository.save(
+            new CatalogueImport()
+                .fileName(fileName)
+                .format(format)
+                .status(CatalogueImportStatus.RUNNING)
+                .rowsRead(0L)
+                .rowsRejected(0L)
+                .booksImported(0L)
+                .copiesImported(0L)
+                .authorsCreated(0L)
+                .createdAt(now)
+                .updatedAt(now)
+                .runStartedAt(now)
+                .runStartRow(0L)
+        );
+        return run(catalogueImport, inputStream);
+    }
+
+    /**
+     * Resume an import that failed or was interrupted, in the calling thread.
+     *
+     * @param id the id of the import.
+     * @param inputStream the content of the same file as the first run, closed once read. Its rows already read are skipped.
+     * @return the import, completed or failed.
+     * @throws IllegalArgumentException if there is no such import or it is completed.
+     * @throws IllegalStateException if the import is running.
+     */
+    public CatalogueImport resume(Long id, InputStream inputStream) {
+        CatalogueImport catalogueImport = catalogueImportRepository
+            .findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown catalogue import: " + id));
+        if (catalogueImport.getStatus() == CatalogueImportStatus.COMPLETED) {
+            throw new IllegalArgumentException("Catalogue import " + id + " is completed");
+        }
+        if (running.contains(id)) {
+            throw new IllegalStateException("Catalogue import " + id + " is running");
+        }
+        Instant now = Instant.now();
+        catalogueImport =
+            catalogueImportRepository.save(
+                catalogueImport
+                    .status(CatalogueImportStatus.RUNNING)
+                    .updatedAt(now)
+                    .runStartedAt(now)
+                    .runStartRow(catalogueImport.getRowsRead())
+                    .finishedAt(null)
+            );
+        return run(catalogueImport, inputStream);
+    }
+
+    private CatalogueImport run(CatalogueImport catalogueImport, InputStream inputStream) {
+        Long id = catalogueImport.getId();
+        if (!running.add(id)) {
+            throw new IllegalStateException("Catalogue import " + id + " is running");
+        }
+        Set<Long> categoryIds = new HashSet<>();
+        try (CatalogueImportReader reader = new CatalogueImportReader(inputStream, catalogueImport.getFormat(), objectMapper)) {
+            log.info("Catalogue import {} of {} started after row {}", id, catalogueImport.getFileName(), catalogueImport.getRowsRead());
+            if (reader.skip(catalogueImport.getRowsRead()) < catalogueImport.getRowsRead()) {
+                throw new IllegalArgumentException("The file has fewer rows than already imported");
+            }
+            Lookups lookups = loadLookups();
+            List<CatalogueImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+            CatalogueImportRow row = reader.next();
+            while (row != null) {
+                chunk.add(row);
+                row = reader.next();
+                if (chunk.size() == properties.getChunkSize() || row == null) {
+                    importChunk(catalogueImport, chunk, lookups, categoryIds);
+                    chunk.clear();
+                }
+            }
+            catalogueImport =
+                catalogueImportRepository.save(
+                    catalogueImport.status(CatalogueImportStatus.COMPLETED).updatedAt(Instant.now()).finishedAt(Instant.now())
+                );
+        } catch (IOException | RuntimeException e) {
+            log.error("Catalogue import {} failed", id, e);
+            catalogueImport = fail(id, e);
+        } finally {
+            running.remove(id);
+        }
+        afterImport(catalogueImport, categoryIds);
+        log.info(
+            "Catalogue import {} {}: {} rows read, {} rejected, {} books, {} copies, {} rows/s",
+            id,
+            catalogueImport.getStatus(),
+            catalogueImport.getRowsRead(),
+            catalogueImport.getRowsRejected(),
+            catalogueImport.getBooksImported(),
+            catalogueImport.getCopiesImported(),
+            Math.round(catalogueImport.getRowsPerSecond())
+        );
+        return catalogueImport;
+    }
+
+    /**
+     * Mark an import failed, from its last committed chunk: the counters of the chunk that failed were rolled back with it.
+     */
+    private CatalogueImport fail(Long id, Exception e) {
+        Instant now = Instant.now();
+        CatalogueImport catalogueImport = catalogueImportRepository.findById(id).orElseThrow();
+        return catalogueImportRepository.save(
+            catalogueImport.status(CatalogueImportStatus.FAILED).updatedAt(now).finishedAt(now).lastError(truncate(e.getMessage()))
+        );
+    }
+
+    private Lookups loadLookups() {
+        Lookups lookups = new Lookups();
+        load(lookups.categories, categoryRepository.findAllIdsAndNames());
+        load(lookups.publishers, publisherRepository.findAllIdsAndNames());
+        load(lookups.authors, authorRepository.findAllIdsAndNames());
+        return lookups;
+    }
+
+    private static void load(Map<String, Long> lookup, List<IdAndName> entities) {
+        // the oldest entity wins when names are duplicated
+        for (IdAndName entity : entities) {
+            lookup.putIfAbsent(key(entity.getName()), entity.getId());
+        }
+    }
+
+    private void importChunk(CatalogueImport catalogueImport, List<CatalogueImportRow> rows, Lookups lookups, Set<Long> categoryIds) {
+        Set<Long> chunkCategoryIds = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Book> books = new ArrayList<>(rows.size());
+            for (CatalogueImportRow row : rows) {
+                String error = row.getError() != null ? row.getError() : validate(row, lookups);
+                if (error != null) {
+                    log.warn("Catalogue import {}: row at line {} rejected: {}", catalogueImport.getId(), row.getLine(), error);
+                    catalogueImport
+                        .rowsRejected(catalogueImport.getRowsRejected() + 1)
+                        .lastError(truncate("Line " + row.getLine() + ": " + error));
+                    continue;
+                }
+                Long categoryId = lookups.categories.get(key(row.getCategory()));
+                Book book = new Book()
+                    .title(row.getTitle().trim())
+                    .description(row.getDescription())
+                    .image(row.getImage())
+                    .category(categoryRepository.getReferenceById(categoryId));
+                for (String name : authorNames(row)) {
+                    book.getAuthors().add(author(name, lookups, catalogueImport));
+                }
+                for (CatalogueImportRow.Copy copy : row.getCopies()) {
+                    book
+                        .getBookCopies()
+                        .add(
+                            new BookCopy()
+                                .yearPublished(copy.getYearPublished())
+                                .amount(copy.getAmount())
+                                .image(copy.getImage())
+                                .description(copy.getDescription())
+                                .book(book)
+                                .publisher(publisherRepository.getReferenceById(lookups.publishers.get(key(copy.getPublisher()))))
+                        );
+                }
+                books.add(book);
+                chunkCategoryIds.add(categoryId);
+                catalogueImport
+                    .booksImported(catalogueImport.getBooksImported() + 1)
+                    .copiesImported(catalogueImport.getCopiesImported() + book.getBookCopies().size());
+            }
+            bookRepository.insertInBatches(books);
+            catalogueImportRepository.save(catalogueImport.rowsRead(catalogueImport.getRowsRead() + rows.size()).updatedAt(Instant.now()));
+        });
+        categoryIds.addAll(chunkCategoryIds);
+        log.info(
+            "Catalogue import {}: {} rows read, {} rows/s",
+            catalogueImport.getId(),
+            catalogueImport.getRowsRead(),
+            Math.round(catalogueImport.getRowsPerSecond())
+        );
+    }
+
+    /**
+     * @return why the row cannot be imported, or {@code null}.
+     */
+    private String validate(CatalogueImportRow row, Lookups lookups) {
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "Missing title";
+        }
+        String tooLong = tooLong("title", row.getTitle().trim());
+        if (tooLong == null) {
+            tooLong = tooLong("description", row.getDescription());
+        }
+        if (tooLong == null) {
+            tooLong = tooLong("image", row.getImage());
+        }
+        if (tooLong != null) {
+            return tooLong;
+        }
+        if (row.getCategory() == null || row.getCategory().isBlank()) {
+            return "Missing category";
+        }
+        if (!lookups.categories.containsKey(key(row.getCategory()))) {
+            return "Unknown category: " + row.getCategory();
+        }
+        for (String name : row.getAuthors()) {
+            if (name != null && name.trim().length() > MAX_LENGTH) {
+                return "Author name longer than " + MAX_LENGTH + " characters";
+            }
+        }
+        Set<String> publisherYears = new HashSet<>();
+        for (CatalogueImportRow.Copy copy : row.getCopies()) {
+            if (copy == null || copy.getPublisher() == null || copy.getPublisher().isBlank()) {
+                return "Missing publisher of a copy";
+            }
+            if (!lookups.publishers.containsKey(key(copy.getPublisher()))) {
+                return "Unknown publisher: " + copy.getPublisher();
+            }
+            if (copy.getYearPublished() == null) {
+                return "Missing year published of a copy";
+            }
+            if (copy.getAmount() == null || copy.getAmount() < 0) {
+                return "Missing or negative amount of a copy";
+            }
+            if (!publisherYears.add(key(copy.getPublisher()) + "/" + copy.getYearPublished())) {
+                return "Two copies of publisher " + copy.getPublisher() + " in year " + copy.getYearPublished();
+            }
+            tooLong = tooLong("copy image", copy.getImage());
+            if (tooLong == null) {
+                tooLong = tooLong("copy description", copy.getDescription());
+            }
+            if (tooLong != null) {
+                return tooLong;
+            }
+        }
+        return null;
+    }
+
+    private static String tooLong(String field, String value) {
+        return value != null && value.length() > MAX_LENGTH ? "The " + field + " is longer than " + MAX_LENGTH + " characters" : null;
+    }
+
+    private static Set<String> authorNames(CatalogueImportRow row) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : row.getAuthors()) {
+            if (name != null && !name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Resolve an author by name, creating it the first time. A created author is inserted with the batch of its first book.
+     */
+    private Author author(String name, Lookups lookups, CatalogueImport catalogueImport) {
+        Long authorId = lookups.authors.get(key(name));
+        if (authorId != null) {
+            return authorRepository.getReferenceById(authorId);
+        }
+        Author author = authorRepository.save(new Author().name(name));
+        lookups.authors.put(key(name), author.getId());
+        catalogueImport.authorsCreated(catalogueImport.getAuthorsCreated() + 1);
+        return author;
+    }
+
+    /**
+     * Index the entities of the import and invalidate the cached pages of its categories, once. The categories of the previous
+     * runs of a resumed import are not known, so every cached page is invalidated then.
+     */
+    private void afterImport(CatalogueImport catalogueImport, Set<Long> categoryIds) {
+        if (catalogueImport.getBooksImported() == 0) {
+            return;
+        }
+        if (catalogueImport.getRunStartRow() > 0) {
+            bookRedisService.deleteAll();
+        } else {
+            for (Long categoryId : categoryIds) {
+                bookRedisService.deleteBooksByCategoryId(categoryId);
+            }
+        }
+        resourceVersionService.bump(ResourceVersionService.BOOKS);
+        index(Author.class, catalogueImport.getId(), authorRepository::findIdsAfter);
+        index(Book.class, catalogueImport.getId(), bookRepository::findIdsAfter);
+        index(BookCopy.class, catalogueImport.getId(), bookCopyRepository::findIdsAfter);
+    }
+
+    private void index(Class<?> type, Long firstId, BiFunction<Long, Pageable, List<Long>> idsAfter) {
+        long documents = 0;
+        try {
+            List<Long> ids = idsAfter.apply(firstId, PageRequest.of(0, properties.getIndexBatchSize()));
+            while (!ids.isEmpty()) {
+                searchIndexer.indexNow(type, new ArrayList<>(ids));
+                documents += ids.size();
+                ids = idsAfter.apply(ids.get(ids.size() - 1), PageRequest.of(0, properties.getIndexBatchSize()));
+            }
+            log.info("Indexed {} {} entities after the catalogue import", documents, type.getSimpleName());
+        } catch (RuntimeException e) {
+            // the entities are imported, a search reindex catches up
+            log.error("Indexing {} entities after the catalogue import failed after {} documents", type.getSimpleName(), documents, e);
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static final class Lookups {
+
+        private final Map<String, Long> categories = new HashMap<>();
+        private final Map<String, Long> publishers = new HashMap<>();
+        private final Map<String, Long> authors = new HashMap<>();
+    }
+}
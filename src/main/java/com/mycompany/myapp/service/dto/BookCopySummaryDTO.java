@@ -0,0 +1,146 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a {@link com.mycompany.myapp.domain.BookCopy} in a listing: its columns, the title of its book and the name
+ * of its publisher, without its check outs.
+ */
+public class BookCopySummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Integer yearPublished;
+
+    private Integer amount;
+
+    private String image;
+
+    private String imageThumbnail;
+
+    private String imageMedium;
+
+    private String imageLarge;
+
+    private String description;
+
+    private BookSummaryDTO book;
+
+    private PublisherDTO publisher;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getYearPublished() {
+        return yearPublished;
+    }
+
+    public void setYearPublished(Integer yearPublished) {
+        this.yearPublished = yearPublished;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Integer amount) {
+        this.amount = amount;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+
+    public String getImageThumbnail() {
+        return imageThumbnail;
+    }
+
+    public void setImageThumbnail(String imageThumbnail) {
+        this.imageThumbnail = imageThumbnail;
+    }
+
+    public String getImageMedium() {
+        return imageMedium;
+    }
+
+    public void setImageMedium(String imageMedium) {
+        this.imageMedium = imageMedium;
+    }
+
+    public String getImageLarge() {
+        return imageLarge;
+    }
+
+    public void setImageLarge(String imageLarge) {
+        this.imageLarge = imageLarge;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BookSummaryDTO getBook() {
+        return book;
+    }
+
+    public void setBook(BookSummaryDTO book) {
+        this.book = book;
+    }
+
+    public PublisherDTO getPublisher() {
+        return publisher;
+    }
+
+    public void setPublisher(PublisherDTO publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BookCopySummaryDTO)) {
+            return false;
+        }
+
+        BookCopySummaryDTO bookCopySummaryDTO = (BookCopySummaryDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, bookCopySummaryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookCopySummaryDTO{" +
+            "id=" + getId() +
+            ", yearPublished=" + getYearPublished() +
+            ", amount=" + getAmount() +
+            ", image='" + getImage() + "'" +
+            ", description='" + getDescription() + "'" +
+            "}";
+    }
+}
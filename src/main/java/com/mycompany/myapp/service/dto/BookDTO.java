@@ -0,0 +1,149 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A DTO for the detail view of a {@link com.mycompany.myapp.domain.Book}: its authors, category and copies, without the
+ * check outs and wait lists behind them.
+ */
+public class BookDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String title;
+
+    private String image;
+
+    private String imageThumbnail;
+
+    private String imageMedium;
+
+    private String imageLarge;
+
+    private String description;
+
+    private Set<AuthorDTO> authors = new HashSet<>();
+
+    private CategoryDTO category;
+
+    private Set<BookCopyDTO> bookCopies = new HashSet<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+
+    public String getImageThumbnail() {
+        return imageThumbnail;
+    }
+
+    public void setImageThumbnail(String imageThumbnail) {
+        this.imageThumbnail = imageThumbnail;
+    }
+
+    public String getImageMedium() {
+        return imageMedium;
+    }
+
+    public void setImageMedium(String imageMedium) {
+        this.imageMedium = imageMedium;
+    }
+
+    public String getImageLarge() {
+        return imageLarge;
+    }
+
+    public void setImageLarge(String imageLarge) {
+        this.imageLarge = imageLarge;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Set<AuthorDTO> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(Set<AuthorDTO> authors) {
+        this.authors = authors;
+    }
+
+    public CategoryDTO getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategoryDTO category) {
+        this.category = category;
+    }
+
+    public Set<BookCopyDTO> getBookCopies() {
+        return bookCopies;
+    }
+
+    public void setBookCopies(Set<BookCopyDTO> bookCopies) {
+        this.bookCopies = bookCopies;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BookDTO)) {
+            return false;
+        }
+
+        BookDTO bookDTO = (BookDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, bookDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookDTO{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", image='" + getImage() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", authors=" + getAuthors() +
+            ", category=" + getCategory() +
+            "}";
+    }
+}
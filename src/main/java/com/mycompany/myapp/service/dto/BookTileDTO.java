@@ -0,0 +1,119 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A DTO for a {@link com.mycompany.myapp.domain.Book} in the catalogue grid: only the columns its tile shows, read by an
+ * interface projection, and the names of its authors.
+ */
+public class BookTileDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String title;
+
+    private String image;
+
+    private String imageThumbnail;
+
+    private String imageMedium;
+
+    private List<AuthorDTO> authors = new ArrayList<>();
+
+    public BookTileDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BookTileDTO(Long id, String title, String image, String imageThumbnail, String imageMedium) {
+        this.id = id;
+        this.title = title;
+        this.image = image;
+        this.imageThumbnail = imageThumbnail;
+        this.imageMedium = imageMedium;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+
+    public String getImageThumbnail() {
+        return imageThumbnail;
+    }
+
+    public void setImageThumbnail(String imageThumbnail) {
+        this.imageThumbnail = imageThumbnail;
+    }
+
+    public String getImageMedium() {
+        return imageMedium;
+    }
+
+    public void setImageMedium(String imageMedium) {
+        this.imageMedium = imageMedium;
+    }
+
+    public List<AuthorDTO> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<AuthorDTO> authors) {
+        this.authors = authors;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BookTileDTO)) {
+            return false;
+        }
+
+        BookTileDTO bookTileDTO = (BookTileDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, bookTileDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookTileDTO{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", image='" + getImage() + "'" +
+            ", authors=" + getAuthors() +
+            "}";
+    }
+}
@@ -0,0 +1,141 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.enumeration.Status;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A row of the export of {@link com.mycompany.myapp.domain.CheckOut}s, read by a constructor expression so no entity is
+ * loaded: the check out with the ids of its patron, book copy and book, and the title of the book.
+ */
+public class CheckOutExportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Instant startTime;
+
+    private Instant endTime;
+
+    private Status status;
+
+    private Boolean isReturned;
+
+    private String cardNumber;
+
+    private Long bookCopyId;
+
+    private Long bookId;
+
+    private String bookTitle;
+
+    public CheckOutExportDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CheckOutExportDTO(
+        Long id,
+        Instant startTime,
+        Instant endTime,
+        Status status,
+        Boolean isReturned,
+        String cardNumber,
+        Long bookCopyId,
+        Long bookId,
+        String bookTitle
+    ) {
+        this.id = id;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.isReturned = isReturned;
+        this.cardNumber = cardNumber;
+        this.bookCopyId = bookCopyId;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Instant endTime) {
+        this.endTime = endTime;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Boolean getIsReturned() {
+        return isReturned;
+    }
+
+    public void setIsReturned(Boolean isReturned) {
+        this.isReturned = isReturned;
+    }
+
+    public String getCardNumber() {
+        return cardNumber;
+    }
+
+    public void setCardNumber(String cardNumber) {
+        this.cardNumber = cardNumber;
+    }
+
+    public Long getBookCopyId() {
+        return bookCopyId;
+    }
+
+    public void setBookCopyId(Long bookCopyId) {
+        this.bookCopyId = bookCopyId;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public String getBookTitle() {
+        return bookTitle;
+    }
+
+    public void setBookTitle(String bookTitle) {
+        this.bookTitle = bookTitle;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CheckOutExportDTO{" +
+            "id=" + getId() +
+            ", status='" + getStatus() + "'" +
+            ", cardNumber='" + getCardNumber() + "'" +
+            ", bookCopyId=" + getBookCopyId() +
+            "}";
+    }
+}
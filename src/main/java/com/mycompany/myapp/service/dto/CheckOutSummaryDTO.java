@@ -0,0 +1,117 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.enumeration.Status;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO for a {@link com.mycompany.myapp.domain.CheckOut} in a listing, with the book copy and patron it is for.
+ */
+public class CheckOutSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Instant startTime;
+
+    private Instant endTime;
+
+    private Status status;
+
+    private Boolean isReturned;
+
+    private BookCopySummaryDTO bookCopy;
+
+    private PatronAccountSummaryDTO patronAccount;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Instant endTime) {
+        this.endTime = endTime;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Boolean getIsReturned() {
+        return isReturned;
+    }
+
+    public void setIsReturned(Boolean isReturned) {
+        this.isReturned = isReturned;
+    }
+
+    public BookCopySummaryDTO getBookCopy() {
+        return bookCopy;
+    }
+
+    public void setBookCopy(BookCopySummaryDTO bookCopy) {
+        this.bookCopy = bookCopy;
+    }
+
+    public PatronAccountSummaryDTO getPatronAccount() {
+        return patronAccount;
+    }
+
+    public void setPatronAccount(PatronAccountSummaryDTO patronAccount) {
+        this.patronAccount = patronAccount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CheckOutSummaryDTO)) {
+            return false;
+        }
+
+        CheckOutSummaryDTO checkOutSummaryDTO = (CheckOutSummaryDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, checkOutSummaryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CheckOutSummaryDTO{" +
+            "id=" + getId() +
+            ", startTime='" + getStartTime() + "'" +
+            ", endTime='" + getEndTime() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", isReturned='" + getIsReturned() + "'" +
+            "}";
+    }
+}
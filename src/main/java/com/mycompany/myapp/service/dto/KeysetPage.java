@@ -0,0 +1,62 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a listing read with a keyset (seek) query: the rows after the sort key of the previous page, ordered by that key.
+ * <p>
+ * It knows the key the next page starts after, instead of a page number, and the total number of rows only when it was
+ * asked for.
+ *
+ * @param <T> the type of the rows.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+
+    private final String nextKey;
+
+    private final Long totalElements;
+
+    public KeysetPage(List<T> content, String nextKey, Long totalElements) {
+        this.content = content;
+        this.nextKey = nextKey;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * Build a page from the rows of a query limited to one row more than the page size, the extra row telling that a next
+     * page exists.
+     *
+     * @param rows the rows read, ordered by their key.
+     * @param size the page size.
+     * @param key the sort key of a row.
+     * @param totalElements the total number of rows, or {@code null} when it was not counted.
+     * @param <T> the type of the rows.
+     * @return the page.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, ?> key, Long totalElements) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null, totalElements);
+        }
+        List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(content, String.valueOf(key.apply(content.get(size - 1))), totalElements);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextKey() {
+        return nextKey;
+    }
+
+    public boolean hasNext() {
+        return nextKey != null;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+}
@@ -0,0 +1,62 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.mycompany.myapp.domain.PatronAccount} of a check out: its card number and the login of its
+ * user, without the rest of the user account.
+ */
+public class PatronAccountSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String cardNumber;
+
+    private UserDTO user;
+
+    public String getCardNumber() {
+        return cardNumber;
+    }
+
+    public void setCardNumber(String cardNumber) {
+        this.cardNumber = cardNumber;
+    }
+
+    public UserDTO getUser() {
+        return user;
+    }
+
+    public void setUser(UserDTO user) {
+        this.user = user;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PatronAccountSummaryDTO)) {
+            return false;
+        }
+
+        PatronAccountSummaryDTO patronAccountSummaryDTO = (PatronAccountSummaryDTO) o;
+        if (this.cardNumber == null) {
+            return false;
+        }
+        return Objects.equals(this.cardNumber, patronAccountSummaryDTO.cardNumber);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.cardNumber);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PatronAccountSummaryDTO{" +
+            "cardNumber='" + getCardNumber() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,21 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.service.dto.BookCopySummaryDTO;
+import com.mycompany.myapp.service.dto.BookSummaryDTO;
+import com.mycompany.myapp.service.dto.PublisherDTO;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the entity {@link BookCopy} and its listing DTO {@link BookCopySummaryDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface BookCopyMapper {
+    BookCopySummaryDTO toSummaryDto(BookCopy bookCopy);
+
+    BookSummaryDTO toSummaryDto(Book book);
+
+    PublisherDTO toDto(Publisher publisher);
+}
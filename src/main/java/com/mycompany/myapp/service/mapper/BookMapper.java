@@ -0,0 +1,25 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.service.dto.AuthorDTO;
+import com.mycompany.myapp.service.dto.BookCopyDTO;
+import com.mycompany.myapp.service.dto.BookDTO;
+import com.mycompany.myapp.service.dto.CategoryDTO;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the entity {@link Book} and its detail DTO {@link BookDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface BookMapper {
+    BookDTO toDto(Book book);
+
+    AuthorDTO toDto(Author author);
+
+    CategoryDTO toDto(Category category);
+
+    BookCopyDTO toDto(BookCopy bookCopy);
+}
@@ -0,0 +1,22 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.service.dto.CheckOutSummaryDTO;
+import com.mycompany.myapp.service.dto.PatronAccountSummaryDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.NullValueCheckStrategy;
+
+/**
+ * Mapper for the entity {@link CheckOut} and its listing DTO {@link CheckOutSummaryDTO}.
+ */
+@Mapper(
+    componentModel = "spring",
+    uses = { BookCopyMapper.class, UserMapper.class },
+    nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS
+)
+public interface CheckOutMapper {
+    CheckOutSummaryDTO toSummaryDto(CheckOut checkOut);
+
+    PatronAccountSummaryDTO toSummaryDto(PatronAccount patronAccount);
+}
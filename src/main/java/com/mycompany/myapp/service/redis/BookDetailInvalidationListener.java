@@ -0,0 +1,21 @@
+package com.mycompany.myapp.service.redis;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Receives the book detail invalidations published on {@link BookRedisService#INVALIDATION_CHANNEL}
+ * and evicts the matching entries from the in-process cache of this node.
+ */
+@Component
+public class BookDetailInvalidationListener {
+
+    private final BookRedisService bookRedisService;
+
+    public BookDetailInvalidationListener(BookRedisService bookRedisService) {
+        this.bookRedisService = bookRedisService;
+    }
+
+    public void handleMessage(String message) {
+        bookRedisService.handleInvalidation(message.trim());
+    }
+}
@@ -1,155 +1,406 @@
 package com.mycompany.myapp.service.redis;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Author;
 import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.management.RedisCacheMetersService;
+import com.mycompany.myapp.service.dto.AuthorDTO;
+import com.mycompany.myapp.service.dto.BookTileDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Two-tier cache of the books: category pages and book details in Redis, book details also in an in-process near cache.
+ * <p>
+ * Writes go through the transactional templates and run when the calling transaction commits. Generations and the author
+ * sets are read straight from a connection of the factory instead, like {@link ResourceVersionService} does: read through a
+ * template inside a write transaction, they would be queued in its {@code MULTI} and come back {@code null}.
+ */
 @Service
 public class BookRedisService {
 
     private final RedisTemplate<String, Object> redisTemplate;
-    private final String KEY_PREFIX = "BookAll";
+    private final RedisTemplate<String, Book> bookRedisTemplate;
+    private final RedisTemplate<String, BookTileDTO> bookTileRedisTemplate;
+    private final RedisCacheMetersService redisCacheMetersService;
+    private final String KEY_PREFIX = "BookTiles";
     private final String KEY_DETAIL = "BookDetail";
+    private final String KEY_INDEX = "index";
+    private final String KEY_AUTHOR = "BookAuthor";
+    private static final String KEY_GENERATION = "Book:generation";
+    private static final String KEY_GENERATION_SUFFIX = "generation";
+    private static final long PAGE_TTL_HOURS = 24;
+    public static final String INVALIDATION_CHANNEL = "BookDetail:invalidate";
+    private static final String INVALIDATE_ALL = "*";
 
-    public BookRedisService(RedisTemplate<String, Object> redisTemplate) {
+    private final Cache<Long, Book> nearCache;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public BookRedisService(
+        RedisTemplate<String, Object> redisTemplate,
+        RedisTemplate<String, Book> bookRedisTemplate,
+        RedisTemplate<String, BookTileDTO> bookTileRedisTemplate,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        RedisCacheMetersService redisCacheMetersService
+    ) {
         this.redisTemplate = redisTemplate;
+        this.bookRedisTemplate = bookRedisTemplate;
+        this.bookTileRedisTemplate = bookTileRedisTemplate;
+        this.redisCacheMetersService = redisCacheMetersService;
+        ApplicationProperties.Cache.BookDetail bookDetail = applicationProperties.getCache().getBookDetail();
+        this.nearCache =
+            Caffeine
+                .newBuilder()
+                .maximumSize(bookDetail.getMaxSize())
+                .expireAfterWrite(bookDetail.getTimeToLiveSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "bookDetail");
     }
 
-    public String createKey(Pageable pageable, long total, long categoryId) {
+    public String createPageField(Pageable pageable) {
         String page = String.valueOf(pageable.getPageNumber());
         String size = String.valueOf(pageable.getPageSize());
         Sort sort = pageable.getSort();
         String sortString = sort.toString();
-        return KEY_PREFIX + ":" + categoryId + ":" + page + ":" + size + ":" + sortString + ":" + total;
+        return page + ":" + size + ":" + sortString;
     }
 
-    public String createKeyCheck(Pageable pageable, long categoryId) {
-        String page = String.valueOf(pageable.getPageNumber());
-        String size = String.valueOf(pageable.getPageSize());
-        Sort sort = pageable.getSort();
-        String sortString = sort.toString();
-        return KEY_PREFIX + ":" + categoryId + ":" + page + ":" + size + ":" + sortString;
+    /**
+     * Logical key of a category page, independent of the cache generations; used to coalesce concurrent loads of the page.
+     */
+    public String createPageKey(long categoryId, String pageField) {
+        return KEY_PREFIX + ":" + categoryId + ":" + pageField;
     }
 
-    public void saveBooksByCategoryId(long categoryId, long total, Pageable pageable, List<Book> books) {
-        try {
-            String key = createKey(pageable, total, categoryId);
-            redisTemplate.opsForList().rightPushAll(key, books.toArray());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    /**
+     * Namespace of the cached pages of a category, embedding the global and the category generation. Bumping either one
+     * moves readers to an empty namespace; the entries of the previous one are never read again and age out through their TTL.
+     */
+    private String pageNamespace(long categoryId) {
+        long[] generations = getGenerations(KEY_GENERATION, createCategoryGenerationKey(categoryId));
+        return KEY_PREFIX + ":" + categoryId + ":" + generations[0] + "." + generations[1];
+    }
+
+    private String createCategoryGenerationKey(long categoryId) {
+        return KEY_PREFIX + ":" + categoryId + ":" + KEY_GENERATION_SUFFIX;
+    }
+
+    private String createDetailKey(long generation, long bookId) {
+        return KEY_DETAIL + ":" + generation + ":" + bookId;
+    }
+
+    private String createAuthorKey(long authorId) {
+        return KEY_AUTHOR + ":" + authorId;
     }
 
-    public Set<String> keyExists(long categoryId, Pageable pageable) {
+    @SuppressWarnings("unchecked")
+    public void saveBooksByCategoryId(long categoryId, long total, Pageable pageable, List<BookTileDTO> books) {
         try {
-            String key = createKeyCheck(pageable, categoryId) + ":*";
-            return redisTemplate.keys(key);
+            String pageField = createPageField(pageable);
+            String namespace = pageNamespace(categoryId);
+            String key = namespace + ":" + pageField;
+            RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+            RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+            RedisSerializer<Object> hashKeySerializer = (RedisSerializer<Object>) redisTemplate.getHashKeySerializer();
+            RedisSerializer<Object> hashValueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+            byte[] rawIndexKey = keySerializer.serialize(namespace + ":" + KEY_INDEX);
+            byte[] rawMember = valueSerializer.serialize(key);
+            long ttlSeconds = TimeUnit.HOURS.toSeconds(PAGE_TTL_HOURS);
+            // the page list is renamed into place before its total is indexed, so readers never see a total without the page
+            bookTileRedisTemplate.executePipelined(
+                (RedisCallback<Object>) connection -> {
+                    RedisListWriter.replace(connection, bookTileRedisTemplate, key, books, PAGE_TTL_HOURS, TimeUnit.HOURS);
+                    connection.hSet(rawIndexKey, hashKeySerializer.serialize(pageField), hashValueSerializer.serialize(total));
+                    connection.expire(rawIndexKey, ttlSeconds);
+                    for (Long authorId : getTileAuthorIds(books)) {
+                        byte[] rawAuthorKey = keySerializer.serialize(createAuthorKey(authorId));
+                        connection.sAdd(rawAuthorKey, rawMember);
+                        connection.expire(rawAuthorKey, ttlSeconds);
+                    }
+                    return null;
+                }
+            );
         } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            redisCacheMetersService.trackError(e);
         }
     }
 
-    public List<Book> getBooksByCategoryId(long categoryId, long total, Pageable pageable) {
+    /**
+     * Get a cached category page.
+     *
+     * @return the cached page, or {@code null} if the page or its total is not cached in the current generation.
+     */
+    public Page<BookTileDTO> getBooksByCategoryId(long categoryId, Pageable pageable) {
         try {
-            String key = createKey(pageable, total, categoryId);
-            List<Object> bookObjects = redisTemplate.opsForList().range(key, 0, -1);
-            return (List<Book>) (List<?>) bookObjects; // Ép kiểu danh sách các đối tượng
+            String pageField = createPageField(pageable);
+            String namespace = pageNamespace(categoryId);
+            Object total = redisTemplate.opsForHash().get(namespace + ":" + KEY_INDEX, pageField);
+            if (total == null) {
+                return null;
+            }
+            List<BookTileDTO> books = bookTileRedisTemplate.opsForList().range(namespace + ":" + pageField, 0, -1);
+            if (books == null || books.isEmpty()) {
+                return null;
+            }
+            return new PageImpl<>(books, pageable, ((Number) total).longValue());
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
             return null;
         }
     }
 
+    /**
+     * Invalidate every cached page of a category by bumping its generation.
+     */
     public void deleteBooksByCategoryId(long categoryId) {
-        try {
-            String key = KEY_PREFIX + ":" + categoryId + ":*";
-            Set<String> keys = redisTemplate.keys(key);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        incrementGeneration(createCategoryGenerationKey(categoryId));
     }
 
     // book detail
     public void saveBooks(Book book) {
         try {
-            String key = KEY_DETAIL + ":" + book.getId();
-            ObjectMapper mapper = new ObjectMapper();
-            String bookJson = mapper.writeValueAsString(book);
-            redisTemplate.opsForHash().put(key, "book", bookJson);
-
+            String key = createDetailKey(getGenerations(KEY_GENERATION)[0], book.getId());
             // Thiết lập thời gian sống là 1 ngày (24 giờ)
-            redisTemplate.expire(key, 24, TimeUnit.HOURS);
-            //            redisTemplate.expire(key, 30, TimeUnit.SECONDS);
+            bookRedisTemplate.opsForValue().set(key, book, 24, TimeUnit.HOURS);
+            for (Long authorId : getAuthorIds(Collections.singletonList(book))) {
+                String authorKey = createAuthorKey(authorId);
+                redisTemplate.opsForSet().add(authorKey, key);
+                redisTemplate.expire(authorKey, PAGE_TTL_HOURS, TimeUnit.HOURS);
+            }
 
+            nearCache.put(book.getId(), book);
+            publishInvalidation(book.getId().toString());
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
         }
     }
 
+    /**
+     * Get a book detail, first from the in-process cache, then from Redis.
+     *
+     * @return the cached book, or {@code null} if it is cached in neither tier.
+     */
     public Book getBookById(long bookId) {
+        Book book = nearCache.getIfPresent(bookId);
+        if (book != null) {
+            redisCacheMetersService.trackNearCacheHit();
+            return book;
+        }
         try {
-            String key = KEY_DETAIL + ":" + bookId;
-            String bookJson = (String) redisTemplate.opsForHash().get(key, "book");
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(bookJson, Book.class);
+            String key = createDetailKey(getGenerations(KEY_GENERATION)[0], bookId);
+            book = bookRedisTemplate.opsForValue().get(key);
+            if (book != null) {
+                nearCache.put(bookId, book);
+            }
+            return book;
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
             return null;
         }
     }
 
-    public boolean keyBookIdExists(long bookId) {
+    public void deleteBooksId(long bookId) {
+        deleteBooksId(Collections.singletonList(bookId));
+    }
+
+    /**
+     * Invalidate several book details with one {@code DEL} and one invalidation message, whatever the number of books.
+     */
+    public void deleteBooksId(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
         try {
-            String key = KEY_DETAIL + ":" + bookId;
-            return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+            long generation = getGenerations(KEY_GENERATION)[0];
+            List<String> keys = new ArrayList<>(bookIds.size());
+            for (Long bookId : bookIds) {
+                keys.add(createDetailKey(generation, bookId));
+            }
+            redisTemplate.delete(keys);
+            afterRedisCommands(() -> nearCache.invalidateAll(bookIds));
+            publishInvalidation(bookIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
         } catch (Exception e) {
-            e.printStackTrace();
-            return false;
+            redisCacheMetersService.trackError(e);
         }
     }
 
-    public void deleteBooksId(long bookId) {
+    /**
+     * Invalidate the cached details and category pages containing a book of the author, as recorded when they were cached.
+     */
+    public void deleteBooksByAuthorId(long authorId) {
         try {
-            String key = KEY_DETAIL + ":" + bookId;
-            redisTemplate.delete(key);
+            String authorKey = createAuthorKey(authorId);
+            byte[] rawAuthorKey = authorKey.getBytes(StandardCharsets.UTF_8);
+            Set<byte[]> members = executeNow(connection -> connection.sMembers(rawAuthorKey));
+            RedisSerializer<?> valueSerializer = redisTemplate.getValueSerializer();
+            List<String> keys = new ArrayList<>();
+            keys.add(authorKey);
+            List<Long> bookIds = new ArrayList<>();
+            if (members != null) {
+                for (byte[] member : members) {
+                    String key = String.valueOf(valueSerializer.deserialize(member));
+                    keys.add(key);
+                    if (key.startsWith(KEY_DETAIL + ":")) {
+                        bookIds.add(Long.parseLong(key.substring(key.lastIndexOf(':') + 1)));
+                    }
+                }
+            }
+            redisTemplate.delete(keys);
+            if (!bookIds.isEmpty()) {
+                afterRedisCommands(() -> nearCache.invalidateAll(bookIds));
+                publishInvalidation(bookIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            }
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
         }
     }
 
-    public void deleteByPrefix(String prefix) {
+    /**
+     * Invalidate every cached book detail and page by bumping the global generation, without touching the keyspace.
+     */
+    public void deleteAll() {
+        incrementGeneration(KEY_GENERATION);
         try {
-            Set<String> keysToDelete = (Set<String>) redisTemplate.execute(
-                (RedisCallback<Set<String>>) connection -> {
-                    Set<String> keys = new HashSet<>();
-                    try (Cursor<byte[]> cursor = connection.scan(ScanOptions.scanOptions().match(prefix + "*").build())) {
-                        while (cursor.hasNext()) {
-                            keys.add(new String(cursor.next()));
-                        }
-                    }
-                    return keys;
+            afterRedisCommands(nearCache::invalidateAll);
+            publishInvalidation(INVALIDATE_ALL);
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+        }
+    }
+
+    /**
+     * Apply an invalidation published by another node to the in-process cache.
+     *
+     * @param message the {@code nodeId:bookIds} message, {@code bookIds} being a comma separated list of ids, or {@code *} to
+     *                clear every entry.
+     */
+    public void handleInvalidation(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0 || nodeId.equals(message.substring(0, separator))) {
+            return;
+        }
+        String target = message.substring(separator + 1);
+        if (INVALIDATE_ALL.equals(target)) {
+            nearCache.invalidateAll();
+        } else {
+            for (String bookId : target.split(",")) {
+                nearCache.invalidate(Long.parseLong(bookId));
+            }
+        }
+    }
+
+    private void publishInvalidation(String target) {
+        byte[] channel = INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        byte[] message = (nodeId + ":" + target).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, message));
+    }
+
+    /**
+     * Read generation counters with one {@code MGET}, outside of the {@code MULTI} of the calling transaction; a missing
+     * counter is generation {@code 0}.
+     */
+    private long[] getGenerations(String... keys) {
+        byte[][] rawKeys = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            rawKeys[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+        }
+        List<byte[]> values = executeNow(connection -> connection.mGet(rawKeys));
+        long[] generations = new long[keys.length];
+        for (int i = 0; values != null && i < keys.length; i++) {
+            byte[] value = values.get(i);
+            generations[i] = value == null ? 0 : Long.parseLong(new String(value, StandardCharsets.UTF_8));
+        }
+        return generations;
+    }
+
+    /**
+     * Run a change of the near cache once the Redis commands queued by the calling transaction have run, or now outside of
+     * a transaction. Run earlier, a concurrent read on this node could refill the near cache from a Redis entry about to be
+     * deleted, and this node ignores its own invalidation messages.
+     * <p>
+     * Registered after a template call, so after the synchronization that runs {@code EXEC} when the transaction completes.
+     */
+    private void afterRedisCommands(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    task.run();
                 }
-            );
-            assert keysToDelete != null;
-            if (!keysToDelete.isEmpty()) {
-                redisTemplate.delete(keysToDelete);
             }
+        );
+    }
+
+    /**
+     * Run a read on its own connection, so that it returns its result right away even inside a write transaction.
+     */
+    private <T> T executeNow(RedisCallback<T> callback) {
+        try (RedisConnection connection = redisTemplate.getRequiredConnectionFactory().getConnection()) {
+            return callback.doInRedis(connection);
+        }
+    }
+
+    /**
+     * Bump a generation counter. Counters have no TTL: a counter that disappeared would restart at {@code 0} and bring back
+     * entries of old generations that have not expired yet.
+     */
+    private void incrementGeneration(String key) {
+        try {
+            byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.incr(rawKey));
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
+        }
+    }
+
+    private static Set<Long> getAuthorIds(List<Book> books) {
+        Set<Long> authorIds = new HashSet<>();
+        for (Book book : books) {
+            if (book.getAuthors() != null) {
+                for (Author author : book.getAuthors()) {
+                    authorIds.add(author.getId());
+                }
+            }
+        }
+        return authorIds;
+    }
+
+    private static Set<Long> getTileAuthorIds(List<BookTileDTO> books) {
+        Set<Long> authorIds = new HashSet<>();
+        for (BookTileDTO book : books) {
+            for (AuthorDTO author : book.getAuthors()) {
+                authorIds.add(author.getId());
+            }
         }
+        return authorIds;
     }
 }
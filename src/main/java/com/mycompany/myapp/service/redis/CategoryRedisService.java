@@ -2,7 +2,9 @@ package com.mycompany.myapp.service.redis;
 
 import com.mycompany.myapp.domain.Category;
 import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.management.RedisCacheMetersService;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
@@ -10,17 +12,20 @@ import org.springframework.stereotype.Service;
 public class CategoryRedisService {
 
     private final String KEY_PREFIX = "Category";
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final long CACHE_TTL_HOURS = 24;
+    private final RedisTemplate<String, Category> redisTemplate;
+    private final RedisCacheMetersService redisCacheMetersService;
 
-    public CategoryRedisService(RedisTemplate<String, Object> redisTemplate) {
+    public CategoryRedisService(RedisTemplate<String, Category> redisTemplate, RedisCacheMetersService redisCacheMetersService) {
         this.redisTemplate = redisTemplate;
+        this.redisCacheMetersService = redisCacheMetersService;
     }
 
     public void saveCategoryToRedis(List<Category> categoryList) {
         try {
-            redisTemplate.opsForList().rightPushAll(KEY_PREFIX, categoryList.toArray());
+            RedisListWriter.replace(redisTemplate, KEY_PREFIX, categoryList, CACHE_TTL_HOURS, TimeUnit.HOURS);
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
         }
     }
 
@@ -28,17 +33,16 @@ public class CategoryRedisService {
         try {
             return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX));
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
             return false;
         }
     }
 
     public List<Category> getCategoryFromRedis() {
         try {
-            List<Object> categoryObjects = redisTemplate.opsForList().range(KEY_PREFIX, 0, -1);
-            return (List<Category>) (List<?>) categoryObjects; // Ép kiểu danh sách các đối tượng
+            return redisTemplate.opsForList().range(KEY_PREFIX, 0, -1);
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
             return null;
         }
     }
@@ -47,7 +51,7 @@ public class CategoryRedisService {
         try {
             redisTemplate.delete(KEY_PREFIX);
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
         }
     }
 }
@@ -0,0 +1,114 @@
+package com.mycompany.myapp.service.redis;
+
+import com.mycompany.myapp.management.RedisCacheMetersService;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.stereotype.Service;
+
+/**
+ * Redis counters of the available copies of each book copy ({@code Inventory:<bookCopyId>}), used to turn away checkout
+ * confirmations for sold-out copies without touching the database.
+ * <p>
+ * The counters are only a gate: the database row stays the authority. A missing or low counter is fixed by the next
+ * reconciliation, a high one is evicted when the database turns a confirmation away. Commands go straight to a connection of the factory rather than through a transactional
+ * template, so that they run immediately instead of being queued in the {@code MULTI} of the calling transaction.
+ */
+@Service
+public class InventoryRedisService {
+
+    public static final long UNKNOWN = -1;
+    public static final long SOLD_OUT = 0;
+    public static final long RESERVED = 1;
+
+    private static final String KEY_PREFIX = "Inventory";
+    private static final byte[] RESERVE_SCRIPT = (
+        "local amount = redis.call('get', KEYS[1]) " +
+        "if not amount then return -1 end " +
+        "if tonumber(amount) <= 0 then return 0 end " +
+        "redis.call('decr', KEYS[1]) " +
+        "return 1"
+    ).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RELEASE_SCRIPT = (
+        "if redis.call('exists', KEYS[1]) == 1 then return redis.call('incr', KEYS[1]) end return -1"
+    ).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESET_SCRIPT = (
+        "local amount = tonumber(ARGV[1]) " +
+        "local current = tonumber(redis.call('get', KEYS[1])) " +
+        "if current and current > amount then amount = current end " +
+        "redis.call('set', KEYS[1], amount, 'EX', ARGV[2]) " +
+        "return amount"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCacheMetersService redisCacheMetersService;
+
+    public InventoryRedisService(RedisConnectionFactory connectionFactory, RedisCacheMetersService redisCacheMetersService) {
+        this.connectionFactory = connectionFactory;
+        this.redisCacheMetersService = redisCacheMetersService;
+    }
+
+    /**
+     * Take one copy from the counter of a book copy.
+     *
+     * @return {@link #RESERVED}, {@link #SOLD_OUT}, or {@link #UNKNOWN} when there is no counter or Redis is unavailable.
+     */
+    public long tryReserve(long bookCopyId) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Long result = connection.scriptingCommands().eval(RESERVE_SCRIPT, ReturnType.INTEGER, 1, rawKey(bookCopyId));
+            return result == null ? UNKNOWN : result;
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Give one copy back to the counter of a book copy, if there is one.
+     */
+    public void release(long bookCopyId) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.scriptingCommands().eval(RELEASE_SCRIPT, ReturnType.INTEGER, 1, rawKey(bookCopyId));
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+        }
+    }
+
+    /**
+     * Drop the counter of a book copy, sending its confirmations to the database until the next reconciliation.
+     */
+    public void evict(long bookCopyId) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.del(rawKey(bookCopyId));
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+        }
+    }
+
+    /**
+     * Raise counters to the amounts read from the database and refresh their time to live, in one pipelined round trip.
+     * <p>
+     * A counter is never lowered: a release committed after the amounts were read has already incremented it, and overwriting
+     * it would lose that copy and turn confirmations away while the database still has it. A counter left too high only sends
+     * confirmations to the database, which evicts it when it turns one away.
+     */
+    public void reset(Map<Long, Integer> amounts, long ttlSeconds) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (Map.Entry<Long, Integer> amount : amounts.entrySet()) {
+                byte[] value = String.valueOf(Math.max(0, amount.getValue())).getBytes(StandardCharsets.UTF_8);
+                byte[] ttl = String.valueOf(ttlSeconds).getBytes(StandardCharsets.UTF_8);
+                connection.scriptingCommands().eval(RESET_SCRIPT, ReturnType.INTEGER, 1, rawKey(amount.getKey()), value, ttl);
+            }
+            connection.closePipeline();
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+        }
+    }
+
+    private static byte[] rawKey(long bookCopyId) {
+        return (KEY_PREFIX + ":" + bookCopyId).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -2,25 +2,30 @@ package com.mycompany.myapp.service.redis;
 
 import com.mycompany.myapp.domain.Book;
 import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.management.RedisCacheMetersService;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 public class PublisherRedisService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, Publisher> redisTemplate;
+    private final RedisCacheMetersService redisCacheMetersService;
     private final String KEY_PREFIX = "Publisher";
+    private static final long CACHE_TTL_HOURS = 24;
 
-    public PublisherRedisService(RedisTemplate<String, Object> redisTemplate) {
+    public PublisherRedisService(RedisTemplate<String, Publisher> redisTemplate, RedisCacheMetersService redisCacheMetersService) {
         this.redisTemplate = redisTemplate;
+        this.redisCacheMetersService = redisCacheMetersService;
     }
 
     public void savePublisherToRedis(List<Publisher> publishers) {
         try {
-            redisTemplate.opsForList().rightPushAll(KEY_PREFIX, publishers.toArray());
+            RedisListWriter.replace(redisTemplate, KEY_PREFIX, publishers, CACHE_TTL_HOURS, TimeUnit.HOURS);
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
         }
     }
 
@@ -28,17 +33,16 @@ public class PublisherRedisService {
         try {
             return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX));
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
             return false;
         }
     }
 
     public List<Publisher> getPublisherFromRedis() {
         try {
-            List<Object> publisherObjects = redisTemplate.opsForList().range(KEY_PREFIX, 0, -1);
-            return (List<Publisher>) (List<?>) publisherObjects; // Ép kiểu danh sách các đối tượng
+            return redisTemplate.opsForList().range(KEY_PREFIX, 0, -1);
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
             return null;
         }
     }
@@ -47,7 +51,7 @@ public class PublisherRedisService {
         try {
             redisTemplate.delete(KEY_PREFIX);
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
         }
     }
 }
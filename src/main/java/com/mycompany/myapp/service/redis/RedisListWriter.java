@@ -0,0 +1,63 @@
+package com.mycompany.myapp.service.redis;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Writes cached lists in one pipelined round trip: the values are pushed to a unique temporary key, which gets its TTL and is
+ * then renamed over the target key. Readers see either the old list or the complete new one, and concurrent fills replace
+ * each other instead of appending duplicates.
+ */
+public final class RedisListWriter {
+
+    private static final String TEMP_KEY_SUFFIX = ":tmp:";
+
+    private RedisListWriter() {}
+
+    /**
+     * Replace the list stored at {@code key} with {@code values}.
+     */
+    public static <T> void replace(RedisTemplate<String, T> redisTemplate, String key, List<T> values, long timeout, TimeUnit unit) {
+        redisTemplate.executePipelined(
+            (RedisCallback<Object>) connection -> {
+                replace(connection, redisTemplate, key, values, timeout, unit);
+                return null;
+            }
+        );
+    }
+
+    /**
+     * Queue the commands replacing the list stored at {@code key} on an already opened (pipelined) connection.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void replace(
+        RedisConnection connection,
+        RedisTemplate<String, T> redisTemplate,
+        String key,
+        List<T> values,
+        long timeout,
+        TimeUnit unit
+    ) {
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        RedisSerializer<T> valueSerializer = (RedisSerializer<T>) redisTemplate.getValueSerializer();
+        byte[] rawKey = keySerializer.serialize(key);
+        if (values.isEmpty()) {
+            connection.del(rawKey);
+            return;
+        }
+        byte[] rawTempKey = keySerializer.serialize(key + TEMP_KEY_SUFFIX + UUID.randomUUID());
+        byte[][] rawValues = new byte[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            rawValues[i] = valueSerializer.serialize(values.get(i));
+        }
+        connection.rPush(rawTempKey, rawValues);
+        // expire the temporary key first so that nothing is left behind if the rename never happens
+        connection.pExpire(rawTempKey, unit.toMillis(timeout));
+        connection.rename(rawTempKey, rawKey);
+    }
+}
@@ -0,0 +1,135 @@
+package com.mycompany.myapp.service.redis;
+
+import com.mycompany.myapp.management.RedisCacheMetersService;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Queue of the check out reminders: a sorted set ({@code Reminder:queue}) of {@code <checkOutId>:<offsetSeconds>} members
+ * scored by the time they are due, in epoch milliseconds.
+ * <p>
+ * Due reminders are claimed by a Lua script that pushes their score forward by a lease, so each one goes to a single worker
+ * whatever the number of nodes polling; a worker that dies before completing a reminder leaves it to be claimed again when
+ * its lease runs out. Scheduling and cancelling go through the transactional template and only apply once the calling
+ * transaction commits.
+ */
+@Service
+public class ReminderRedisService {
+
+    private static final byte[] KEY = "Reminder:queue".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLAIM_SCRIPT = (
+        "local due = redis.call('zrangebyscore', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2])) " +
+        "for _, member in ipairs(due) do redis.call('zadd', KEYS[1], ARGV[3], member) end " +
+        "return due"
+    ).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COMPLETE_SCRIPT = (
+        "if tonumber(redis.call('zscore', KEYS[1], ARGV[1])) == tonumber(ARGV[2]) then " +
+        "return redis.call('zrem', KEYS[1], ARGV[1]) end " +
+        "return 0"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCacheMetersService redisCacheMetersService;
+
+    public ReminderRedisService(RedisTemplate<String, Object> redisTemplate, RedisCacheMetersService redisCacheMetersService) {
+        this.redisTemplate = redisTemplate;
+        this.redisCacheMetersService = redisCacheMetersService;
+    }
+
+    /**
+     * Add or move reminders.
+     *
+     * @param dueTimes the due time in epoch milliseconds of each member.
+     */
+    public void schedule(Map<String, Long> dueTimes) {
+        if (dueTimes.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.execute(
+                (RedisCallback<Object>) connection -> {
+                    for (Map.Entry<String, Long> dueTime : dueTimes.entrySet()) {
+                        connection.zAdd(KEY, dueTime.getValue(), raw(dueTime.getKey()));
+                    }
+                    return null;
+                }
+            );
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+        }
+    }
+
+    public void cancel(List<String> members) {
+        if (members.isEmpty()) {
+            return;
+        }
+        try {
+            byte[][] rawMembers = members.stream().map(ReminderRedisService::raw).toArray(byte[][]::new);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.zRem(KEY, rawMembers));
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+        }
+    }
+
+    /**
+     * Claim up to {@code limit} reminders due at {@code now}, leasing them until {@code leaseUntil}.
+     *
+     * @return the claimed members.
+     */
+    public List<String> claim(long now, int limit, long leaseUntil) {
+        try {
+            List<byte[]> claimed = redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection ->
+                    connection
+                        .scriptingCommands()
+                        .eval(
+                            CLAIM_SCRIPT,
+                            ReturnType.MULTI,
+                            1,
+                            KEY,
+                            raw(String.valueOf(now)),
+                            raw(String.valueOf(limit)),
+                            raw(String.valueOf(leaseUntil))
+                        )
+            );
+            if (claimed == null) {
+                return Collections.emptyList();
+            }
+            List<String> members = new ArrayList<>(claimed.size());
+            for (byte[] member : claimed) {
+                members.add(new String(member, StandardCharsets.UTF_8));
+            }
+            return members;
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Remove a claimed reminder, unless it was rescheduled or claimed again since.
+     */
+    public void complete(String member, long leaseUntil) {
+        try {
+            redisTemplate.execute(
+                (RedisCallback<Long>) connection ->
+                    connection
+                        .scriptingCommands()
+                        .eval(COMPLETE_SCRIPT, ReturnType.INTEGER, 1, KEY, raw(member), raw(String.valueOf(leaseUntil)))
+            );
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+        }
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
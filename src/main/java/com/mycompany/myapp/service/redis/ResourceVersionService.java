@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service.redis;
+
+import com.mycompany.myapp.management.RedisCacheMetersService;
+import java.util.Collections;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Version counters of the catalogue resources, kept in Redis ({@code Version:<resource>}) and used as their HTTP ETags.
+ * <p>
+ * A counter is bumped once the transaction changing the resource commits, and read before the resource is loaded, so a
+ * response is never older than the version it is tagged with. A missing counter starts at the current time in
+ * milliseconds rather than at {@code 0}, so a counter lost with its key does not repeat versions already handed out.
+ * The counters use their own template without Redis transaction support: they are bumped from after commit callbacks,
+ * where a command must not join the {@code MULTI} of the finished transaction.
+ */
+@Service
+public class ResourceVersionService {
+
+    public static final String BOOKS = "books";
+    public static final String CATEGORIES = "categories";
+    public static final String PUBLISHERS = "publishers";
+
+    private static final String KEY_PREFIX = "Version:";
+    private static final RedisScript<Long> GET_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('set', KEYS[1], ARGV[1], 'NX') return tonumber(redis.call('get', KEYS[1]))",
+        Long.class
+    );
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('set', KEYS[1], ARGV[1], 'NX') return redis.call('incr', KEYS[1])",
+        Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCacheMetersService redisCacheMetersService;
+
+    public ResourceVersionService(RedisConnectionFactory connectionFactory, RedisCacheMetersService redisCacheMetersService) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.redisCacheMetersService = redisCacheMetersService;
+    }
+
+    /**
+     * Get the current version of a resource.
+     *
+     * @param resource the resource.
+     * @return the version, or {@code null} if Redis is unavailable.
+     */
+    public Long getVersion(String resource) {
+        try {
+            return redisTemplate.execute(GET_SCRIPT, Collections.singletonList(KEY_PREFIX + resource), initialVersion());
+        } catch (Exception e) {
+            redisCacheMetersService.trackError(e);
+            return null;
+        }
+    }
+
+    /**
+     * Bump the version of resources once the current transaction commits, or now outside of a transaction.
+     *
+     * @param resources the changed resources.
+     */
+    public void bump(String... resources) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        increment(resources);
+                    }
+                }
+            );
+        } else {
+            increment(resources);
+        }
+    }
+
+    private void increment(String... resources) {
+        for (String resource : resources) {
+            try {
+                redisTemplate.execute(INCREMENT_SCRIPT, Collections.singletonList(KEY_PREFIX + resource), initialVersion());
+            } catch (Exception e) {
+                redisCacheMetersService.trackError(e);
+            }
+        }
+    }
+
+    private static String initialVersion() {
+        return String.valueOf(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,147 @@
+package com.mycompany.myapp.service.redis;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Cache loader that coalesces concurrent misses on the same key.
+ * <p>
+ * Within a node, callers missing the same key wait on the future of the first one. Across nodes, the loading node holds a
+ * short Redis lock ({@code Lock:<key>}) while the others poll the cache until the value shows up or the lock expires.
+ * Loaders are expected to write the value to the cache themselves.
+ * <p>
+ * The loader runs in a read-only transaction of its own, so callers must not hold a transaction: waiting on another load
+ * would otherwise pin a database connection for up to the lock TTL, and the lock, taken with plain commands, must not be
+ * queued in the {@code MULTI} of a read-write transaction.
+ */
+@Service
+public class SingleFlightLoader {
+
+    private static final String LOCK_PREFIX = "Lock:";
+    private static final Duration LOCK_TTL = Duration.ofSeconds(10);
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class
+    );
+
+    private final Logger log = LoggerFactory.getLogger(SingleFlightLoader.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightLoader(RedisTemplate<String, Object> redisTemplate, PlatformTransactionManager transactionManager) {
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Read a value from the cache, loading it at most once per key across concurrent callers on a miss.
+     *
+     * @param key the cache key to coalesce on.
+     * @param cacheReader reads the cached value, returning {@code null} on a miss.
+     * @param loader loads the value from the database and writes it to the cache, called in a read-only transaction.
+     * @return the cached or loaded value.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> cacheReader, Supplier<T> loader) {
+        T cached = cacheReader.get();
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            log.debug("Waiting for in-flight load of {}", key);
+            return (T) join(existing);
+        }
+        try {
+            T result = loadOnce(key, cacheReader, loader);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private <T> T loadOnce(String key, Supplier<T> cacheReader, Supplier<T> loader) {
+        String lockKey = LOCK_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + LOCK_TTL.toMillis();
+        while (!tryLock(lockKey, token)) {
+            T cached = cacheReader.get();
+            if (cached != null) {
+                return cached;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                log.warn("Lock {} still held after {}, loading without it", lockKey, LOCK_TTL);
+                return load(loader);
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return load(loader);
+            }
+        }
+        try {
+            // another node may have filled the cache between our miss and the lock
+            T cached = cacheReader.get();
+            return cached != null ? cached : load(loader);
+        } finally {
+            unlock(lockKey, token);
+        }
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        return transactionTemplate.execute(status -> loader.get());
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, LOCK_TTL));
+        } catch (Exception e) {
+            // Redis unavailable: fall back to loading locally rather than waiting on a lock nobody can hold
+            log.warn("Cannot take lock {}, loading without it: {}", lockKey, e.getMessage());
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(lockKey), token);
+        } catch (Exception e) {
+            log.error("Cannot release lock {}, it expires after {}", lockKey, LOCK_TTL, e);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.mycompany.myapp.service.redis;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.domain.Book;
 import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.management.RedisCacheMetersService;
 import com.mycompany.myapp.service.dto.InfoCheckOut;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,10 +16,16 @@ public class WaitListRedisService {
     private final String KEY_PREFIX = "WaitList";
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final RedisCacheMetersService redisCacheMetersService;
 
-    public WaitListRedisService(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper) {
+    public WaitListRedisService(
+        RedisTemplate<String, Object> redisTemplate,
+        ObjectMapper objectMapper,
+        RedisCacheMetersService redisCacheMetersService
+    ) {
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.redisCacheMetersService = redisCacheMetersService;
     }
 
     public void add(Book book, PatronAccount patronAccount) {
@@ -37,7 +44,7 @@ public class WaitListRedisService {
                 redisTemplate.opsForSet().add(setKey, infoCheckOutJson);
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
         }
     }
 
@@ -53,7 +60,7 @@ public class WaitListRedisService {
             }
             return infoCheckOutList;
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
             return new ArrayList<>();
         }
     }
@@ -69,7 +76,7 @@ public class WaitListRedisService {
             }
             return null;
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
             return null;
         }
     }
@@ -81,7 +88,7 @@ public class WaitListRedisService {
             redisTemplate.delete(setKey);
             redisTemplate.delete(key);
         } catch (Exception e) {
-            e.printStackTrace();
+            redisCacheMetersService.trackError(e);
         }
     }
 }
@@ -0,0 +1,57 @@
+package com.mycompany.myapp.service.redis.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Gzip-compresses the bytes produced by another {@link RedisSerializer}.
+ * <p>
+ * Values that are not gzip-encoded are handed to the delegate as-is, so compression can be switched on
+ * without flushing the entries already in Redis.
+ */
+public class GzipRedisSerializer<T> implements RedisSerializer<T> {
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final RedisSerializer<T> delegate;
+
+    public GzipRedisSerializer(RedisSerializer<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes == null || bytes.length == 0) {
+            return bytes;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("Could not compress value", e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || !isGzip(bytes)) {
+            return delegate.deserialize(bytes);
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes), BUFFER_SIZE)) {
+            return delegate.deserialize(gzip.readAllBytes());
+        } catch (IOException e) {
+            throw new SerializationException("Could not decompress value", e);
+        }
+    }
+
+    private boolean isGzip(byte[] bytes) {
+        return bytes.length > 1 && (bytes[0] & 0xff) == 0x1f && (bytes[1] & 0xff) == 0x8b;
+    }
+}
@@ -0,0 +1,37 @@
+package com.mycompany.myapp.service.redis.codec;
+
+import com.mycompany.myapp.management.RedisCacheMetersService;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Records the size of the bytes written and read by another {@link RedisSerializer}, attributed to the cache operation
+ * running on the current thread.
+ */
+public class MeteredRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final RedisSerializer<T> delegate;
+    private final RedisCacheMetersService redisCacheMetersService;
+
+    public MeteredRedisSerializer(RedisSerializer<T> delegate, RedisCacheMetersService redisCacheMetersService) {
+        this.delegate = delegate;
+        this.redisCacheMetersService = redisCacheMetersService;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            redisCacheMetersService.trackPayload(RedisCacheMetersService.DIRECTION_WRITE, bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null) {
+            redisCacheMetersService.trackPayload(RedisCacheMetersService.DIRECTION_READ, bytes.length);
+        }
+        return delegate.deserialize(bytes);
+    }
+}
@@ -0,0 +1,23 @@
+package com.mycompany.myapp.service.redis.codec;
+
+/**
+ * Encodings available for the values of the typed Redis caches.
+ */
+public enum RedisValueCodec {
+    /**
+     * Java serialization, as used by the shared {@code redisTemplate}.
+     */
+    JDK,
+    /**
+     * JSON written with the application {@link com.fasterxml.jackson.databind.ObjectMapper}.
+     */
+    JSON,
+    /**
+     * Binary JSON (Smile) with the application Jackson modules.
+     */
+    SMILE,
+    /**
+     * CBOR with the application Jackson modules.
+     */
+    CBOR,
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.service.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Creates the typed value serializers of the Redis caches for the configured {@link RedisValueCodec}.
+ * <p>
+ * The Jackson based codecs share one mapper per format, configured with the same modules as the application
+ * {@link ObjectMapper}, so no mapper is built per call.
+ */
+public class RedisValueSerializerFactory {
+
+    private final RedisValueCodec codec;
+
+    private final boolean compression;
+
+    private final ObjectMapper objectMapper;
+
+    public RedisValueSerializerFactory(
+        RedisValueCodec codec,
+        boolean compression,
+        ObjectMapper jsonObjectMapper,
+        Jackson2ObjectMapperBuilder objectMapperBuilder
+    ) {
+        this.codec = codec;
+        this.compression = compression;
+        switch (codec) {
+            case SMILE:
+                this.objectMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+                break;
+            case CBOR:
+                this.objectMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+                break;
+            default:
+                this.objectMapper = jsonObjectMapper;
+        }
+    }
+
+    public <T> RedisSerializer<T> forType(Class<T> type) {
+        RedisSerializer<T> serializer;
+        if (codec == RedisValueCodec.JDK) {
+            serializer = jdkSerializer();
+        } else {
+            Jackson2JsonRedisSerializer<T> jacksonSerializer = new Jackson2JsonRedisSerializer<>(type);
+            jacksonSerializer.setObjectMapper(objectMapper);
+            serializer = jacksonSerializer;
+        }
+        return compression ? new GzipRedisSerializer<>(serializer) : serializer;
+    }
+
+    public RedisValueCodec getCodec() {
+        return codec;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RedisSerializer<T> jdkSerializer() {
+        return (RedisSerializer<T>) (RedisSerializer<?>) new JdkSerializationRedisSerializer();
+    }
+}
@@ -0,0 +1,91 @@
+package com.mycompany.myapp.service.search;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of the rebuild of one search index.
+ */
+public class ReindexProgress {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private final String index;
+    private final String targetIndex;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong documents = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public ReindexProgress(String index, String targetIndex) {
+        this.index = index;
+        this.targetIndex = targetIndex;
+    }
+
+    void addDocuments(long count) {
+        documents.addAndGet(count);
+    }
+
+    void addFailures(long count) {
+        failures.addAndGet(count);
+    }
+
+    void complete() {
+        finish(State.COMPLETED, null);
+    }
+
+    void fail(String error) {
+        finish(State.FAILED, error);
+    }
+
+    private void finish(State state, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = state;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public String getTargetIndex() {
+        return targetIndex;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getDocuments() {
+        return documents.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public double getDocumentsPerSecond() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return documents.get() * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,464 @@
+package com.mycompany.myapp.service.search;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.WaitList;
+import com.mycompany.myapp.repository.search.AuthorSearchRepository;
+import com.mycompany.myapp.repository.search.BookCopySearchRepository;
+import com.mycompany.myapp.repository.search.BookSearchRepository;
+import com.mycompany.myapp.repository.search.CategorySearchRepository;
+import com.mycompany.myapp.repository.search.CheckOutSearchRepository;
+import com.mycompany.myapp.repository.search.NotificationSearchRepository;
+import com.mycompany.myapp.repository.search.PatronAccountSearchRepository;
+import com.mycompany.myapp.repository.search.PublisherSearchRepository;
+import com.mycompany.myapp.repository.search.UserSearchRepository;
+import com.mycompany.myapp.repository.search.WaitListSearchRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Queue of entities to (re)index in Elasticsearch.
+ * <p>
+ * Ids are queued once the surrounding transaction commits, so search latency stays out of the request and rolled back
+ * writes are never indexed; deletes are applied after commit too. Several updates to the same entity before a flush are
+ * indexed once. The queue is flushed with bulk requests every {@code flush-interval-ms} or as soon as {@code batch-size} ids
+ * are pending; failed batches are put back with an exponential backoff until {@code max-attempts} is reached. Failed
+ * deletes of a single document are retried by the next flushes the same way.
+ * <p>
+ * While {@link SearchReindexService} rebuilds an index, updates are written to both the live and the new index, and
+ * replayed on the new index once the rebuild batches are written.
+ */
+@Service
+public class SearchIndexer {
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexer.class);
+
+    private final ApplicationProperties.Search.Indexing properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+    private final ElasticsearchRestTemplate elasticsearchTemplate;
+    private final Map<Class<?>, BiConsumer<List<Object>, IndexCoordinates>> indexers = new HashMap<>();
+    private final ConcurrentMap<Class<?>, ShadowIndex> shadowIndices = new ConcurrentHashMap<>();
+
+    /** Pending entities, mapped to the number of failed attempts to index them. */
+    private final ConcurrentMap<PendingEntity, Integer> pending = new ConcurrentHashMap<>();
+    /** Failed updates applied after commit, to retry in order. */
+    private final Queue<PendingUpdate> failedUpdates = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private volatile long backoffUntil;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    public SearchIndexer(
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ElasticsearchRestTemplate elasticsearchTemplate,
+        AuthorSearchRepository authorSearchRepository,
+        BookSearchRepository bookSearchRepository,
+        BookCopySearchRepository bookCopySearchRepository,
+        CategorySearchRepository categorySearchRepository,
+        CheckOutSearchRepository checkOutSearchRepository,
+        NotificationSearchRepository notificationSearchRepository,
+        PatronAccountSearchRepository patronAccountSearchRepository,
+        PublisherSearchRepository publisherSearchRepository,
+        UserSearchRepository userSearchRepository,
+        WaitListSearchRepository waitListSearchRepository
+    ) {
+        this.properties = applicationProperties.getSearch().getIndexing();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        register(Author.class, authorSearchRepository::indexAll);
+        register(Book.class, bookSearchRepository::indexAll);
+        register(BookCopy.class, bookCopySearchRepository::indexAll);
+        register(Category.class, categorySearchRepository::indexAll);
+        register(CheckOut.class, checkOutSearchRepository::indexAll);
+        register(Notification.class, notificationSearchRepository::indexAll);
+        register(PatronAccount.class, patronAccountSearchRepository::indexAll);
+        register(Publisher.class, publisherSearchRepository::indexAll);
+        register(User.class, userSearchRepository::indexAll);
+        register(WaitList.class, waitListSearchRepository::indexAll);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <ID> void register(Class<?> type, BiConsumer<List<ID>, IndexCoordinates> indexer) {
+        indexers.put(type, (ids, index) -> indexer.accept((List<ID>) ids, index));
+    }
+
+    /**
+     * @return the entity classes that have a search index.
+     */
+    public Set<Class<?>> getIndexedTypes() {
+        return indexers.keySet();
+    }
+
+    /**
+     * Load entities by id and bulk index them into the given index, in a read-only transaction.
+     *
+     * @param type the entity class.
+     * @param ids the ids of the entities.
+     * @param index the index to write to.
+     */
+    public void indexInto(Class<?> type, List<Object> ids, IndexCoordinates index) {
+        transactionTemplate.executeWithoutResult(status -> indexers.get(type).accept(ids, index));
+    }
+
+    /**
+     * Bulk index entities right away, into the live index and, during a rebuild, into the new index too.
+     *
+     * @param type the entity class.
+     * @param ids the ids of the entities.
+     */
+    public void indexNow(Class<?> type, List<Object> ids) {
+        indexInto(type, ids, elasticsearchTemplate.getIndexCoordinatesFor(type));
+        ShadowIndex shadowIndex = shadowIndices.get(type);
+        if (shadowIndex != null) {
+            shadowIndex.write(index -> indexInto(type, ids, index));
+        }
+    }
+
+    /**
+     * Also write every update of {@code type} to {@code index} until {@link #stopShadowIndex(Class)} is called.
+     */
+    public void startShadowIndex(Class<?> type, IndexCoordinates index) {
+        shadowIndices.put(type, new ShadowIndex(index));
+    }
+
+    /**
+     * Apply again, in order, the updates written to the new index of {@code type} since {@link #startShadowIndex}. Called once
+     * every rebuild batch is written: a batch loaded before an update may have been written after it and overwritten it with
+     * older data. Updates are replayed from the database, so the new index ends up with the latest state of each entity.
+     *
+     * @param type the entity class.
+     * @return the number of updates replayed.
+     */
+    public int catchUpShadowIndex(Class<?> type) {
+        ShadowIndex shadowIndex = shadowIndices.get(type);
+        return shadowIndex == null ? 0 : shadowIndex.replay();
+    }
+
+    public void stopShadowIndex(Class<?> type) {
+        shadowIndices.remove(type);
+    }
+
+    /**
+     * Index an entity once the current transaction commits, or right away when there is no transaction.
+     *
+     * @param type the entity class.
+     * @param id the id of the entity.
+     */
+    public void index(Class<?> type, Object id) {
+        if (!indexers.containsKey(type)) {
+            throw new IllegalArgumentException("No search index for " + type.getSimpleName());
+        }
+        PendingEntity entity = new PendingEntity(type, id);
+        if (!properties.isAsync()) {
+            indexBatch(Map.of(entity, 0));
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        enqueue(entity);
+                    }
+                }
+            );
+        } else {
+            enqueue(entity);
+        }
+    }
+
+    /**
+     * Delete the document of an entity once the current transaction commits, or right away when there is no transaction.
+     * A pending update of the entity is dropped.
+     *
+     * @param type the entity class.
+     * @param id the id of the entity.
+     */
+    public void delete(Class<?> type, Object id) {
+        if (!indexers.containsKey(type)) {
+            throw new IllegalArgumentException("No search index for " + type.getSimpleName());
+        }
+        PendingEntity entity = new PendingEntity(type, id);
+        updateAfterCommit(
+            type,
+            index -> {
+                pending.remove(entity);
+                elasticsearchTemplate.delete(id.toString(), index);
+            },
+            properties.getMaxAttempts()
+        );
+    }
+
+    /**
+     * Delete every document of {@code type} once the current transaction commits, or right away when there is no transaction.
+     *
+     * @param type the entity class.
+     */
+    public void deleteAll(Class<?> type) {
+        if (!indexers.containsKey(type)) {
+            throw new IllegalArgumentException("No search index for " + type.getSimpleName());
+        }
+        updateAfterCommit(
+            type,
+            index -> {
+                pending.keySet().removeIf(entity -> entity.type.equals(type));
+                elasticsearchTemplate.delete(Query.findAll(), type, index);
+            }
+        );
+    }
+
+    /**
+     * Apply a partial update (such as an update by query) to the documents of {@code type} once the current transaction
+     * commits. The update runs on the live index and, during a rebuild, on the new index too.
+     *
+     * @param type the entity class of the documents.
+     * @param update the update, given the index to apply it to.
+     */
+    public void updateAfterCommit(Class<?> type, Consumer<IndexCoordinates> update) {
+        // not retried: a later attempt could overwrite a newer update of the same documents
+        updateAfterCommit(type, update, 1);
+    }
+
+    private void updateAfterCommit(Class<?> type, Consumer<IndexCoordinates> update, int maxAttempts) {
+        Runnable task = () -> {
+            update.accept(elasticsearchTemplate.getIndexCoordinatesFor(type));
+            ShadowIndex shadowIndex = shadowIndices.get(type);
+            if (shadowIndex != null) {
+                shadowIndex.write(update);
+            }
+        };
+        if (!properties.isAsync()) {
+            task.run();
+            return;
+        }
+        Runnable asyncTask = () -> apply(new PendingUpdate(type, task, 0, maxAttempts));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        taskExecutor.execute(asyncTask);
+                    }
+                }
+            );
+        } else {
+            taskExecutor.execute(asyncTask);
+        }
+    }
+
+    private void apply(PendingUpdate update) {
+        try {
+            update.task.run();
+            log.debug("Updated {} documents", update.type.getSimpleName());
+            consecutiveFailures.set(0);
+        } catch (RuntimeException e) {
+            int attempts = update.attempts + 1;
+            if (attempts >= update.maxAttempts) {
+                log.error("Giving up updating {} documents after {} attempts", update.type.getSimpleName(), attempts, e);
+            } else {
+                log.warn("Failed to update {} documents: {}", update.type.getSimpleName(), e.getMessage());
+                failedUpdates.add(new PendingUpdate(update.type, update.task, attempts, update.maxAttempts));
+                backOff();
+            }
+        }
+    }
+
+    private void enqueue(PendingEntity entity) {
+        pending.put(entity, 0);
+        if (pending.size() >= properties.getBatchSize()) {
+            taskExecutor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Retry the failed updates, then index the pending entities in batches of {@code batch-size}.
+     */
+    @Scheduled(fixedDelayString = "${application.search.indexing.flush-interval-ms:1000}")
+    public void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // updates failing again are queued back, after the ones polled here
+            for (int i = failedUpdates.size(); i > 0 && System.currentTimeMillis() >= backoffUntil; i--) {
+                apply(failedUpdates.poll());
+            }
+            while (!pending.isEmpty() && System.currentTimeMillis() >= backoffUntil) {
+                indexBatch(nextBatch());
+            }
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        backoffUntil = 0;
+        flush();
+    }
+
+    private Map<PendingEntity, Integer> nextBatch() {
+        Map<PendingEntity, Integer> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<PendingEntity, Integer>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < properties.getBatchSize()) {
+            Map.Entry<PendingEntity, Integer> entry = iterator.next();
+            // an entity queued again in the meantime stays pending and is indexed by the next batch
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    private void indexBatch(Map<PendingEntity, Integer> batch) {
+        Map<Class<?>, List<Object>> idsByType = new HashMap<>();
+        for (PendingEntity entity : batch.keySet()) {
+            idsByType.computeIfAbsent(entity.type, type -> new ArrayList<>()).add(entity.id);
+        }
+        for (Map.Entry<Class<?>, List<Object>> entry : idsByType.entrySet()) {
+            Class<?> type = entry.getKey();
+            List<Object> ids = entry.getValue();
+            try {
+                indexNow(type, ids);
+                log.debug("Indexed {} {} entities", ids.size(), type.getSimpleName());
+                consecutiveFailures.set(0);
+            } catch (RuntimeException e) {
+                if (!properties.isAsync()) {
+                    throw e;
+                }
+                log.warn("Failed to index {} {} entities: {}", ids.size(), type.getSimpleName(), e.getMessage());
+                retryLater(type, ids, batch);
+            }
+        }
+    }
+
+    private void retryLater(Class<?> type, List<Object> ids, Map<PendingEntity, Integer> batch) {
+        for (Object id : ids) {
+            PendingEntity entity = new PendingEntity(type, id);
+            int attempts = batch.get(entity) + 1;
+            if (attempts >= properties.getMaxAttempts()) {
+                log.error("Giving up indexing {} {} after {} attempts", type.getSimpleName(), id, attempts);
+            } else {
+                // keep a newer update of the same entity, it has not failed yet
+                pending.putIfAbsent(entity, attempts);
+            }
+        }
+        backOff();
+    }
+
+    private void backOff() {
+        long backoff = properties.getInitialBackoffMs() << Math.min(consecutiveFailures.incrementAndGet() - 1, 16);
+        backoffUntil = System.currentTimeMillis() + Math.min(backoff, properties.getMaxBackoffMs());
+    }
+
+    /**
+     * A new index being rebuilt, with the updates written to it since the rebuild started.
+     */
+    private static final class ShadowIndex {
+
+        private final IndexCoordinates index;
+        private final Queue<Consumer<IndexCoordinates>> writes = new ConcurrentLinkedQueue<>();
+
+        private ShadowIndex(IndexCoordinates index) {
+            this.index = index;
+        }
+
+        private void write(Consumer<IndexCoordinates> update) {
+            writes.add(update);
+            update.accept(index);
+        }
+
+        private int replay() {
+            int replayed = 0;
+            Consumer<IndexCoordinates> update;
+            while ((update = writes.poll()) != null) {
+                update.accept(index);
+                replayed++;
+            }
+            return replayed;
+        }
+    }
+
+    private static final class PendingUpdate {
+
+        private final Class<?> type;
+        private final Runnable task;
+        private final int attempts;
+        private final int maxAttempts;
+
+        private PendingUpdate(Class<?> type, Runnable task, int attempts, int maxAttempts) {
+            this.type = type;
+            this.task = task;
+            this.attempts = attempts;
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    private static final class PendingEntity {
+
+        private final Class<?> type;
+        private final Object id;
+
+        private PendingEntity(Class<?> type, Object id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PendingEntity)) {
+                return false;
+            }
+            PendingEntity other = (PendingEntity) o;
+            return type.equals(other.type) && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.myapp.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the search indices from the command line, then exits.
+ * <p>
+ * Run the application with {@code --reindex} to rebuild every index, or {@code --reindex=book,check_out} for some of them.
+ */
+@Component
+public class SearchReindexRunner implements ApplicationRunner {
+
+    private static final String OPTION = "reindex";
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexRunner.class);
+
+    private final SearchReindexService searchReindexService;
+    private final ConfigurableApplicationContext context;
+
+    public SearchReindexRunner(SearchReindexService searchReindexService, ConfigurableApplicationContext context) {
+        this.searchReindexService = searchReindexService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        List<String> indexNames = new ArrayList<>();
+        for (String value : args.getOptionValues(OPTION)) {
+            for (String indexName : value.split(",")) {
+                if (!indexName.isBlank()) {
+                    indexNames.add(indexName.trim());
+                }
+            }
+        }
+        boolean succeeded = searchReindexService.run(indexNames);
+        log.info("Search reindex {}, exiting", succeeded ? "completed" : "failed");
+        System.exit(SpringApplication.exit(context, () -> succeeded ? 0 : 1));
+    }
+}
@@ -0,0 +1,320 @@
+package com.mycompany.myapp.service.search;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.WaitList;
+import com.mycompany.myapp.repository.AuthorRepository;
+import com.mycompany.myapp.repository.BookCopyRepository;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.repository.CategoryRepository;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.repository.NotificationRepository;
+import com.mycompany.myapp.repository.PatronAccountRepository;
+import com.mycompany.myapp.repository.PublisherRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.repository.WaitListRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rebuilds search indices from the database.
+ * <p>
+ * Each index is rebuilt into a new versioned index ({@code book_20240601120000}): ids are read with keyset pagination,
+ * and each batch is loaded with the relationships its document needs and bulk indexed by a bounded pool of workers.
+ * Updates made in the meantime are written to both indices by {@link SearchIndexer}, and replayed on the new index after
+ * the last batch, so that no batch loaded before an update overwrites it. Once every batch succeeded, the
+ * index name is atomically switched to an alias of the new index and the previous version is deleted; on failure the live
+ * index is left untouched.
+ */
+@Service
+public class SearchReindexService {
+
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexService.class);
+
+    private final ElasticsearchRestTemplate elasticsearchTemplate;
+    private final SearchIndexer searchIndexer;
+    private final ApplicationProperties.Search.Reindex properties;
+    private final Executor taskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ReindexTarget> targets = new LinkedHashMap<>();
+    private final Map<String, ReindexProgress> progress = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SearchReindexService(
+        ElasticsearchRestTemplate elasticsearchTemplate,
+        SearchIndexer searchIndexer,
+        ApplicationProperties applicationProperties,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MeterRegistry meterRegistry,
+        AuthorRepository authorRepository,
+        BookRepository bookRepository,
+        BookCopyRepository bookCopyRepository,
+        CategoryRepository categoryRepository,
+        CheckOutRepository checkOutRepository,
+        NotificationRepository notificationRepository,
+        PatronAccountRepository patronAccountRepository,
+        PublisherRepository publisherRepository,
+        UserRepository userRepository,
+        WaitListRepository waitListRepository
+    ) {
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.searchIndexer = searchIndexer;
+        this.properties = applicationProperties.getSearch().getReindex();
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+        register(Author.class, 0L, authorRepository::findIdsAfter);
+        register(Book.class, 0L, bookRepository::findIdsAfter);
+        register(BookCopy.class, 0L, bookCopyRepository::findIdsAfter);
+        register(Category.class, 0L, categoryRepository::findIdsAfter);
+        register(CheckOut.class, 0L, checkOutRepository::findIdsAfter);
+        register(Notification.class, 0L, notificationRepository::findIdsAfter);
+        register(PatronAccount.class, "", patronAccountRepository::findIdsAfter);
+        register(Publisher.class, 0L, publisherRepository::findIdsAfter);
+        register(User.class, 0L, userRepository::findIdsAfter);
+        register(WaitList.class, 0L, waitListRepository::findIdsAfter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <ID> void register(Class<?> type, ID firstId, BiFunction<ID, Pageable, List<ID>> idsAfter) {
+        String index = elasticsearchTemplate.getIndexCoordinatesFor(type).getIndexName();
+        BiFunction<Object, Pageable, List<Object>> untypedIdsAfter = (lastId, pageable) ->
+            (List<Object>) idsAfter.apply((ID) lastId, pageable);
+        targets.put(index, new ReindexTarget(type, firstId, untypedIdsAfter));
+    }
+
+    /**
+     * @return the names of the indices that can be rebuilt.
+     */
+    public Set<String> getIndexNames() {
+        return Collections.unmodifiableSet(targets.keySet());
+    }
+
+    /**
+     * @return the progress of the last rebuild of each index.
+     */
+    public Map<String, ReindexProgress> getProgress() {
+        return Collections.unmodifiableMap(progress);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Rebuild indices in the background.
+     *
+     * @param indexNames the indices to rebuild, all of them if empty.
+     * @return {@code false} if a rebuild is already running.
+     */
+    public boolean start(Collection<String> indexNames) {
+        List<String> names = resolve(indexNames);
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                reindex(names);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Rebuild indices in the calling thread.
+     *
+     * @param indexNames the indices to rebuild, all of them if empty.
+     * @return {@code true} if every index was rebuilt.
+     */
+    public boolean run(Collection<String> indexNames) {
+        List<String> names = resolve(indexNames);
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A search reindex is already running");
+        }
+        try {
+            return reindex(names);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<String> resolve(Collection<String> indexNames) {
+        if (indexNames == null || indexNames.isEmpty()) {
+            return new ArrayList<>(targets.keySet());
+        }
+        for (String indexName : indexNames) {
+            if (!targets.containsKey(indexName)) {
+                throw new IllegalArgumentException("Unknown search index: " + indexName);
+            }
+        }
+        return new ArrayList<>(indexNames);
+    }
+
+    private boolean reindex(List<String> indexNames) {
+        boolean succeeded = true;
+        for (String indexName : indexNames) {
+            succeeded &= reindex(indexName, targets.get(indexName));
+        }
+        return succeeded;
+    }
+
+    private boolean reindex(String alias, ReindexTarget target) {
+        IndexCoordinates newIndex = IndexCoordinates.of(alias + "_" + VERSION_FORMAT.format(Instant.now()));
+        ReindexProgress indexProgress = new ReindexProgress(alias, newIndex.getIndexName());
+        progress.put(alias, indexProgress);
+        Counter documentsCounter = meterRegistry.counter("search.reindex.documents", "index", alias);
+        Counter failuresCounter = meterRegistry.counter("search.reindex.failures", "index", alias);
+        log.info("Rebuilding search index {} into {}", alias, newIndex.getIndexName());
+
+        IndexOperations typeOperations = elasticsearchTemplate.indexOps(target.type);
+        IndexOperations newIndexOperations = elasticsearchTemplate.indexOps(newIndex);
+        boolean swapped = false;
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getWorkers());
+        try {
+            newIndexOperations.create(typeOperations.createSettings(), typeOperations.createMapping());
+            searchIndexer.startShadowIndex(target.type, newIndex);
+
+            // at most two batches per worker are loaded ahead, the id scan waits for the workers otherwise
+            Semaphore slots = new Semaphore(properties.getWorkers() * 2);
+            Object lastId = target.firstId;
+            List<Object> ids = target.idsAfter.apply(lastId, PageRequest.of(0, properties.getBatchSize()));
+            while (!ids.isEmpty()) {
+                List<Object> batch = ids;
+                slots.acquire();
+                workers.execute(() -> {
+                    try {
+                        searchIndexer.indexInto(target.type, batch, newIndex);
+                        indexProgress.addDocuments(batch.size());
+                        documentsCounter.increment(batch.size());
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to index a batch of {} into {}: {}", alias, newIndex.getIndexName(), e.getMessage());
+                        indexProgress.addFailures(batch.size());
+                        failuresCounter.increment(batch.size());
+                    } finally {
+                        slots.release();
+                    }
+                });
+                lastId = batch.get(batch.size() - 1);
+                ids = target.idsAfter.apply(lastId, PageRequest.of(0, properties.getBatchSize()));
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            int replayed = searchIndexer.catchUpShadowIndex(target.type);
+            log.debug("Replayed {} updates of {} made during the rebuild", replayed, alias);
+
+            if (indexProgress.getFailures() > 0) {
+                indexProgress.fail(indexProgress.getFailures() + " documents could not be indexed");
+            } else {
+                newIndexOperations.refresh();
+                swapAlias(alias, newIndex.getIndexName());
+                swapped = true;
+                indexProgress.complete();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            indexProgress.fail("Interrupted");
+        } catch (RuntimeException e) {
+            log.error("Rebuilding search index {} failed", alias, e);
+            indexProgress.fail(e.getMessage());
+        } finally {
+            workers.shutdownNow();
+            searchIndexer.stopShadowIndex(target.type);
+            if (!swapped && newIndexOperations.exists()) {
+                newIndexOperations.delete();
+            }
+        }
+        log.info(
+            "Rebuilding search index {} {}: {} documents, {} failures, {} documents/s",
+            alias,
+            indexProgress.getState(),
+            indexProgress.getDocuments(),
+            indexProgress.getFailures(),
+            Math.round(indexProgress.getDocumentsPerSecond())
+        );
+        return swapped;
+    }
+
+    /**
+     * Point {@code alias} at {@code newIndex} in one request and delete the indices it pointed to. The first time, the live
+     * index is the one Spring Data created under the alias name, and it is replaced by the alias.
+     */
+    private void swapAlias(String alias, String newIndex) {
+        IndexOperations aliasOperations = elasticsearchTemplate.indexOps(IndexCoordinates.of(alias));
+        Set<String> previousIndices = aliasedIndices(aliasOperations, alias);
+        List<AliasAction> actions = new ArrayList<>();
+        if (!previousIndices.isEmpty()) {
+            String[] indices = previousIndices.toArray(new String[0]);
+            actions.add(new AliasAction.Remove(AliasActionParameters.builder().withIndices(indices).withAliases(alias).build()));
+        } else if (aliasOperations.exists()) {
+            actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder().withIndices(alias).build()));
+        }
+        actions.add(new AliasAction.Add(AliasActionParameters.builder().withIndices(newIndex).withAliases(alias).build()));
+        aliasOperations.alias(new AliasActions(actions.toArray(new AliasAction[0])));
+        for (String previousIndex : previousIndices) {
+            elasticsearchTemplate.indexOps(IndexCoordinates.of(previousIndex)).delete();
+        }
+    }
+
+    private Set<String> aliasedIndices(IndexOperations aliasOperations, String alias) {
+        try {
+            return aliasOperations.getAliases(alias).keySet();
+        } catch (RuntimeException e) {
+            // no index has this alias yet
+            return Collections.emptySet();
+        }
+    }
+
+    private static final class ReindexTarget {
+
+        private final Class<?> type;
+        private final Object firstId;
+        private final BiFunction<Object, Pageable, List<Object>> idsAfter;
+
+        private ReindexTarget(Class<?> type, Object firstId, BiFunction<Object, Pageable, List<Object>> idsAfter) {
+            this.type = type;
+            this.firstId = firstId;
+            this.idsAfter = idsAfter;
+        }
+    }
+}
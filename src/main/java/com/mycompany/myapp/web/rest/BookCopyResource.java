@@ -3,6 +3,7 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.BookCopy;
 import com.mycompany.myapp.repository.BookCopyRepository;
 import com.mycompany.myapp.service.BookCopyService;
+import com.mycompany.myapp.service.dto.BookCopySummaryDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import io.undertow.util.BadRequestException;
 import java.net.URI;
@@ -144,12 +145,12 @@ public class BookCopyResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bookCopies in body.
      */
     @GetMapping("/book-copies")
-    public ResponseEntity<List<BookCopy>> getAllBookCopies(
+    public ResponseEntity<List<BookCopySummaryDTO>> getAllBookCopies(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
     ) {
         log.debug("REST request to get a page of BookCopies");
-        Page<BookCopy> page;
+        Page<BookCopySummaryDTO> page;
         if (eagerload) {
             page = bookCopyService.findAllWithEagerRelationships(pageable);
         } else {
@@ -190,7 +191,7 @@ public class BookCopyResource {
     }
 
     @GetMapping("/book-copies/book")
-    public ResponseEntity<List<BookCopy>> getAllBookCopiesByBook(
+    public ResponseEntity<List<BookCopySummaryDTO>> getAllBookCopiesByBook(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         @RequestParam(value = "bookId", required = false, defaultValue = "-1") long bookId
     ) {
@@ -198,7 +199,7 @@ public class BookCopyResource {
         if (bookId == -1) {
             return null;
         }
-        Page<BookCopy> page = bookCopyService.findAllByBook(bookId, pageable);
+        Page<BookCopySummaryDTO> page = bookCopyService.findSummariesByBook(bookId, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -5,7 +5,13 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 import com.mycompany.myapp.domain.Book;
 import com.mycompany.myapp.repository.BookRepository;
 import com.mycompany.myapp.service.BookService;
+import com.mycompany.myapp.service.dto.BookDTO;
+import com.mycompany.myapp.service.dto.BookTileDTO;
+import com.mycompany.myapp.service.dto.KeysetPage;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ConditionalGet;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
 import io.undertow.util.BadRequestException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -24,6 +30,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -47,9 +54,12 @@ public class BookResource {
 
     private final BookRepository bookRepository;
 
-    public BookResource(BookService bookService, BookRepository bookRepository) {
+    private final ConditionalGet conditionalGet;
+
+    public BookResource(BookService bookService, BookRepository bookRepository, ConditionalGet conditionalGet) {
         this.bookService = bookService;
         this.bookRepository = bookRepository;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -145,14 +155,24 @@ public class BookResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param cursor the cursor of the page, empty for the first one, to page by id instead of by page number.
+     * @param count flag to count all the books when paging with a cursor.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of books in body.
      */
     @GetMapping("/books")
     public ResponseEntity<List<Book>> getAllBooks(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "false") boolean count
     ) {
         log.debug("REST request to get a page of Books");
+        if (cursor != null) {
+            KeysetPaginationUtil.checkSort(pageable.getSort(), "id", ENTITY_NAME);
+            Long after = KeysetPaginationUtil.decode(cursor, Long::valueOf, ENTITY_NAME);
+            KeysetPage<Book> page = bookService.findAllAfter(after, pageable.getPageSize(), eagerload, count);
+            return keysetResponse(page, pageable);
+        }
         Page<Book> page;
         if (eagerload) {
             page = bookService.findAllWithEagerRelationships(pageable);
@@ -163,29 +183,60 @@ public class BookResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /books/category} : get the tiles of the books of a category, for the catalogue grid.
+     *
+     * @param pageable the pagination information.
+     * @param eagerload unused, the tiles always have the names of their authors.
+     * @param categoryId the id of the category, {@code -1} for all the books.
+     * @param cursor the cursor of the page, empty for the first one, to page by id instead of by page number.
+     * @param count flag to count all the books of the category when paging with a cursor.
+     * @param request the current request, for its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of book tiles in body, or with status
+     * {@code 304 (Not Modified)} if the books did not change.
+     */
     @GetMapping("/books/category")
-    public ResponseEntity<List<Book>> getAllBooksByCategory(
+    public ResponseEntity<List<BookTileDTO>> getAllBooksByCategory(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload,
-        @RequestParam(value = "categoryId", required = false) long categoryId
+        @RequestParam(value = "categoryId", required = false) long categoryId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "false") boolean count,
+        WebRequest request
     ) {
         log.debug("REST request to get a page of Books");
-        Page<Book> page = bookService.findAllByCategoryId(categoryId, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        if (cursor != null) {
+            KeysetPaginationUtil.checkSort(pageable.getSort(), "id", ENTITY_NAME);
+            Long after = KeysetPaginationUtil.decode(cursor, Long::valueOf, ENTITY_NAME);
+            return conditionalGet.respond(
+                request,
+                ResourceVersionService.BOOKS,
+                () -> keysetResponse(bookService.findAllByCategoryIdAfter(categoryId, after, pageable.getPageSize(), count), pageable)
+            );
+        }
+        return conditionalGet.respond(
+            request,
+            ResourceVersionService.BOOKS,
+            () -> {
+                Page<BookTileDTO> page = bookService.findAllByCategoryId(categoryId, pageable);
+                HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+                return ResponseEntity.ok().headers(headers).body(page.getContent());
+            }
+        );
     }
 
     /**
      * {@code GET  /books/:id} : get the "id" book.
      *
      * @param id the id of the book to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the book, or with status {@code 404 (Not Found)}.
+     * @param request the current request, for its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the book, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if the books did not change.
      */
     @GetMapping("/books/{id}")
-    public ResponseEntity<Book> getBook(@PathVariable Long id) {
+    public ResponseEntity<BookDTO> getBook(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Book : {}", id);
-        Optional<Book> book = bookService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(book);
+        return conditionalGet.respond(request, ResourceVersionService.BOOKS, () -> ResponseUtil.wrapOrNotFound(bookService.findOne(id)));
     }
 
     /**
@@ -234,4 +285,13 @@ public class BookResource {
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
+
+    private <T> ResponseEntity<List<T>> keysetResponse(KeysetPage<T> page, Pageable pageable) {
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            page,
+            pageable.getPageSize()
+        );
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
 }
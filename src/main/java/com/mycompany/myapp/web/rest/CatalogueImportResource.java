@@ -0,0 +1,104 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.domain.CatalogueImport;
+import com.mycompany.myapp.domain.enumeration.CatalogueImportFormat;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.catalogue.CatalogueImportService;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for bulk imports of books and book copies.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class CatalogueImportResource {
+
+    private static final String ENTITY_NAME = "catalogueImport";
+
+    private final Logger log = LoggerFactory.getLogger(CatalogueImportResource.class);
+
+    private final CatalogueImportService catalogueImportService;
+
+    public CatalogueImportResource(CatalogueImportService catalogueImportService) {
+        this.catalogueImportService = catalogueImportService;
+    }
+
+    /**
+     * {@code POST  /admin/catalogue-imports} : Import a CSV or JSONL file of books, see {@code CatalogueImportReader}.
+     * <p>
+     * The file is imported before the response is sent; {@code GET /admin/catalogue-imports/:id} reports the progress meanwhile.
+     *
+     * @param file the file.
+     * @param format the format of the file, guessed from its extension if omitted.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the import, completed or failed.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the format is unknown.
+     */
+    @PostMapping("/catalogue-imports")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<CatalogueImport> createCatalogueImport(
+        @RequestParam("file") MultipartFile file,
+        @RequestParam(required = false) CatalogueImportFormat format
+    ) throws IOException, URISyntaxException {
+        log.debug("REST request to import catalogue file : {}", file.getOriginalFilename());
+        if (format == null) {
+            try {
+                format = CatalogueImportService.formatOf(file.getOriginalFilename());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "unknownformat");
+            }
+        }
+        CatalogueImport result;
+        try (InputStream inputStream = file.getInputStream()) {
+            result = catalogueImportService.importFile(inputStream, file.getOriginalFilename(), format);
+        }
+        return ResponseEntity.created(new URI("/api/admin/catalogue-imports/" + result.getId())).body(result);
+    }
+
+    /**
+     * {@code POST  /admin/catalogue-imports/:id/resume} : Resume an import that failed or was interrupted.
+     *
+     * @param id the id of the import.
+     * @param file the same file as the first run, its rows already imported are skipped.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import, or with status
+     * {@code 409 (Conflict)} if it is running.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the import is unknown or completed.
+     */
+    @PostMapping("/catalogue-imports/{id}/resume")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<CatalogueImport> resumeCatalogueImport(@PathVariable Long id, @RequestParam("file") MultipartFile file)
+        throws IOException {
+        log.debug("REST request to resume catalogue import : {}", id);
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(catalogueImportService.resume(id, inputStream));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "notresumable");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * {@code GET  /admin/catalogue-imports/:id} : get the progress of an import.
+     *
+     * @param id the id of the import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/catalogue-imports/{id}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<CatalogueImport> getCatalogueImport(@PathVariable Long id) {
+        log.debug("REST request to get CatalogueImport : {}", id);
+        return ResponseUtil.wrapOrNotFound(catalogueImportService.findOne(id));
+    }
+}
@@ -5,7 +5,9 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 import com.mycompany.myapp.domain.Category;
 import com.mycompany.myapp.repository.CategoryRepository;
 import com.mycompany.myapp.service.CategoryService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ConditionalGet;
 import io.undertow.util.BadRequestException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -24,6 +26,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -47,9 +50,12 @@ public class CategoryResource {
 
     private final CategoryRepository categoryRepository;
 
-    public CategoryResource(CategoryService categoryService, CategoryRepository categoryRepository) {
+    private final ConditionalGet conditionalGet;
+
+    public CategoryResource(CategoryService categoryService, CategoryRepository categoryRepository, ConditionalGet conditionalGet) {
         this.categoryService = categoryService;
         this.categoryRepository = categoryRepository;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -145,14 +151,18 @@ public class CategoryResource {
     /**
      * {@code GET  /categories} : get all the categories.
      *
-     * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categories in body.
+     * @param request the current request, for its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categories in body, or with status
+     * {@code 304 (Not Modified)} if they did not change.
      */
     @GetMapping("/categories")
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest request) {
         log.debug("REST request to get a page of Categories");
-        List<Category> categoryList = categoryService.findAll();
-        return ResponseEntity.ok().body(categoryList);
+        return conditionalGet.respond(
+            request,
+            ResourceVersionService.CATEGORIES,
+            () -> ResponseEntity.ok().body(categoryService.findAll())
+        );
     }
 
     /**
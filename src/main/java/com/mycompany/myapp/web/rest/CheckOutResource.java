@@ -5,23 +5,35 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 import com.mycompany.myapp.domain.CheckOut;
 import com.mycompany.myapp.domain.enumeration.Status;
 import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.CheckOutExportService;
 import com.mycompany.myapp.service.CheckOutService;
+import com.mycompany.myapp.service.dto.CheckOutSummaryDTO;
+import com.mycompany.myapp.service.dto.KeysetPage;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
 import io.undertow.util.BadRequestException;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
@@ -46,9 +58,16 @@ public class CheckOutResource {
 
     private final CheckOutRepository checkOutRepository;
 
-    public CheckOutResource(CheckOutService checkOutService, CheckOutRepository checkOutRepository) {
+    private final CheckOutExportService checkOutExportService;
+
+    public CheckOutResource(
+        CheckOutService checkOutService,
+        CheckOutRepository checkOutRepository,
+        CheckOutExportService checkOutExportService
+    ) {
         this.checkOutService = checkOutService;
         this.checkOutRepository = checkOutRepository;
+        this.checkOutExportService = checkOutExportService;
     }
 
     /**
@@ -155,27 +174,88 @@ public class CheckOutResource {
     //        return ResponseEntity.ok().headers(headers).body(page.getContent());
     //    }
     @GetMapping("/check-outs")
-    public ResponseEntity<List<CheckOut>> getAllCheckOutsByStatus(
+    public ResponseEntity<List<CheckOutSummaryDTO>> getAllCheckOutsByStatus(
         @RequestParam(value = "status", required = false) Status status,
-        @org.springdoc.api.annotations.ParameterObject Pageable pageable
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "false") boolean count
     ) {
         log.debug("REST request to get a page of CheckOuts");
-        Page<CheckOut> page = checkOutService.findCheckoutByStatus(status, pageable);
+        if (cursor != null) {
+            KeysetPaginationUtil.checkSort(pageable.getSort(), "id", ENTITY_NAME);
+            Long after = KeysetPaginationUtil.decode(cursor, Long::valueOf, ENTITY_NAME);
+            KeysetPage<CheckOutSummaryDTO> page = checkOutService.findCheckoutByStatusAfter(status, after, pageable.getPageSize(), count);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page,
+                pageable.getPageSize()
+            );
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        Page<CheckOutSummaryDTO> page = checkOutService.findCheckoutByStatus(status, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     @GetMapping("/check-outs-client")
-    public ResponseEntity<List<CheckOut>> getAllCheckOutsByPatronAccount(
+    public ResponseEntity<List<CheckOutSummaryDTO>> getAllCheckOutsByPatronAccount(
         @RequestParam(value = "cardNumber", required = false) String cardNumber,
         @RequestParam(value = "status", required = false) Status status,
         @RequestParam(value = "returned", required = false) boolean returned
     ) {
         log.debug("REST request to get a page of CheckOuts");
-        List<CheckOut> page = checkOutService.findCheckOutByStatusAndReturn(cardNumber.trim(), status, returned);
+        List<CheckOutSummaryDTO> page = checkOutService.findCheckOutByStatusAndReturn(cardNumber.trim(), status, returned);
         return ResponseEntity.ok().body(page);
     }
 
+    /**
+     * {@code GET  /check-outs/export} : stream the check outs matching the filters, by id, as a CSV or JSONL download.
+     * <p>
+     * The rows are written to the response as they are read, whatever their number.
+     *
+     * @param status the status of the check outs, if given.
+     * @param from the check outs starting at or after this instant, if given.
+     * @param to the check outs starting before this instant, if given.
+     * @param cardNumber the card number of the patron, if given.
+     * @param format {@code csv} or {@code jsonl}.
+     * @param gzip whether to download a gzipped file.
+     * @param response the response to write to.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the format is unknown or the range is empty.
+     */
+    @GetMapping("/check-outs/export")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public void exportCheckOuts(
+        @RequestParam(value = "status", required = false) Status status,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        @RequestParam(value = "cardNumber", required = false) String cardNumber,
+        @RequestParam(value = "format", required = false, defaultValue = "csv") String format,
+        @RequestParam(value = "gzip", required = false, defaultValue = "false") boolean gzip,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export CheckOuts");
+        CheckOutExportService.Format exportFormat;
+        try {
+            exportFormat = CheckOutExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown export format", ENTITY_NAME, "unknownformat");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestAlertException("The range is empty", ENTITY_NAME, "emptyrange");
+        }
+        String fileName = "check-outs." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+        String trimmedCardNumber = cardNumber == null || cardNumber.isBlank() ? null : cardNumber.trim();
+        if (gzip) {
+            GZIPOutputStream outputStream = new GZIPOutputStream(response.getOutputStream());
+            checkOutExportService.export(status, from, to, trimmedCardNumber, exportFormat, outputStream);
+            outputStream.finish();
+        } else {
+            checkOutExportService.export(status, from, to, trimmedCardNumber, exportFormat, response.getOutputStream());
+        }
+    }
+
     /**
      * {@code GET  /check-outs/:id} : get the "id" checkOut.
      *
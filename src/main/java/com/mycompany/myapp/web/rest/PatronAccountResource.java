@@ -2,18 +2,24 @@ package com.mycompany.myapp.web.rest;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
+import com.mycompany.myapp.domain.OverduePatron;
 import com.mycompany.myapp.domain.PatronAccount;
 import com.mycompany.myapp.repository.PatronAccountRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.OverduePatronService;
 import com.mycompany.myapp.service.PatronAccountService;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
+import com.mycompany.myapp.service.dto.KeysetPage;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
 import com.mycompany.myapp.web.rest.vm.ManagedUserVM;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.StreamSupport;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -25,6 +31,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
@@ -49,9 +56,16 @@ public class PatronAccountResource {
 
     private final PatronAccountRepository patronAccountRepository;
 
-    public PatronAccountResource(PatronAccountService patronAccountService, PatronAccountRepository patronAccountRepository) {
+    private final OverduePatronService overduePatronService;
+
+    public PatronAccountResource(
+        PatronAccountService patronAccountService,
+        PatronAccountRepository patronAccountRepository,
+        OverduePatronService overduePatronService
+    ) {
         this.patronAccountService = patronAccountService;
         this.patronAccountRepository = patronAccountRepository;
+        this.overduePatronService = overduePatronService;
     }
 
     /**
@@ -149,19 +163,62 @@ public class PatronAccountResource {
      *
      * @param pageable  the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param cursor    the cursor of the page, empty for the first one, to page by card number instead of by page number.
+     * @param count     flag to count all the patronAccounts when paging with a cursor.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of patronAccounts in body.
      */
     @GetMapping("/patron-accounts")
     public ResponseEntity<List<PatronAccount>> getAllPatronAccounts(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "false") boolean count
     ) {
         log.debug("REST request to get a page of PatronAccounts");
+        if (cursor != null) {
+            KeysetPaginationUtil.checkSort(pageable.getSort(), "cardNumber", ENTITY_NAME);
+            String after = KeysetPaginationUtil.decode(cursor, Function.identity(), ENTITY_NAME);
+            KeysetPage<PatronAccount> page = patronAccountService.findAllUserAfter(after, pageable.getPageSize(), count);
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page,
+                pageable.getPageSize()
+            );
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
         Page<PatronAccount> page = patronAccountService.findAllUser(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /patron-accounts/overdue} : get the overdue check out count of the patrons having some, the oldest end time first.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of overdue patrons in body.
+     */
+    @GetMapping("/patron-accounts/overdue")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<OverduePatron>> getAllOverduePatrons(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
+        log.debug("REST request to get a page of OverduePatrons");
+        Page<OverduePatron> page = overduePatronService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /patron-accounts/:id/overdue} : get the overdue check out count of the "id" patronAccount.
+     *
+     * @param id the id of the patronAccount.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the overdue patron, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/patron-accounts/{id}/overdue")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<OverduePatron> getOverduePatron(@PathVariable String id) {
+        log.debug("REST request to get OverduePatron : {}", id);
+        return ResponseUtil.wrapOrNotFound(overduePatronService.findOne(id));
+    }
+
     @GetMapping("/patron-accounts/not-enough-condition")
     public ResponseEntity<List<PatronAccount>> getAllPatronAccountsNotEnoughCondition(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable
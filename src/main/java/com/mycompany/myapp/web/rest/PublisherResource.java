@@ -5,7 +5,9 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 import com.mycompany.myapp.domain.Publisher;
 import com.mycompany.myapp.repository.PublisherRepository;
 import com.mycompany.myapp.service.PublisherService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ConditionalGet;
 import io.undertow.util.BadRequestException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -24,6 +26,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -47,9 +50,12 @@ public class PublisherResource {
 
     private final PublisherRepository publisherRepository;
 
-    public PublisherResource(PublisherService publisherService, PublisherRepository publisherRepository) {
+    private final ConditionalGet conditionalGet;
+
+    public PublisherResource(PublisherService publisherService, PublisherRepository publisherRepository, ConditionalGet conditionalGet) {
         this.publisherService = publisherService;
         this.publisherRepository = publisherRepository;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -146,14 +152,18 @@ public class PublisherResource {
     /**
      * {@code GET  /publishers} : get all the publishers.
      *
-     * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of publishers in body.
+     * @param request the current request, for its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of publishers in body, or with status
+     * {@code 304 (Not Modified)} if they did not change.
      */
     @GetMapping("/publishers")
-    public ResponseEntity<List<Publisher>> getAllPublishers() {
+    public ResponseEntity<List<Publisher>> getAllPublishers(WebRequest request) {
         log.debug("REST request to get a page of Publishers");
-        List<Publisher> publishers = publisherService.findAll();
-        return ResponseEntity.ok().body(publishers);
+        return conditionalGet.respond(
+            request,
+            ResourceVersionService.PUBLISHERS,
+            () -> ResponseEntity.ok().body(publisherService.findAll())
+        );
     }
 
     /**
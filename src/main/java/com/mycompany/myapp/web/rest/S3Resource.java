@@ -1,5 +1,6 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.service.ImageVariantService;
 import com.mycompany.myapp.service.S3Service;
 import io.undertow.util.BadRequestException;
 import org.springframework.http.ResponseEntity;
@@ -12,13 +13,17 @@ public class S3Resource {
 
     private final S3Service s3Service;
 
-    public S3Resource(S3Service s3Service) {
+    private final ImageVariantService imageVariantService;
+
+    public S3Resource(S3Service s3Service, ImageVariantService imageVariantService) {
         this.s3Service = s3Service;
+        this.imageVariantService = imageVariantService;
     }
 
     @PostMapping("/upload")
     public ResponseEntity<String> createS3(@RequestBody MultipartFile file) throws BadRequestException {
         String imageUrl = s3Service.saveS3(file);
+        imageVariantService.generate(imageUrl);
         return ResponseEntity.ok(imageUrl);
     }
 }
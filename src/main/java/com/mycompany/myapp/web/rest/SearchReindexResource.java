@@ -0,0 +1,51 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.search.SearchReindexService;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller to rebuild the search indices.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class SearchReindexResource {
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexResource.class);
+
+    private final SearchReindexService searchReindexService;
+
+    public SearchReindexResource(SearchReindexService searchReindexService) {
+        this.searchReindexService = searchReindexService;
+    }
+
+    /**
+     * {@code POST  /admin/search/reindex} : Rebuild search indices in the background.
+     * <p>
+     * Progress is reported by the {@code /management/reindex} endpoint.
+     *
+     * @param indices the indices to rebuild, all of them if omitted.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)}, or with status {@code 409 (Conflict)} if a rebuild is already running.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if an index is unknown.
+     */
+    @PostMapping("/search/reindex")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> reindex(@RequestParam(required = false) List<String> indices) {
+        log.debug("REST request to rebuild search indices : {}", indices);
+        boolean started;
+        try {
+            started = searchReindexService.start(indices == null ? Collections.emptyList() : indices);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), "searchReindex", "unknownindex");
+        }
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+}
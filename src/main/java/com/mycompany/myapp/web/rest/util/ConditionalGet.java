@@ -0,0 +1,95 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET of the catalogue resources, with strong ETags made of the version of the resource in
+ * {@link ResourceVersionService}.
+ * <p>
+ * The version is read before the response is built: a request whose {@code If-None-Match} matches it gets a
+ * {@code 304 (Not Modified)} without reading the database or the caches; {@code If-None-Match: *} only gets one when the
+ * resource exists, so it is checked by building the response. The {@code Cache-Control} header lets browsers
+ * and shared caches keep the response for the configured ages, then revalidate it with its ETag. When Redis is
+ * unavailable, responses are sent without ETag or caching headers.
+ */
+@Component
+public class ConditionalGet {
+
+    private final ResourceVersionService resourceVersionService;
+
+    private final CacheControl cacheControl;
+
+    public ConditionalGet(ResourceVersionService resourceVersionService, ApplicationProperties applicationProperties) {
+        this.resourceVersionService = resourceVersionService;
+        ApplicationProperties.Cache.Http http = applicationProperties.getCache().getHttp();
+        this.cacheControl =
+            CacheControl
+                .maxAge(http.getMaxAgeSeconds(), TimeUnit.SECONDS)
+                .sMaxAge(http.getSharedMaxAgeSeconds(), TimeUnit.SECONDS)
+                .cachePublic()
+                .mustRevalidate();
+    }
+
+    /**
+     * Answer a GET request on a versioned resource.
+     *
+     * @param request the current request.
+     * @param resource the resource, see the constants of {@link ResourceVersionService}.
+     * @param response builds the full response, only called when the client does not have the current version.
+     * @param <T> the type of the body.
+     * @return the {@link ResponseEntity} with status {@code 304 (Not Modified)}, or the full response with its ETag when it is
+     * a {@code 200 (OK)}.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, String resource, Supplier<ResponseEntity<T>> response) {
+        Long version = resourceVersionService.getVersion(resource);
+        if (version == null) {
+            return response.get();
+        }
+        String eTag = "\"" + resource + "-" + version + "\"";
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (matches(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        ResponseEntity<T> result = response.get();
+        if (result.getStatusCode() != HttpStatus.OK) {
+            return result;
+        }
+        if (matches(ifNoneMatch, "*")) {
+            // "*" only matches a resource that exists, which is not known before the response is built
+            return notModified(eTag);
+        }
+        return ResponseEntity.ok().headers(result.getHeaders()).eTag(eTag).cacheControl(cacheControl).body(result.getBody());
+    }
+
+    private <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+    }
+
+    /**
+     * Weak comparison of {@code If-None-Match}, as required for it: a {@code W/} prefix is ignored.
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (eTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.service.dto.KeysetPage;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * A listing is read page after page by following the {@code next} link, whose {@code cursor} parameter is an opaque
+ * token for the sort key of the last row of the page. An empty {@code cursor} asks for the first page. The rows are always
+ * ordered by their sort key, ascending, and a cursor sent with another {@code sort} is rejected. The {@code Link}
+ * header has the same format as the one of {@link tech.jhipster.web.util.PaginationUtil}, and the {@code X-Total-Count}
+ * header is only sent when the total was counted.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "cursor";
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate pagination headers for a keyset page.
+     *
+     * @param uriBuilder the URI builder of the current request.
+     * @param page the page.
+     * @param size the page size.
+     * @param <T> the type of the rows.
+     * @return the http headers.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetPage<T> page, int size) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getTotalElements() != null) {
+            headers.add(HEADER_X_TOTAL_COUNT, Long.toString(page.getTotalElements()));
+        }
+        StringBuilder link = new StringBuilder();
+        if (page.hasNext()) {
+            link.append(prepareLink(uriBuilder, encode(page.getNextKey()), size, "next")).append(",");
+        }
+        link.append(prepareLink(uriBuilder, "", size, "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    /**
+     * Read the sort key a page starts after from a cursor.
+     *
+     * @param cursor the cursor sent by the client, empty for the first page.
+     * @param parser the parser of the sort key.
+     * @param entityName the name of the listed entity, for the error.
+     * @param <K> the type of the sort key.
+     * @return the sort key, or {@code null} for the first page.
+     * @throws BadRequestAlertException if the cursor was not generated by {@link #generateKeysetHttpHeaders}.
+     */
+    public static <K> K decode(String cursor, Function<String, K> parser, String entityName) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Check that a keyset page is not asked for in another order than by its sort key.
+     *
+     * @param sort the sort requested by the client.
+     * @param key the property of the sort key.
+     * @param entityName the name of the listed entity, for the error.
+     * @throws BadRequestAlertException if the sort is not empty nor ascending by the sort key.
+     */
+    public static void checkSort(Sort sort, String key, String entityName) {
+        if (sort.isSorted() && !sort.equals(Sort.by(Sort.Direction.ASC, key))) {
+            throw new BadRequestAlertException("Cursor pages are sorted by " + key, entityName, "cursorsort");
+        }
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String cursor, int size, String relType) {
+        return MessageFormat.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, cursor, size), relType);
+    }
+
+    private static String preparePageUri(UriComponentsBuilder uriBuilder, String cursor, int size) {
+        return uriBuilder
+            .replaceQueryParam("page")
+            .replaceQueryParam(CURSOR_PARAMETER, cursor)
+            .replaceQueryParam("size", Integer.toString(size))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+    }
+}
@@ -0,0 +1,98 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RedisCacheMetersServiceTests {
+
+    private MeterRegistry meterRegistry;
+
+    private RedisCacheMetersService redisCacheMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        redisCacheMetersService = new RedisCacheMetersService(meterRegistry);
+    }
+
+    @Test
+    void testOperationIsTimedWithItsResult() {
+        RedisCacheMetersService.Operation operation = redisCacheMetersService.start("book");
+        redisCacheMetersService.stop(operation, "getBookById", RedisCacheMetersService.RESULT_HIT);
+
+        assertThat(
+            meterRegistry
+                .get(RedisCacheMetersService.OPERATIONS_METER_NAME)
+                .tag("cache", "book")
+                .tag("operation", "getBookById")
+                .tag("result", "hit")
+                .timer()
+                .count()
+        )
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testNearCacheHitIsTaggedApart() {
+        RedisCacheMetersService.Operation operation = redisCacheMetersService.start("book");
+        redisCacheMetersService.trackNearCacheHit();
+        redisCacheMetersService.stop(operation, "getBookById", RedisCacheMetersService.RESULT_HIT);
+        operation = redisCacheMetersService.start("book");
+        redisCacheMetersService.stop(operation, "getBookById", RedisCacheMetersService.RESULT_HIT);
+
+        assertThat(meterRegistry.get(RedisCacheMetersService.OPERATIONS_METER_NAME).tag("result", "near-hit").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(RedisCacheMetersService.OPERATIONS_METER_NAME).tag("result", "hit").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSwallowedErrorIsAttributedToCurrentOperation() {
+        RedisCacheMetersService.Operation operation = redisCacheMetersService.start("category");
+        redisCacheMetersService.trackError(new IllegalStateException("connection refused"));
+        redisCacheMetersService.stop(operation, "getCategoryFromRedis", RedisCacheMetersService.RESULT_MISS);
+
+        assertThat(
+            meterRegistry
+                .get(RedisCacheMetersService.ERRORS_METER_NAME)
+                .tag("cache", "category")
+                .tag("exception", "IllegalStateException")
+                .counter()
+                .count()
+        )
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(RedisCacheMetersService.OPERATIONS_METER_NAME).tag("result", "error").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(RedisCacheMetersService.OPERATIONS_METER_NAME).tag("result", "miss").timer()).isNull();
+    }
+
+    @Test
+    void testPayloadIsAttributedToCurrentOperation() {
+        RedisCacheMetersService.Operation operation = redisCacheMetersService.start("publisher");
+        redisCacheMetersService.trackPayload(RedisCacheMetersService.DIRECTION_READ, 128);
+        redisCacheMetersService.stop(operation, "getPublisherFromRedis", RedisCacheMetersService.RESULT_HIT);
+        redisCacheMetersService.trackPayload(RedisCacheMetersService.DIRECTION_WRITE, 64);
+
+        assertThat(
+            meterRegistry
+                .get(RedisCacheMetersService.PAYLOAD_METER_NAME)
+                .tag("cache", "publisher")
+                .tag("direction", "read")
+                .summary()
+                .totalAmount()
+        )
+            .isEqualTo(128);
+        assertThat(
+            meterRegistry
+                .get(RedisCacheMetersService.PAYLOAD_METER_NAME)
+                .tag("cache", "unknown")
+                .tag("direction", "write")
+                .summary()
+                .count()
+        )
+            .isEqualTo(1);
+    }
+}
@@ -0,0 +1,191 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.WaitList;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.web.rest.UserResourceIT;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that reading a page of entities with their relationships, and writing it as JSON, takes the same number of
+ * statements whatever the page size, and that the JSON only has the relationships that were fetched.
+ * <p>
+ * Not transactional: the page is read in a read-only transaction, like the services do, and written once it has ended,
+ * like the resources do, so that a lazy collection left out of the fetches cannot be loaded while writing.
+ */
+@IntegrationTest
+class EagerRelationshipsIT {
+
+    private static final int BOOKS = 12;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
+    @Autowired
+    private WaitListRepository waitListRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private final List<Object> entities = new ArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> persistEntities());
+    }
+
+    private void persistEntities() {
+        Author[] authors = new Author[4];
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = new Author().name("author " + i);
+            persist(authors[i]);
+        }
+        Publisher[] publishers = new Publisher[3];
+        PatronAccount[] patronAccounts = new PatronAccount[3];
+        for (int i = 0; i < publishers.length; i++) {
+            publishers[i] = new Publisher().name("publisher " + i);
+            persist(publishers[i]);
+            User user = UserResourceIT.createEntity(em);
+            persist(user);
+            patronAccounts[i] = new PatronAccount().cardNumber("ER0000000" + i).user(user);
+            persist(patronAccounts[i]);
+        }
+        for (int i = 0; i < BOOKS; i++) {
+            Category category = new Category().name("category " + i);
+            persist(category);
+            Book book = new Book().title("book " + i).category(category).addAuthor(authors[i % 4]).addAuthor(authors[(i + 1) % 4]);
+            persist(book);
+            for (int j = 0; j < 2; j++) {
+                BookCopy bookCopy = new BookCopy().yearPublished(2000 + j).amount(1).book(book).publisher(publishers[(i + j) % 3]);
+                persist(bookCopy);
+                persist(
+                    new CheckOut()
+                        .startTime(Instant.now())
+                        .endTime(Instant.now())
+                        .status(Status.Confirmed)
+                        .isReturned(false)
+                        .bookCopy(bookCopy)
+                        .patronAccount(patronAccounts[j])
+                );
+            }
+            persist(new WaitList().creatAt(Instant.now()).book(book).patronAccount(patronAccounts[i % 3]));
+        }
+    }
+
+    private void persist(Object entity) {
+        em.persist(entity);
+        entities.add(entity);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        transactionTemplate.executeWithoutResult(status -> {
+            // the relationships are owned by the entities persisted last
+            for (int i = entities.size() - 1; i >= 0; i--) {
+                Object entity = entities.get(i);
+                em.remove(em.find(entity.getClass(), em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity)));
+            }
+        });
+    }
+
+    @Test
+    void booksTakeAConstantNumberOfStatements() throws Exception {
+        assertThat(statements(bookRepository::findAllWithEagerRelationships, 2))
+            .isEqualTo(statements(bookRepository::findAllWithEagerRelationships, BOOKS));
+    }
+
+    @Test
+    void booksOnlyHaveTheirAuthors() throws Exception {
+        for (JsonNode book : json(bookRepository::findAllWithEagerRelationships, BOOKS)) {
+            assertThat(book.get("authors")).hasSize(2);
+            assertThat(book.get("category").get("name").asText()).startsWith("category");
+            assertThat(book.path("bookCopies").isNull() || book.path("bookCopies").isMissingNode()).isTrue();
+        }
+    }
+
+    @Test
+    void bookCopiesTakeAConstantNumberOfStatements() throws Exception {
+        assertThat(statements(bookCopyRepository::findAllWithEagerRelationships, 2))
+            .isEqualTo(statements(bookCopyRepository::findAllWithEagerRelationships, BOOKS));
+    }
+
+    @Test
+    void bookCopiesDoNotHaveTheirCheckOuts() throws Exception {
+        for (JsonNode bookCopy : json(bookCopyRepository::findAllWithEagerRelationships, BOOKS)) {
+            assertThat(bookCopy.get("book").get("title").asText()).startsWith("book");
+            assertThat(bookCopy.get("publisher").get("name").asText()).startsWith("publisher");
+            assertThat(bookCopy.path("checkOuts").isNull() || bookCopy.path("checkOuts").isMissingNode()).isTrue();
+        }
+    }
+
+    @Test
+    void waitListsTakeAConstantNumberOfStatements() throws Exception {
+        assertThat(statements(waitListRepository::findAllWithEagerRelationships, 2))
+            .isEqualTo(statements(waitListRepository::findAllWithEagerRelationships, BOOKS));
+    }
+
+    private long statements(Function<Pageable, Page<?>> query, int size) throws Exception {
+        em.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+        write(query, size);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private JsonNode json(Function<Pageable, Page<?>> query, int size) throws Exception {
+        return objectMapper.readTree(write(query, size));
+    }
+
+    private String write(Function<Pageable, Page<?>> query, int size) throws Exception {
+        Sort sort = Sort.by(Sort.Direction.DESC, "id");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Page<?> page = readOnly.execute(status -> query.apply(PageRequest.of(0, size, sort)));
+        assertThat(page.getContent()).hasSize(size);
+        return objectMapper.writeValueAsString(page.getContent());
+    }
+}
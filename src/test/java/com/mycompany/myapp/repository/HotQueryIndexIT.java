@@ -0,0 +1,166 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that the hot repository queries are served by an index.
+ * <p>
+ * The tables are seeded and analyzed in a transaction that is rolled back, and sequential scans are disabled for the
+ * planner: it then only plans one when no index can serve the predicate, whatever the size of the seeded data.
+ */
+@IntegrationTest
+class HotQueryIndexIT {
+
+    private static final long ID = 900000;
+
+    private static final String CARD_NUMBER = "'HQ00000001'";
+
+    private static final Map<String, String> HOT_QUERIES = new LinkedHashMap<>();
+
+    static {
+        HOT_QUERIES.put("CheckOutRepository.findCheckoutByStatus", "select * from check_out where status = 'Pending'");
+        HOT_QUERIES.put(
+            "CheckOutRepository.findCheckOutByStatusAfter",
+            "select * from check_out where status = 'Confirmed' and id > " + ID + " order by id limit 21"
+        );
+        HOT_QUERIES.put(
+            "CheckOutRepository.findCheckoutByPatron",
+            "select * from check_out where patron_account_card_number = " + CARD_NUMBER + " order by end_time desc"
+        );
+        HOT_QUERIES.put(
+            "CheckOutRepository.findCheckOutByStatusAndReturn",
+            "select * from check_out where status = 'Confirmed' and is_returned = false and patron_account_card_number = " +
+            CARD_NUMBER +
+            " order by start_time desc"
+        );
+        HOT_QUERIES.put(
+            "CheckOutRepository.findCardNumbersDueBetween",
+            "select distinct patron_account_card_number from check_out where status = 'Confirmed' and is_returned = false " +
+            "and end_time >= now() - interval '2 minutes' and end_time < now()"
+        );
+        HOT_QUERIES.put(
+            "OverduePatronRepository.findAllPatronAccounts",
+            "select pa.* from overdue_patron op join patron_account pa on pa.card_number = op.card_number " +
+            "join jhi_user u on u.id = pa.user_id where u.activated = true order by op.oldest_end_time limit 20"
+        );
+        HOT_QUERIES.put("BookRepository.findBookIdsByCategoryId", "select id from book where category_id = " + ID + " limit 20");
+        HOT_QUERIES.put(
+            "BookRepository.findBookIdsByCategoryIdAfter",
+            "select id from book where category_id = " + ID + " and id > " + ID + " order by id limit 21"
+        );
+        HOT_QUERIES.put(
+            "BookRepository.findAllByAuthorId",
+            "select b.* from book b join rel_book__author ba on ba.book_id = b.id where ba.author_id = " + ID
+        );
+        HOT_QUERIES.put("BookCopyRepository.checkBookAvailable", "select * from book_copy where book_id = " + ID + " and amount > 0");
+        HOT_QUERIES.put(
+            "BookCopyRepository.findPublishYearOfPublisher",
+            "select * from book_copy where publisher_id = " + ID + " and book_id = " + ID + " and year_published = 2001"
+        );
+        HOT_QUERIES.put("WaitListRepository.findByBookId", "select * from wait_list where book_id = " + ID);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void hotQueriesDoNotScanWholeTables() {
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(status -> {
+                seed();
+                jdbcTemplate.execute("set local enable_seqscan = off");
+                for (Map.Entry<String, String> query : HOT_QUERIES.entrySet()) {
+                    List<String> plan = jdbcTemplate.queryForList("explain " + query.getValue(), String.class);
+                    assertThat(String.join("\n", plan)).as(query.getKey()).doesNotContain("Seq Scan");
+                }
+                status.setRollbackOnly();
+            });
+    }
+
+    private void seed() {
+        jdbcTemplate.update(
+            "insert into category (id, name) select ?::bigint + i, 'category ' || i from generate_series(0, 49) i",
+            ID
+        );
+        jdbcTemplate.update(
+            "insert into publisher (id, name) select ?::bigint + i, 'publisher ' || i from generate_series(0, 19) i",
+            ID
+        );
+        jdbcTemplate.update("insert into author (id, name) select ?::bigint + i, 'author ' || i from generate_series(0, 199) i", ID);
+        jdbcTemplate.update(
+            "insert into book (id, title, category_id) " +
+            "select ?::bigint + i, 'book ' || i, ?::bigint + i % 50 from generate_series(0, 4999) i",
+            ID,
+            ID
+        );
+        jdbcTemplate.update(
+            "insert into rel_book__author (book_id, author_id) select ?::bigint + i, ?::bigint + i % 200 from generate_series(0, 4999) i",
+            ID,
+            ID
+        );
+        jdbcTemplate.update(
+            "insert into book_copy (id, year_published, amount, book_id, publisher_id) " +
+            "select ?::bigint + i, 2000 + i % 20, i % 3, ?::bigint + i % 5000, ?::bigint + i % 20 from generate_series(0, 9999) i",
+            ID,
+            ID,
+            ID
+        );
+        jdbcTemplate.update(
+            "insert into jhi_user (id, login, activated, created_by) " +
+            "select ?::bigint + i, 'hot-query-' || i, true, 'system' from generate_series(0, 499) i",
+            ID
+        );
+        jdbcTemplate.update(
+            "insert into patron_account (card_number, user_id) " +
+            "select 'HQ' || lpad(i::text, 8, '0'), ?::bigint + i from generate_series(0, 499) i",
+            ID
+        );
+        jdbcTemplate.update(
+            "insert into check_out (id, start_time, end_time, status, is_returned, book_copy_id, patron_account_card_number) " +
+            "select ?::bigint + i, now() - (i % 365) * interval '1 day', now() - (i % 365 - 14) * interval '1 day', " +
+            "(array['Pending', 'Confirmed', 'Confirmed', 'Confirmed', 'Refused'])[1 + i % 5], i % 10 <> 0, " +
+            "?::bigint + i % 10000, 'HQ' || lpad((i % 500)::text, 8, '0') from generate_series(0, 49999) i",
+            ID,
+            ID
+        );
+        jdbcTemplate.update(
+            "insert into wait_list (id, creat_at, patron_account_card_number, book_id) " +
+            "select ?::bigint + i, now(), 'HQ' || lpad((i % 500)::text, 8, '0'), ?::bigint + i % 5000 from generate_series(0, 4999) i",
+            ID,
+            ID
+        );
+        jdbcTemplate.update(
+            "insert into overdue_patron (card_number, overdue_count, oldest_end_time) " +
+            "select patron_account_card_number, count(*), min(end_time) from check_out " +
+            "where status = 'Confirmed' and is_returned = false and end_time < now() group by patron_account_card_number"
+        );
+        for (String table : List.of(
+            "category",
+            "publisher",
+            "author",
+            "book",
+            "rel_book__author",
+            "book_copy",
+            "jhi_user",
+            "patron_account",
+            "check_out",
+            "wait_list",
+            "overdue_patron"
+        )) {
+            jdbcTemplate.execute("analyze " + table);
+        }
+    }
+}
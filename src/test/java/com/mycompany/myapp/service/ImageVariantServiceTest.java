@@ -0,0 +1,126 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.repository.BookCopyRepository;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.service.redis.BookRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import com.mycompany.myapp.service.search.SearchIndexer;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ImageVariantServiceTest {
+
+    private static final String BUCKET_URL = "https://bucket.s3.amazonaws.com/";
+
+    private static final String IMAGE = BUCKET_URL + "cover.png";
+
+    private S3Service s3Service;
+
+    private BookRepository bookRepository;
+
+    private BookRedisService bookRedisService;
+
+    private PlatformTransactionManager transactionManager;
+
+    private ImageVariantService imageVariantService;
+
+    @BeforeEach
+    public void setup() {
+        s3Service = mock(S3Service.class);
+        when(s3Service.getKey(anyString())).thenAnswer(invocation -> invocation.<String>getArgument(0).substring(BUCKET_URL.length()));
+        when(s3Service.getUrl(anyString())).thenAnswer(invocation -> BUCKET_URL + invocation.getArgument(0));
+        bookRepository = mock(BookRepository.class);
+        BookCopyRepository bookCopyRepository = mock(BookCopyRepository.class);
+        bookRedisService = mock(BookRedisService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        imageVariantService =
+            new ImageVariantService(
+                s3Service,
+                bookRepository,
+                bookCopyRepository,
+                bookRedisService,
+                mock(SearchIndexer.class),
+                new ApplicationProperties(),
+                transactionManager,
+                mock(ResourceVersionService.class)
+            );
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void destroy() {
+        TransactionSynchronizationManager.clearSynchronization();
+        imageVariantService.destroy();
+    }
+
+    @Test
+    void knownVariantsAreKeptWithoutCallingS3() {
+        Book book = new Book().image(IMAGE).imageLarge(BUCKET_URL + "cover-large.jpg");
+
+        imageVariantService.applyVariants(book);
+
+        assertThat(book.getImageThumbnail()).isEqualTo(BUCKET_URL + "cover-thumbnail.jpg");
+        assertThat(book.getImageMedium()).isEqualTo(BUCKET_URL + "cover-medium.jpg");
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verify(s3Service, never()).exists(anyString());
+    }
+
+    @Test
+    void unknownVariantsAreRecordedAfterCommit() {
+        Book book = new Book().id(1L).image(IMAGE);
+        when(s3Service.exists("cover-large.jpg")).thenReturn(true);
+        when(bookRepository.findAllByImage(IMAGE)).thenReturn(Collections.singletonList(book));
+
+        imageVariantService.applyVariants(book);
+
+        assertThat(book.getImageLarge()).isNull();
+        verify(s3Service, never()).exists(anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(s3Service, timeout(5000)).exists("cover-large.jpg");
+        verify(bookRepository, timeout(5000)).findAllByImage(IMAGE);
+        // the cached book is evicted once the variants are committed, outside of the transaction
+        verify(bookRedisService, timeout(5000)).deleteBooksId(Collections.singletonList(1L));
+        InOrder inOrder = inOrder(transactionManager, bookRedisService);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(bookRedisService).deleteBooksId(Collections.singletonList(1L));
+    }
+
+    @Test
+    void resizeKeepsTheAspectRatioWithoutTransparency() {
+        BufferedImage source = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage thumbnail = ImageVariantService.resize(source, 160);
+
+        assertThat(thumbnail.getWidth()).isEqualTo(160);
+        assertThat(thumbnail.getHeight()).isEqualTo(80);
+        assertThat(thumbnail.getType()).isEqualTo(BufferedImage.TYPE_INT_RGB);
+        // transparent pixels are drawn on white
+        assertThat(thumbnail.getRGB(0, 0) & 0xffffff).isEqualTo(0xffffff);
+    }
+
+    @Test
+    void resizeNeverEnlarges() {
+        BufferedImage source = new BufferedImage(120, 300, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage large = ImageVariantService.resize(source, 1200);
+
+        assertThat(large.getWidth()).isEqualTo(120);
+        assertThat(large.getHeight()).isEqualTo(300);
+    }
+}
@@ -0,0 +1,141 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.repository.BookCopyRepository;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.service.redis.BookRedisService;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import io.undertow.util.BadRequestException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link InventoryService}.
+ * <p>
+ * Not transactional: every reservation commits in its own transaction, as concurrent checkout confirmations do.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=" + InventoryServiceIT.THREADS)
+class InventoryServiceIT {
+
+    static final int THREADS = 16;
+
+    private static final int COPIES = 100;
+
+    private static final int CONFIRMATIONS = 1000;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookRedisService bookRedisService;
+
+    private BookCopy bookCopy;
+
+    @BeforeEach
+    public void init() {
+        bookCopy = bookCopyRepository.saveAndFlush(new BookCopy().yearPublished(2024).amount(COPIES));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        bookCopyRepository.deleteById(bookCopy.getId());
+    }
+
+    @Test
+    void parallelConfirmationsNeverOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> confirmations = new ArrayList<>();
+        for (int i = 0; i < CONFIRMATIONS; i++) {
+            confirmations.add(
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        inventoryService.reserve(bookCopy.getId());
+                        reserved.incrementAndGet();
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                })
+            );
+        }
+        start.countDown();
+        for (Future<?> confirmation : confirmations) {
+            confirmation.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(reserved.get()).isEqualTo(COPIES);
+        assertThat(rejected.get()).isEqualTo(CONFIRMATIONS - COPIES);
+        assertThat(bookCopyRepository.findById(bookCopy.getId()).get().getAmount()).isZero();
+    }
+
+    @Test
+    void releaseGivesCopyBack() throws Exception {
+        bookCopyRepository.saveAndFlush(bookCopy.amount(1));
+
+        assertThat(inventoryService.reserve(bookCopy.getId()).getAmount()).isZero();
+        assertThatThrownBy(() -> inventoryService.reserve(bookCopy.getId())).isInstanceOf(BadRequestException.class);
+
+        inventoryService.release(bookCopy.getId());
+
+        assertThat(bookCopyRepository.findById(bookCopy.getId()).get().getAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void reserveAndReleaseBumpTheBooksVersion() throws Exception {
+        Long version = resourceVersionService.getVersion(ResourceVersionService.BOOKS);
+
+        inventoryService.reserve(bookCopy.getId());
+        Long reserved = resourceVersionService.getVersion(ResourceVersionService.BOOKS);
+        assertThat(reserved).isGreaterThan(version);
+
+        inventoryService.release(bookCopy.getId());
+        assertThat(resourceVersionService.getVersion(ResourceVersionService.BOOKS)).isGreaterThan(reserved);
+    }
+
+    @Test
+    void reserveEvictsTheCachedBook() throws Exception {
+        Book book = bookRepository.saveAndFlush(new Book().title("AAAAAAAAAA"));
+        bookCopyRepository.saveAndFlush(bookCopy.book(book));
+        try {
+            bookRedisService.saveBooks(book);
+
+            inventoryService.reserve(bookCopy.getId());
+
+            assertThat(bookRedisService.getBookById(book.getId())).isNull();
+        } finally {
+            bookCopyRepository.saveAndFlush(bookCopy.book(null));
+            bookRepository.deleteById(book.getId());
+        }
+    }
+}
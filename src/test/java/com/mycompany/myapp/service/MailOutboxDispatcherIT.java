@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.enumeration.MailStatus;
+import com.mycompany.myapp.repository.MailOutboxRepository;
+import com.mycompany.myapp.service.dto.InfoCheckOut;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link MailOutboxDispatcher}, against a local GreenMail SMTP server.
+ */
+@IntegrationTest
+@TestPropertySource(properties = { "spring.mail.host=localhost", "spring.mail.port=3025" })
+class MailOutboxDispatcherIT {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @AfterEach
+    public void cleanup() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void queuedMailsAreSentInOneBatch() throws Exception {
+        List<InfoCheckOut> infoCheckOuts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            infoCheckOuts.add(infoCheckOut("patron" + i));
+        }
+        mailService.sendBookAvailable(infoCheckOuts);
+
+        mailOutboxDispatcher.dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).isNotBlank();
+        assertThat(mailOutboxRepository.findAll())
+            .hasSize(3)
+            .allSatisfy(mail -> {
+                assertThat(mail.getStatus()).isEqualTo(MailStatus.SENT);
+                assertThat(mail.getSentAt()).isNotNull();
+            });
+    }
+
+    @Test
+    void failedMailIsRetriedLater() {
+        mailService.sendReturnBook(infoCheckOut("patron"));
+        greenMail.stop();
+
+        mailOutboxDispatcher.dispatch();
+
+        assertThat(mailOutboxRepository.findAll())
+            .singleElement()
+            .satisfies(mail -> {
+                assertThat(mail.getStatus()).isEqualTo(MailStatus.PENDING);
+                assertThat(mail.getAttempts()).isEqualTo(1);
+                assertThat(mail.getNextAttemptAt()).isAfter(Instant.now());
+                assertThat(mail.getLastError()).isNotNull();
+            });
+    }
+
+    @Test
+    void mailWithoutRecipientIsNotQueued() {
+        mailService.sendOverdueBook(new InfoCheckOut());
+
+        assertThat(mailOutboxRepository.count()).isZero();
+    }
+
+    private static InfoCheckOut infoCheckOut(String username) {
+        InfoCheckOut infoCheckOut = new InfoCheckOut();
+        infoCheckOut.setUsername(username);
+        infoCheckOut.setEmail(username + "@localhost");
+        infoCheckOut.setBookTitle("The Book");
+        return infoCheckOut;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.service.dto.InfoCheckOut;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the cost per message of a bulk mail, rendered by the template engine for each recipient and from the
+ * skeleton of {@link MailTemplateRenderer#renderAll}.
+ * <p>
+ * Run the {@link #main} method from the IDE, or {@code java -cp <test classpath> org.openjdk.jmh.Main MailTemplateRendererBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTemplateRendererBenchmark {
+
+    private static final String TEMPLATE_NAME = "mail/bookAvailable";
+
+    private static final Locale LOCALE = Locale.ENGLISH;
+
+    private static final int RECIPIENTS = 2000;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    private List<InfoCheckOut> infoCheckOuts;
+
+    @Setup
+    public void setup() {
+        mailTemplateRenderer = MailTemplateRendererTest.mailTemplateRenderer();
+        infoCheckOuts = MailTemplateRendererTest.infoCheckOuts(RECIPIENTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void process(Blackhole blackhole) {
+        for (InfoCheckOut infoCheckOut : infoCheckOuts) {
+            blackhole.consume(mailTemplateRenderer.process(TEMPLATE_NAME, LOCALE, infoCheckOut));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void renderAll(Blackhole blackhole) {
+        blackhole.consume(mailTemplateRenderer.renderAll(TEMPLATE_NAME, LOCALE, infoCheckOuts));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MailTemplateRendererBenchmark.class.getSimpleName()).build()).run();
+    }
+}
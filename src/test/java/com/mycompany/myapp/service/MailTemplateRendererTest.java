@@ -0,0 +1,101 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.service.dto.InfoCheckOut;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Tests for {@link MailTemplateRenderer}. The cost per message of both rendering paths is measured by
+ * {@link MailTemplateRendererBenchmark}.
+ */
+class MailTemplateRendererTest {
+
+    private static final Locale LOCALE = Locale.ENGLISH;
+
+    private static final int RECIPIENTS = 100;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    @BeforeEach
+    public void setup() {
+        mailTemplateRenderer = mailTemplateRenderer();
+    }
+
+    @Test
+    void skeletonRendersTheSameHtmlAsTheTemplateEngine() {
+        InfoCheckOut infoCheckOut = infoCheckOut("<b>patron</b> & co", "Tom's \"Book\"");
+
+        for (String templateName : new String[] { "mail/bookAvailable", "mail/returnBook", "mail/overdueBook" }) {
+            assertThat(mailTemplateRenderer.render(templateName, LOCALE, infoCheckOut))
+                .isEqualTo(mailTemplateRenderer.process(templateName, LOCALE, infoCheckOut));
+        }
+    }
+
+    @Test
+    void missingPropertiesAreRenderedAsTheTemplateEngineDoes() {
+        InfoCheckOut infoCheckOut = infoCheckOut(null, "Book");
+
+        assertThat(mailTemplateRenderer.render("mail/returnBook", LOCALE, infoCheckOut))
+            .isEqualTo(mailTemplateRenderer.process("mail/returnBook", LOCALE, infoCheckOut));
+    }
+
+    @Test
+    void bulkRenderingRendersTheSameHtmlPerRecipient() {
+        List<InfoCheckOut> infoCheckOuts = infoCheckOuts(RECIPIENTS);
+
+        List<String> contents = mailTemplateRenderer.renderAll("mail/bookAvailable", LOCALE, infoCheckOuts);
+
+        assertThat(contents).hasSize(RECIPIENTS);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            assertThat(contents.get(i)).isEqualTo(mailTemplateRenderer.process("mail/bookAvailable", LOCALE, infoCheckOuts.get(i)));
+        }
+    }
+
+    static MailTemplateRenderer mailTemplateRenderer() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl("http://127.0.0.1:8080");
+
+        return new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties);
+    }
+
+    static List<InfoCheckOut> infoCheckOuts(int recipients) {
+        List<InfoCheckOut> infoCheckOuts = new ArrayList<>();
+        for (int i = 0; i < recipients; i++) {
+            infoCheckOuts.add(infoCheckOut("patron" + i, "Book " + i));
+        }
+        return infoCheckOuts;
+    }
+
+    private static InfoCheckOut infoCheckOut(String username, String bookTitle) {
+        InfoCheckOut infoCheckOut = new InfoCheckOut();
+        infoCheckOut.setUsername(username);
+        infoCheckOut.setEmail(username + "@localhost");
+        infoCheckOut.setBookTitle(bookTitle);
+        return infoCheckOut;
+    }
+}
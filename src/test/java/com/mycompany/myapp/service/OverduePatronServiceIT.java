@@ -0,0 +1,107 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.OverduePatron;
+import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.repository.CheckOutRepository;
+import com.mycompany.myapp.repository.OverduePatronRepository;
+import com.mycompany.myapp.web.rest.UserResourceIT;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link OverduePatronService}.
+ * <p>
+ * The check outs are due within the last minute, so a sweep finds them whether it is the first one of the application,
+ * which rebuilds the table, or not.
+ */
+@IntegrationTest
+@Transactional
+class OverduePatronServiceIT {
+
+    private static final String CARD_NUMBER = "OP00000001";
+
+    @Autowired
+    private OverduePatronService overduePatronService;
+
+    @Autowired
+    private OverduePatronRepository overduePatronRepository;
+
+    @Autowired
+    private PatronAccountService patronAccountService;
+
+    @Autowired
+    private CheckOutRepository checkOutRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private PatronAccount patronAccount;
+
+    private Instant now;
+
+    @BeforeEach
+    public void init() {
+        User user = UserResourceIT.createEntity(em);
+        em.persist(user);
+        patronAccount = new PatronAccount().cardNumber(CARD_NUMBER).user(user);
+        em.persist(patronAccount);
+        now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    @Test
+    void sweepCountsTheCheckOutsThatBecameOverdue() {
+        checkOut(now.minusSeconds(40), Status.Confirmed, false);
+        checkOut(now.minusSeconds(20), Status.Confirmed, false);
+        checkOut(now.minusSeconds(30), Status.Confirmed, true);
+        checkOut(now.minusSeconds(50), Status.Pending, false);
+        checkOut(now.plus(1, ChronoUnit.DAYS), Status.Confirmed, false);
+
+        overduePatronService.sweep();
+        em.clear();
+
+        OverduePatron overduePatron = overduePatronRepository.findById(CARD_NUMBER).orElseThrow();
+        assertThat(overduePatron.getOverdueCount()).isEqualTo(2);
+        assertThat(overduePatron.getOldestEndTime()).isEqualTo(now.minusSeconds(40));
+        assertThat(patronAccountService.listPatronNotEnoughCondition(PageRequest.of(0, 100)).getContent())
+            .containsOnlyOnce(patronAccount);
+    }
+
+    @Test
+    void returningTheLastOverdueCheckOutClearsThePatron() {
+        CheckOut checkOut = checkOut(now.minusSeconds(30), Status.Confirmed, false);
+        overduePatronService.sweep();
+        assertThat(overduePatronService.findOne(CARD_NUMBER)).get().extracting(OverduePatron::getOverdueCount).isEqualTo(1);
+
+        checkOutRepository.save(checkOut.isReturned(true));
+        overduePatronService.refresh(checkOut);
+        // the table is written by native statements, behind the persistence context
+        em.clear();
+
+        assertThat(overduePatronRepository.findById(CARD_NUMBER)).isEmpty();
+        assertThat(overduePatronService.findOne(CARD_NUMBER)).get().extracting(OverduePatron::getOverdueCount).isEqualTo(0);
+        assertThat(overduePatronService.findOne("OP00000002")).isEmpty();
+    }
+
+    private CheckOut checkOut(Instant endTime, Status status, boolean returned) {
+        return checkOutRepository.save(
+            new CheckOut()
+                .startTime(endTime.minus(14, ChronoUnit.DAYS))
+                .endTime(endTime)
+                .status(status)
+                .isReturned(returned)
+                .patronAccount(patronAccount)
+        );
+    }
+}
@@ -0,0 +1,192 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * Integration tests for {@link S3Service}, against a MinIO server.
+ */
+@Testcontainers
+class S3ServiceIT {
+
+    private static final String BUCKET = "system-library";
+
+    private static final String ACCESS_KEY = "minioadmin";
+
+    private static final String SECRET_KEY = "minioadmin";
+
+    @Container
+    static GenericContainer<?> minio = new GenericContainer<>("minio/minio:RELEASE.2023-09-04T19-57-37Z")
+        .withCommand("server", "/data")
+        .withEnv("MINIO_ROOT_USER", ACCESS_KEY)
+        .withEnv("MINIO_ROOT_PASSWORD", SECRET_KEY)
+        .withExposedPorts(9000)
+        .waitingFor(Wait.forHttp("/minio/health/live").forPort(9000));
+
+    private static S3Client s3Client;
+
+    private S3Service s3Service;
+
+    @BeforeAll
+    static void createBucket() {
+        s3Client =
+            S3Client
+                .builder()
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)))
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create(endpoint()))
+                .forcePathStyle(true)
+                .build();
+        s3Client.createBucket(builder -> builder.bucket(BUCKET));
+    }
+
+    @BeforeEach
+    public void setup() {
+        MockEnvironment env = new MockEnvironment()
+            .withProperty("aws-s3.region", Region.US_EAST_1.id())
+            .withProperty("aws-s3.bucketName", BUCKET)
+            .withProperty("aws-s3.accessKey", ACCESS_KEY)
+            .withProperty("aws-s3.secretKey", SECRET_KEY)
+            .withProperty("aws-s3.endpoint", endpoint());
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getS3().setPartSize(DataSize.ofMegabytes(5));
+        applicationProperties.getS3().setPartConcurrency(2);
+        s3Service = new S3Service(env, applicationProperties);
+    }
+
+    @AfterEach
+    public void destroy() {
+        s3Service.destroy();
+    }
+
+    @Test
+    void smallFileIsStoredWithOnePut() throws Exception {
+        StreamingFile file = new StreamingFile("cover.png", 1024);
+
+        String url = s3Service.saveS3(file);
+
+        assertThat(url).endsWith(".png");
+        assertThat(sha256(download(url))).isEqualTo(sha256(file.getInputStream()));
+    }
+
+    @Test
+    void largeFileIsStreamedInParts() throws Exception {
+        // 3 parts and a half, more than the 2 buffers an upload may hold
+        StreamingFile file = new StreamingFile("scan.pdf", 5 * 1024 * 1024 * 3 + 1024 * 1024 * 5 / 2);
+
+        String url = s3Service.saveS3(file);
+
+        assertThat(sha256(download(url))).isEqualTo(sha256(file.getInputStream()));
+    }
+
+    private static String endpoint() {
+        return "http://" + minio.getHost() + ":" + minio.getMappedPort(9000);
+    }
+
+    private static ResponseInputStream<GetObjectResponse> download(String url) {
+        String key = url.substring(url.lastIndexOf('/') + 1);
+        return s3Client.getObject(builder -> builder.bucket(BUCKET).key(key));
+    }
+
+    private static byte[] sha256(InputStream in) throws Exception {
+        try (in) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        }
+    }
+
+    /**
+     * A file that can only be read as a stream, with pseudo-random content.
+     */
+    private static final class StreamingFile implements MultipartFile {
+
+        private final String name;
+        private final long size;
+
+        private StreamingFile(String name, long size) {
+            this.name = name;
+            this.size = size;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return name;
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/octet-stream";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            throw new UnsupportedOperationException("The file must be streamed");
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            Random random = new Random(size);
+            return new InputStream() {
+                private long remaining = size;
+
+                @Override
+                public int read() {
+                    if (remaining == 0) {
+                        return -1;
+                    }
+                    remaining--;
+                    return random.nextInt(256);
+                }
+            };
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            throw new UnsupportedOperationException("The file must be streamed");
+        }
+    }
+}
@@ -10,8 +10,8 @@ import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
-import com.mycompany.myapp.repository.search.UserSearchRepository;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -55,13 +55,8 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
-    /**
-     * This repository is mocked in the com.mycompany.myapp.repository.search test package.
-     *
-     * @see com.mycompany.myapp.repository.search.UserSearchRepositoryMockConfiguration
-     */
     @SpyBean
-    private UserSearchRepository spiedUserSearchRepository;
+    private SearchIndexer spiedSearchIndexer;
 
     @Autowired
     private AuditingHandler auditingHandler;
@@ -178,8 +173,8 @@ class UserServiceIT {
         users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo);
         assertThat(users).isEmpty();
 
-        // Verify Elasticsearch mock
-        verify(spiedUserSearchRepository, times(1)).delete(user);
+        // Verify the delete is queued for Elasticsearch
+        verify(spiedSearchIndexer, times(1)).delete(User.class, user.getId());
     }
 
     @Test
@@ -198,7 +193,7 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
 
-        // Verify Elasticsearch mock
-        verify(spiedUserSearchRepository, never()).delete(user);
+        // Verify no delete is queued for Elasticsearch
+        verify(spiedSearchIndexer, never()).delete(User.class, dbUser.getId());
     }
 }
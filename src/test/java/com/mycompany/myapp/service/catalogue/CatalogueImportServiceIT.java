@@ -0,0 +1,123 @@
+package com.mycompany.myapp.service.catalogue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
+import com.mycompany.myapp.domain.CatalogueImport;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.domain.enumeration.CatalogueImportFormat;
+import com.mycompany.myapp.domain.enumeration.CatalogueImportStatus;
+import com.mycompany.myapp.repository.CatalogueImportRepository;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link CatalogueImportService}.
+ */
+@IntegrationTest
+@Transactional
+class CatalogueImportServiceIT {
+
+    private static final String CATEGORY = "Imported category";
+
+    private static final String PUBLISHER = "Imported publisher";
+
+    @Autowired
+    private CatalogueImportService catalogueImportService;
+
+    @Autowired
+    private CatalogueImportRepository catalogueImportRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Category category;
+
+    @BeforeEach
+    public void init() {
+        category = new Category().name(CATEGORY);
+        em.persist(category);
+        em.persist(new Publisher().name(PUBLISHER));
+        em.persist(new Author().name("Existing author"));
+        em.flush();
+    }
+
+    @Test
+    void importJsonLinesResolvesNamesAndRejectsInvalidRows() {
+        String file = String.join(
+            "\n",
+            "{\"title\":\"Imported book\",\"category\":\"imported CATEGORY\",\"authors\":[\"Existing author\",\"New author\"]," +
+            "\"copies\":[{\"publisher\":\"" +
+            PUBLISHER +
+            "\",\"yearPublished\":2001,\"amount\":3},{\"publisher\":\"" +
+            PUBLISHER +
+            "\",\"yearPublished\":2002,\"amount\":1}]}",
+            "",
+            "{\"title\":\"Unknown category\",\"category\":\"Nowhere\"}",
+            "{\"title\":"
+        );
+
+        CatalogueImport result = catalogueImportService.importFile(stream(file), "books.jsonl", CatalogueImportFormat.JSONL);
+
+        assertThat(result.getStatus()).isEqualTo(CatalogueImportStatus.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(3);
+        assertThat(result.getRowsRejected()).isEqualTo(2);
+        assertThat(result.getBooksImported()).isEqualTo(1);
+        assertThat(result.getCopiesImported()).isEqualTo(2);
+        assertThat(result.getAuthorsCreated()).isEqualTo(1);
+        assertThat(result.getLastError()).startsWith("Line 4: ");
+
+        Book book = em
+            .createQuery("select b from Book b join fetch b.authors where b.title = 'Imported book'", Book.class)
+            .getSingleResult();
+        assertThat(book.getCategory().getId()).isEqualTo(category.getId());
+        assertThat(book.getAuthors().stream().map(Author::getName).collect(Collectors.toSet()))
+            .containsExactlyInAnyOrder("Existing author", "New author");
+        List<BookCopy> copies = em.createQuery("select c from BookCopy c where c.book = :book", BookCopy.class)
+            .setParameter("book", book)
+            .getResultList();
+        assertThat(copies).extracting(BookCopy::getYearPublished).containsExactlyInAnyOrder(2001, 2002);
+    }
+
+    @Test
+    void resumeSkipsTheRowsAlreadyRead() {
+        String file = String.join(
+            "\n",
+            "title;category;authors;publisher;year_published;amount",
+            "First;" + CATEGORY + ";Existing author;" + PUBLISHER + ";2001;1",
+            "\"Second; the sequel\";" + CATEGORY + ";;" + PUBLISHER + ";2002;2",
+            "Third;" + CATEGORY + ";;;;"
+        );
+        CatalogueImport interrupted = catalogueImportService.importFile(stream(file), "books.csv", CatalogueImportFormat.CSV);
+        catalogueImportRepository.save(interrupted.status(CatalogueImportStatus.FAILED).rowsRead(1L).booksImported(1L));
+
+        CatalogueImport result = catalogueImportService.resume(interrupted.getId(), stream(file));
+
+        assertThat(result.getStatus()).isEqualTo(CatalogueImportStatus.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(3);
+        assertThat(result.getBooksImported()).isEqualTo(3);
+        assertThat(result.getRunStartRow()).isEqualTo(1);
+        assertThat(
+            em
+                .createQuery("select count(b) from Book b where b.title in ('Second; the sequel', 'Third')", Long.class)
+                .getSingleResult()
+        )
+            .isEqualTo(4);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,204 @@
+package com.mycompany.myapp.service.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.management.RedisCacheMetersService;
+import com.mycompany.myapp.service.dto.BookTileDTO;
+import com.mycompany.myapp.service.redis.codec.RedisValueCodec;
+import com.mycompany.myapp.service.redis.codec.RedisValueSerializerFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * JMH benchmark of the category page cache of {@link BookRedisService} in a keyspace of 100k cached pages, against the former
+ * {@code KEYS} based lookup (two {@code KEYS BookAll:{cat}:{page}:{size}:{sort}:*} then the page list) and invalidation
+ * ({@code KEYS BookAll:{cat}:*} then {@code DEL}).
+ * <p>
+ * A Redis container is started like for the integration tests, so Docker must be available. Run the {@link #main} method from
+ * the IDE, or {@code java -cp <test classpath> org.openjdk.jmh.Main BookRedisServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookRedisServiceBenchmark {
+
+    private static final int CATEGORIES = 1000;
+    private static final int PAGES_PER_CATEGORY = 100;
+    private static final int PAGE_SIZE = 20;
+    private static final long CATEGORY_ID = 1;
+    private static final long INVALIDATED_CATEGORY_ID = 2;
+    private static final String FORMER_KEY_PREFIX = "BookAll";
+
+    private GenericContainer<?> redisContainer;
+
+    private JedisConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private BookRedisService bookRedisService;
+
+    private Pageable pageable;
+
+    private String formerPageKeyPattern;
+
+    @Setup
+    public void setup() {
+        redisContainer = new GenericContainer<>("redis:6.2.7").withExposedPorts(6379);
+        redisContainer.start();
+        connectionFactory =
+            new JedisConnectionFactory(new RedisStandaloneConfiguration(redisContainer.getHost(), redisContainer.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new JdkSerializationRedisSerializer());
+        redisTemplate.setHashValueSerializer(new JdkSerializationRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        RedisValueSerializerFactory serializerFactory = new RedisValueSerializerFactory(
+            RedisValueCodec.JSON,
+            false,
+            objectMapper,
+            new Jackson2ObjectMapperBuilder().modulesToInstall(new JavaTimeModule())
+        );
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        bookRedisService =
+            new BookRedisService(
+                redisTemplate,
+                typedRedisTemplate(serializerFactory.forType(Book.class)),
+                typedRedisTemplate(serializerFactory.forType(BookTileDTO.class)),
+                new ApplicationProperties(),
+                meterRegistry,
+                new RedisCacheMetersService(meterRegistry)
+            );
+
+        List<BookTileDTO> tiles = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            tiles.add(new BookTileDTO(id, "Book " + id, null, null, null));
+        }
+        pageable = PageRequest.of(PAGES_PER_CATEGORY / 2, PAGE_SIZE);
+        formerPageKeyPattern = formerPageKey(CATEGORY_ID, pageable.getPageNumber()) + ":*";
+        fillFormerKeyspace();
+        long total = (long) PAGES_PER_CATEGORY * PAGE_SIZE;
+        for (int page = 0; page < PAGES_PER_CATEGORY; page++) {
+            bookRedisService.saveBooksByCategoryId(CATEGORY_ID, total, PageRequest.of(page, PAGE_SIZE), tiles);
+        }
+    }
+
+    /**
+     * Write {@code CATEGORIES * PAGES_PER_CATEGORY} page lists with the former key layout, in pipelined batches.
+     */
+    @SuppressWarnings("unchecked")
+    private void fillFormerKeyspace() {
+        byte[] value = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(new BookTileDTO(1L, "Book", null, null, null));
+        for (int category = 1; category <= CATEGORIES; category++) {
+            long categoryId = category;
+            redisTemplate.executePipelined(
+                (RedisCallback<Object>) connection -> {
+                    for (int page = 0; page < PAGES_PER_CATEGORY; page++) {
+                        String key = formerPageKey(categoryId, page) + ":" + (PAGES_PER_CATEGORY * PAGE_SIZE);
+                        connection.rPush(key.getBytes(StandardCharsets.UTF_8), value);
+                    }
+                    return null;
+                }
+            );
+        }
+    }
+
+    private static String formerPageKey(long categoryId, int page) {
+        return FORMER_KEY_PREFIX + ":" + categoryId + ":" + page + ":" + PAGE_SIZE + ":UNSORTED";
+    }
+
+    private <T> RedisTemplate<String, T> typedRedisTemplate(RedisSerializer<T> valueSerializer) {
+        RedisTemplate<String, T> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionFactory.destroy();
+        redisContainer.stop();
+    }
+
+    @Benchmark
+    public void indexedLookup(Blackhole blackhole) {
+        blackhole.consume(bookRedisService.getBooksByCategoryId(CATEGORY_ID, pageable));
+    }
+
+    /**
+     * The former lookup, which ran {@code KEYS} once to test the page and once more to read its total from the key.
+     */
+    @Benchmark
+    public void keysLookup(Blackhole blackhole) {
+        Set<String> keys = redisTemplate.keys(formerPageKeyPattern);
+        if (keys != null && !keys.isEmpty()) {
+            String key = redisTemplate.keys(formerPageKeyPattern).iterator().next();
+            blackhole.consume(redisTemplate.opsForList().range(key, 0, -1));
+        }
+    }
+
+    @Benchmark
+    public void generationInvalidation() {
+        bookRedisService.deleteBooksByCategoryId(INVALIDATED_CATEGORY_ID);
+    }
+
+    /**
+     * The former invalidation; the pages are deleted by the first invocation, so this measures the {@code KEYS} scan that
+     * every later invalidation paid as well.
+     */
+    @Benchmark
+    public void keysInvalidation() {
+        Set<String> keys = redisTemplate.keys(FORMER_KEY_PREFIX + ":" + INVALIDATED_CATEGORY_ID + ":*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BookRedisServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
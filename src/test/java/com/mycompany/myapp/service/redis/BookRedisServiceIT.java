@@ -0,0 +1,98 @@
+package com.mycompany.myapp.service.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.repository.search.BookSearchRepository;
+import com.mycompany.myapp.service.BookService;
+import com.mycompany.myapp.service.search.SearchIndexer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link BookRedisService}, invalidating from committed write transactions.
+ * <p>
+ * Every test starts from a bumped global generation, so the current book details are never stored under generation
+ * {@code 0}.
+ */
+@IntegrationTest
+class BookRedisServiceIT {
+
+    private static final long AUTHOR_ID = Long.MAX_VALUE;
+
+    @Autowired
+    private BookRedisService bookRedisService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookSearchRepository bookSearchRepository;
+
+    @Autowired
+    private SearchIndexer searchIndexer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Book book;
+
+    @BeforeEach
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        bookRedisService.deleteAll();
+        book = bookRepository.saveAndFlush(new Book().title("AAAAAAAAAA"));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        bookRepository.deleteById(book.getId());
+        searchIndexer.flush();
+        bookSearchRepository.deleteById(book.getId());
+        bookRedisService.deleteBooksId(book.getId());
+    }
+
+    @Test
+    void updateInTransactionEvictsTheCurrentDetail() {
+        bookRedisService.saveBooks(book);
+
+        transactionTemplate.executeWithoutResult(status -> bookService.partialUpdate(new Book().id(book.getId()).title("BBBBBBBBBB")));
+
+        assertThat(bookRedisService.getBookById(book.getId())).isNull();
+    }
+
+    @Test
+    void authorInvalidationInTransactionEvictsTheDetailsOfTheAuthor() {
+        book.getAuthors().add(new Author().id(AUTHOR_ID).name("author"));
+        bookRedisService.saveBooks(book);
+
+        transactionTemplate.executeWithoutResult(status -> bookRedisService.deleteBooksByAuthorId(AUTHOR_ID));
+
+        assertThat(bookRedisService.getBookById(book.getId())).isNull();
+    }
+
+    @Test
+    void nearCacheIsInvalidatedOnceTheTransactionCompletes() {
+        bookRedisService.saveBooks(book);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bookRedisService.deleteBooksId(book.getId());
+            // the near cache keeps the entry until the Redis one is deleted at EXEC
+            assertThat(bookRedisService.getBookById(book.getId())).isNotNull();
+        });
+
+        assertThat(bookRedisService.getBookById(book.getId())).isNull();
+    }
+}
@@ -0,0 +1,63 @@
+package com.mycompany.myapp.service.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link InventoryRedisService}.
+ */
+@IntegrationTest
+class InventoryRedisServiceIT {
+
+    private static final long BOOK_COPY_ID = -1;
+
+    private static final long TTL_SECONDS = 60;
+
+    @Autowired
+    private InventoryRedisService inventoryRedisService;
+
+    @AfterEach
+    public void cleanup() {
+        inventoryRedisService.evict(BOOK_COPY_ID);
+    }
+
+    @Test
+    void resetCreatesMissingCounter() {
+        assertThat(inventoryRedisService.tryReserve(BOOK_COPY_ID)).isEqualTo(InventoryRedisService.UNKNOWN);
+
+        inventoryRedisService.reset(Map.of(BOOK_COPY_ID, 1), TTL_SECONDS);
+
+        assertThat(inventoryRedisService.tryReserve(BOOK_COPY_ID)).isEqualTo(InventoryRedisService.RESERVED);
+        assertThat(inventoryRedisService.tryReserve(BOOK_COPY_ID)).isEqualTo(InventoryRedisService.SOLD_OUT);
+    }
+
+    @Test
+    void resetDoesNotLoseReleaseInterleavedWithReconciliation() {
+        inventoryRedisService.reset(Map.of(BOOK_COPY_ID, 1), TTL_SECONDS);
+        assertThat(inventoryRedisService.tryReserve(BOOK_COPY_ID)).isEqualTo(InventoryRedisService.RESERVED);
+
+        // the reconciliation reads the sold out amount, then the copy is released before it writes the counter
+        Map<Long, Integer> staleAmounts = Map.of(BOOK_COPY_ID, 0);
+        inventoryRedisService.release(BOOK_COPY_ID);
+        inventoryRedisService.reset(staleAmounts, TTL_SECONDS);
+
+        assertThat(inventoryRedisService.tryReserve(BOOK_COPY_ID)).isEqualTo(InventoryRedisService.RESERVED);
+        assertThat(inventoryRedisService.tryReserve(BOOK_COPY_ID)).isEqualTo(InventoryRedisService.SOLD_OUT);
+    }
+
+    @Test
+    void resetRaisesLowCounter() {
+        inventoryRedisService.reset(Map.of(BOOK_COPY_ID, 0), TTL_SECONDS);
+
+        inventoryRedisService.reset(Map.of(BOOK_COPY_ID, 2), TTL_SECONDS);
+
+        assertThat(inventoryRedisService.tryReserve(BOOK_COPY_ID)).isEqualTo(InventoryRedisService.RESERVED);
+        assertThat(inventoryRedisService.tryReserve(BOOK_COPY_ID)).isEqualTo(InventoryRedisService.RESERVED);
+        assertThat(inventoryRedisService.tryReserve(BOOK_COPY_ID)).isEqualTo(InventoryRedisService.SOLD_OUT);
+    }
+}
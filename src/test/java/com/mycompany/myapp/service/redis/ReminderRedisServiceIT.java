@@ -0,0 +1,55 @@
+package com.mycompany.myapp.service.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link ReminderRedisService}.
+ */
+@IntegrationTest
+class ReminderRedisServiceIT {
+
+    private static final String DUE = "-1:-86400";
+
+    private static final String LATER = "-1:0";
+
+    private static final long LEASE = 300000;
+
+    @Autowired
+    private ReminderRedisService reminderRedisService;
+
+    @AfterEach
+    public void cleanup() {
+        reminderRedisService.cancel(Arrays.asList(DUE, LATER));
+    }
+
+    @Test
+    void dueReminderIsClaimedOnceUntilItsLeaseRunsOut() {
+        long now = System.currentTimeMillis();
+        reminderRedisService.schedule(Map.of(DUE, now - 1000, LATER, now + 60000));
+
+        assertThat(reminderRedisService.claim(now, 10, now + LEASE)).containsExactly(DUE);
+        assertThat(reminderRedisService.claim(now, 10, now + LEASE)).isEmpty();
+        assertThat(reminderRedisService.claim(now + LEASE, 10, now + 2 * LEASE)).containsExactlyInAnyOrder(DUE, LATER);
+    }
+
+    @Test
+    void completeOnlyRemovesTheCurrentLease() {
+        long now = System.currentTimeMillis();
+        reminderRedisService.schedule(Map.of(DUE, now - 1000));
+        assertThat(reminderRedisService.claim(now, 10, now + LEASE)).containsExactly(DUE);
+        assertThat(reminderRedisService.claim(now + LEASE, 10, now + 2 * LEASE)).containsExactly(DUE);
+
+        reminderRedisService.complete(DUE, now + LEASE);
+        assertThat(reminderRedisService.claim(now + 2 * LEASE, 10, now + 3 * LEASE)).containsExactly(DUE);
+
+        reminderRedisService.complete(DUE, now + 3 * LEASE);
+        assertThat(reminderRedisService.claim(now + 4 * LEASE, 10, now + 5 * LEASE)).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package com.mycompany.myapp.service.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * JMH benchmark of the {@link RedisValueCodec codecs} of a cached {@link Book}, against the former Java serialization
+ * ({@link RedisValueCodec#JDK}). The bytes per entry of each codec are printed by the setup.
+ * <p>
+ * Run the {@link #main} method from the IDE, or {@code java -cp <test classpath> org.openjdk.jmh.Main RedisValueCodecBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisValueCodecBenchmark {
+
+    @Param({ "JDK", "JSON", "SMILE", "CBOR" })
+    private RedisValueCodec codec;
+
+    @Param({ "false", "true" })
+    private boolean compression;
+
+    private RedisSerializer<Book> serializer;
+
+    private Book book;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        Category category = new Category().id(3L).name("Science fiction").description("Space, time and everything in between");
+        book =
+            new Book()
+                .id(42L)
+                .title("The Left Hand of Darkness")
+                .image("https://example.com/covers/42.jpg")
+                .description("A human envoy is sent to the planet Gethen")
+                .category(category);
+        book.getAuthors().add(new Author().id(7L).name("Ursula K. Le Guin"));
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Jackson2ObjectMapperBuilder objectMapperBuilder = new Jackson2ObjectMapperBuilder().modulesToInstall(new JavaTimeModule());
+        serializer = new RedisValueSerializerFactory(codec, compression, objectMapper, objectMapperBuilder).forType(Book.class);
+        bytes = serializer.serialize(book);
+        System.out.printf("Codec %s (compression %s): %d bytes per entry%n", codec, compression, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(book);
+    }
+
+    @Benchmark
+    public Book deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RedisValueCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.mycompany.myapp.service.redis.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Unit tests for {@link RedisValueSerializerFactory}. The sizes and throughputs of the codecs are measured by
+ * {@link RedisValueCodecBenchmark}.
+ */
+class RedisValueSerializerFactoryTest {
+
+    private Book book;
+
+    @BeforeEach
+    public void init() {
+        Category category = new Category().id(3L).name("Science fiction").description("Space, time and everything in between");
+        book =
+            new Book()
+                .id(42L)
+                .title("The Left Hand of Darkness")
+                .image("https://example.com/covers/42.jpg")
+                .description("A human envoy is sent to the planet Gethen")
+                .category(category);
+        book.getAuthors().add(new Author().id(7L).name("Ursula K. Le Guin"));
+    }
+
+    @Test
+    void everyCodecShouldRoundTripABook() {
+        for (RedisValueCodec codec : RedisValueCodec.values()) {
+            for (boolean compression : new boolean[] { false, true }) {
+                RedisSerializer<Book> serializer = factory(codec, compression).forType(Book.class);
+
+                Book result = serializer.deserialize(serializer.serialize(book));
+
+                assertThat(result).isEqualTo(book);
+                assertThat(result.getTitle()).isEqualTo(book.getTitle());
+                assertThat(result.getCategory().getName()).isEqualTo(book.getCategory().getName());
+                assertThat(result.getAuthors()).extracting(Author::getName).containsExactly("Ursula K. Le Guin");
+            }
+        }
+    }
+
+    @Test
+    void compressedSerializerShouldReadUncompressedValues() {
+        byte[] plain = factory(RedisValueCodec.JSON, false).forType(Book.class).serialize(book);
+
+        Book result = factory(RedisValueCodec.JSON, true).forType(Book.class).deserialize(plain);
+
+        assertThat(result.getTitle()).isEqualTo(book.getTitle());
+    }
+
+    @Test
+    void jacksonCodecsShouldBeSmallerThanJavaSerialization() {
+        int jdkSize = size(RedisValueCodec.JDK);
+
+        assertThat(size(RedisValueCodec.JSON)).isLessThan(jdkSize);
+        assertThat(size(RedisValueCodec.SMILE)).isLessThan(jdkSize);
+        assertThat(size(RedisValueCodec.CBOR)).isLessThan(jdkSize);
+    }
+
+    private int size(RedisValueCodec codec) {
+        return factory(codec, false).forType(Book.class).serialize(book).length;
+    }
+
+    private RedisValueSerializerFactory factory(RedisValueCodec codec, boolean compression) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Jackson2ObjectMapperBuilder objectMapperBuilder = new Jackson2ObjectMapperBuilder().modulesToInstall(new JavaTimeModule());
+        return new RedisValueSerializerFactory(codec, compression, objectMapper, objectMapperBuilder);
+    }
+}
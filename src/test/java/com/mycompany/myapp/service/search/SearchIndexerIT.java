@@ -0,0 +1,89 @@
+package com.mycompany.myapp.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.repository.AuthorRepository;
+import com.mycompany.myapp.repository.search.AuthorSearchRepository;
+import com.mycompany.myapp.service.AuthorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link SearchIndexer}, with committed and rolled back transactions.
+ */
+@IntegrationTest
+class SearchIndexerIT {
+
+    @Autowired
+    private SearchIndexer searchIndexer;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private AuthorSearchRepository authorSearchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        authorRepository.deleteAll();
+        authorSearchRepository.deleteAll();
+    }
+
+    @Test
+    void committedWriteIsIndexed() {
+        Author author = transactionTemplate.execute(status -> authorService.save(new Author().name("committed")));
+
+        searchIndexer.flush();
+
+        assertThat(authorSearchRepository.findById(author.getId())).hasValueSatisfying(document ->
+            assertThat(document.getName()).isEqualTo("committed")
+        );
+    }
+
+    @Test
+    void rolledBackWriteIsNotIndexed() {
+        Author author = transactionTemplate.execute(status -> {
+            Author result = authorService.save(new Author().name("rolled back"));
+            status.setRollbackOnly();
+            return result;
+        });
+
+        searchIndexer.flush();
+
+        assertThat(authorRepository.findById(author.getId())).isEmpty();
+        assertThat(authorSearchRepository.findById(author.getId())).isEmpty();
+    }
+
+    @Test
+    void deleteIsAppliedAfterCommit() {
+        Author author = transactionTemplate.execute(status -> authorService.save(new Author().name("deleted")));
+        searchIndexer.flush();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            authorService.delete(author.getId());
+            // still searchable until the delete commits
+            assertThat(authorSearchRepository.findById(author.getId())).isPresent();
+        });
+
+        assertThat(authorSearchRepository.findById(author.getId())).isEmpty();
+    }
+}
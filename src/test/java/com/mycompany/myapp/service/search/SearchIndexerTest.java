@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service.search;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.repository.search.AuthorSearchRepository;
+import com.mycompany.myapp.repository.search.BookCopySearchRepository;
+import com.mycompany.myapp.repository.search.BookSearchRepository;
+import com.mycompany.myapp.repository.search.CategorySearchRepository;
+import com.mycompany.myapp.repository.search.CheckOutSearchRepository;
+import com.mycompany.myapp.repository.search.NotificationSearchRepository;
+import com.mycompany.myapp.repository.search.PatronAccountSearchRepository;
+import com.mycompany.myapp.repository.search.PublisherSearchRepository;
+import com.mycompany.myapp.repository.search.UserSearchRepository;
+import com.mycompany.myapp.repository.search.WaitListSearchRepository;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class SearchIndexerTest {
+
+    private static final IndexCoordinates INDEX = IndexCoordinates.of("author");
+
+    private ElasticsearchRestTemplate elasticsearchTemplate;
+
+    private SearchIndexer searchIndexer;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Search.Indexing indexing = applicationProperties.getSearch().getIndexing();
+        indexing.setMaxAttempts(3);
+        indexing.setInitialBackoffMs(0);
+        elasticsearchTemplate = mock(ElasticsearchRestTemplate.class);
+        when(elasticsearchTemplate.getIndexCoordinatesFor(any())).thenReturn(INDEX);
+        searchIndexer =
+            new SearchIndexer(
+                applicationProperties,
+                mock(PlatformTransactionManager.class),
+                Runnable::run,
+                elasticsearchTemplate,
+                mock(AuthorSearchRepository.class),
+                mock(BookSearchRepository.class),
+                mock(BookCopySearchRepository.class),
+                mock(CategorySearchRepository.class),
+                mock(CheckOutSearchRepository.class),
+                mock(NotificationSearchRepository.class),
+                mock(PatronAccountSearchRepository.class),
+                mock(PublisherSearchRepository.class),
+                mock(UserSearchRepository.class),
+                mock(WaitListSearchRepository.class)
+            );
+    }
+
+    @Test
+    void failedDeleteIsRetriedByTheNextFlush() {
+        when(elasticsearchTemplate.delete("1", INDEX)).thenThrow(new IllegalStateException("unavailable")).thenReturn("1");
+
+        searchIndexer.delete(Author.class, 1L);
+        searchIndexer.flush();
+        searchIndexer.flush();
+
+        verify(elasticsearchTemplate, times(2)).delete("1", INDEX);
+    }
+
+    @Test
+    void failedDeleteIsDroppedAfterMaxAttempts() {
+        when(elasticsearchTemplate.delete("1", INDEX)).thenThrow(new IllegalStateException("unavailable"));
+
+        searchIndexer.delete(Author.class, 1L);
+        for (int i = 0; i < 5; i++) {
+            searchIndexer.flush();
+        }
+
+        verify(elasticsearchTemplate, times(3)).delete("1", INDEX);
+    }
+
+    @Test
+    void failedPartialUpdateIsNotRetried() {
+        @SuppressWarnings("unchecked")
+        Consumer<IndexCoordinates> update = mock(Consumer.class);
+        doThrow(new IllegalStateException("unavailable")).when(update).accept(INDEX);
+
+        searchIndexer.updateAfterCommit(Book.class, update);
+        searchIndexer.flush();
+
+        verify(update, times(1)).accept(INDEX);
+    }
+}
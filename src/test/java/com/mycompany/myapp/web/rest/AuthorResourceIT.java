@@ -1,7 +1,6 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -9,15 +8,19 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Author;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
 import com.mycompany.myapp.repository.AuthorRepository;
+import com.mycompany.myapp.repository.BookRepository;
+import com.mycompany.myapp.repository.CategoryRepository;
 import com.mycompany.myapp.repository.search.AuthorSearchRepository;
+import com.mycompany.myapp.repository.search.BookSearchRepository;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
-import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +59,18 @@ class AuthorResourceIT {
     @Autowired
     private AuthorSearchRepository authorSearchRepository;
 
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BookSearchRepository bookSearchRepository;
+
+    @Autowired
+    private SearchIndexer searchIndexer;
+
     @Autowired
     private EntityManager em;
 
@@ -101,7 +116,6 @@ class AuthorResourceIT {
     @Transactional
     void createAuthor() throws Exception {
         int databaseSizeBeforeCreate = authorRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(authorSearchRepository.findAll());
         // Create the Author
         restAuthorMockMvc
             .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(author)))
@@ -110,12 +124,6 @@ class AuthorResourceIT {
         // Validate the Author in the database
         List<Author> authorList = authorRepository.findAll();
         assertThat(authorList).hasSize(databaseSizeBeforeCreate + 1);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(authorSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
-            });
         Author testAuthor = authorList.get(authorList.size() - 1);
         assertThat(testAuthor.getName()).isEqualTo(DEFAULT_NAME);
     }
@@ -205,8 +213,6 @@ class AuthorResourceIT {
         authorRepository.saveAndFlush(author);
 
         int databaseSizeBeforeUpdate = authorRepository.findAll().size();
-        authorSearchRepository.save(author);
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(authorSearchRepository.findAll());
 
         // Update the author
         Author updatedAuthor = authorRepository.findById(author.getId()).get();
@@ -227,15 +233,6 @@ class AuthorResourceIT {
         assertThat(authorList).hasSize(databaseSizeBeforeUpdate);
         Author testAuthor = authorList.get(authorList.size() - 1);
         assertThat(testAuthor.getName()).isEqualTo(UPDATED_NAME);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(authorSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-                List<Author> authorSearchList = IterableUtils.toList(authorSearchRepository.findAll());
-                Author testAuthorSearch = authorSearchList.get(searchDatabaseSizeAfter - 1);
-                assertThat(testAuthorSearch.getName()).isEqualTo(UPDATED_NAME);
-            });
     }
 
     @Test
@@ -330,6 +327,65 @@ class AuthorResourceIT {
         assertThat(testAuthor.getName()).isEqualTo(DEFAULT_NAME);
     }
 
+    @Test
+    void partialUpdateAuthorIsIndexedOnceCommitted() throws Exception {
+        // Initialize the database
+        authorRepository.saveAndFlush(author);
+
+        try {
+            Author partialUpdatedAuthor = new Author();
+            partialUpdatedAuthor.setId(author.getId());
+            partialUpdatedAuthor.name(UPDATED_NAME);
+
+            restAuthorMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedAuthor.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedAuthor))
+                )
+                .andExpect(status().isOk());
+            searchIndexer.flush();
+
+            assertThat(authorSearchRepository.findById(author.getId()))
+                .hasValueSatisfying(document -> assertThat(document.getName()).isEqualTo(UPDATED_NAME));
+        } finally {
+            authorRepository.deleteById(author.getId());
+        }
+    }
+
+    @Test
+    void patchAuthorNameUpdatesBookDocuments() throws Exception {
+        // Initialize the database, committed so that the book documents are updated
+        authorRepository.saveAndFlush(author);
+        Category category = categoryRepository.saveAndFlush(new Category().name("category"));
+        Book book = bookRepository.saveAndFlush(new Book().title("title").category(category).addAuthor(author));
+        bookSearchRepository.save(book);
+
+        try {
+            Author partialUpdatedAuthor = new Author();
+            partialUpdatedAuthor.setId(author.getId());
+            partialUpdatedAuthor.name(UPDATED_NAME);
+
+            restAuthorMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedAuthor.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedAuthor))
+                )
+                .andExpect(status().isOk());
+
+            assertThat(bookSearchRepository.findById(book.getId()))
+                .hasValueSatisfying(document ->
+                    assertThat(document.getAuthors()).extracting(Author::getName).containsExactly(UPDATED_NAME)
+                );
+        } finally {
+            bookRepository.delete(book);
+            categoryRepository.delete(category);
+            authorRepository.delete(author);
+            bookSearchRepository.deleteAll();
+        }
+    }
+
     @Test
     @Transactional
     void fullUpdateAuthorWithPatch() throws Exception {
@@ -430,11 +486,8 @@ class AuthorResourceIT {
         // Initialize the database
         authorRepository.saveAndFlush(author);
         authorRepository.save(author);
-        authorSearchRepository.save(author);
 
         int databaseSizeBeforeDelete = authorRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(authorSearchRepository.findAll());
-        assertThat(searchDatabaseSizeBefore).isEqualTo(databaseSizeBeforeDelete);
 
         // Delete the author
         restAuthorMockMvc
@@ -444,8 +497,6 @@ class AuthorResourceIT {
         // Validate the database contains one less item
         List<Author> authorList = authorRepository.findAll();
         assertThat(authorList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(authorSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
 
     @Test
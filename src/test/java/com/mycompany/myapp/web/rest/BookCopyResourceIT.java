@@ -1,7 +1,6 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -12,14 +11,13 @@ import com.mycompany.myapp.domain.BookCopy;
 import com.mycompany.myapp.repository.BookCopyRepository;
 import com.mycompany.myapp.repository.search.BookCopySearchRepository;
 import com.mycompany.myapp.service.BookCopyService;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
-import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -77,6 +75,9 @@ class BookCopyResourceIT {
     @Autowired
     private BookCopySearchRepository bookCopySearchRepository;
 
+    @Autowired
+    private SearchIndexer searchIndexer;
+
     @Autowired
     private EntityManager em;
 
@@ -130,7 +131,6 @@ class BookCopyResourceIT {
     @Transactional
     void createBookCopy() throws Exception {
         int databaseSizeBeforeCreate = bookCopyRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(bookCopySearchRepository.findAll());
         // Create the BookCopy
         restBookCopyMockMvc
             .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(bookCopy)))
@@ -139,12 +139,6 @@ class BookCopyResourceIT {
         // Validate the BookCopy in the database
         List<BookCopy> bookCopyList = bookCopyRepository.findAll();
         assertThat(bookCopyList).hasSize(databaseSizeBeforeCreate + 1);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(bookCopySearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
-            });
         BookCopy testBookCopy = bookCopyList.get(bookCopyList.size() - 1);
         assertThat(testBookCopy.getYearPublished()).isEqualTo(DEFAULT_YEAR_PUBLISHED);
         assertThat(testBookCopy.getAmount()).isEqualTo(DEFAULT_AMOUNT);
@@ -240,8 +234,6 @@ class BookCopyResourceIT {
         bookCopyRepository.saveAndFlush(bookCopy);
 
         int databaseSizeBeforeUpdate = bookCopyRepository.findAll().size();
-        bookCopySearchRepository.save(bookCopy);
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(bookCopySearchRepository.findAll());
 
         // Update the bookCopy
         BookCopy updatedBookCopy = bookCopyRepository.findById(bookCopy.getId()).get();
@@ -265,18 +257,6 @@ class BookCopyResourceIT {
         assertThat(testBookCopy.getAmount()).isEqualTo(UPDATED_AMOUNT);
         assertThat(testBookCopy.getImage()).isEqualTo(UPDATED_IMAGE);
         assertThat(testBookCopy.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(bookCopySearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-                List<BookCopy> bookCopySearchList = IterableUtils.toList(bookCopySearchRepository.findAll());
-                BookCopy testBookCopySearch = bookCopySearchList.get(searchDatabaseSizeAfter - 1);
-                assertThat(testBookCopySearch.getYearPublished()).isEqualTo(UPDATED_YEAR_PUBLISHED);
-                assertThat(testBookCopySearch.getAmount()).isEqualTo(UPDATED_AMOUNT);
-                assertThat(testBookCopySearch.getImage()).isEqualTo(UPDATED_IMAGE);
-                assertThat(testBookCopySearch.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-            });
     }
 
     @Test
@@ -376,6 +356,32 @@ class BookCopyResourceIT {
         assertThat(testBookCopy.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
     }
 
+    @Test
+    void partialUpdateBookCopyIsIndexedOnceCommitted() throws Exception {
+        // Initialize the database
+        bookCopyRepository.saveAndFlush(bookCopy);
+
+        try {
+            BookCopy partialUpdatedBookCopy = new BookCopy();
+            partialUpdatedBookCopy.setId(bookCopy.getId());
+            partialUpdatedBookCopy.yearPublished(UPDATED_YEAR_PUBLISHED);
+
+            restBookCopyMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedBookCopy.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedBookCopy))
+                )
+                .andExpect(status().isOk());
+            searchIndexer.flush();
+
+            assertThat(bookCopySearchRepository.findById(bookCopy.getId()))
+                .hasValueSatisfying(document -> assertThat(document.getYearPublished()).isEqualTo(UPDATED_YEAR_PUBLISHED));
+        } finally {
+            bookCopyRepository.deleteById(bookCopy.getId());
+        }
+    }
+
     @Test
     @Transactional
     void fullUpdateBookCopyWithPatch() throws Exception {
@@ -483,11 +489,8 @@ class BookCopyResourceIT {
         // Initialize the database
         bookCopyRepository.saveAndFlush(bookCopy);
         bookCopyRepository.save(bookCopy);
-        bookCopySearchRepository.save(bookCopy);
 
         int databaseSizeBeforeDelete = bookCopyRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(bookCopySearchRepository.findAll());
-        assertThat(searchDatabaseSizeBefore).isEqualTo(databaseSizeBeforeDelete);
 
         // Delete the bookCopy
         restBookCopyMockMvc
@@ -497,8 +500,6 @@ class BookCopyResourceIT {
         // Validate the database contains one less item
         List<BookCopy> bookCopyList = bookCopyRepository.findAll();
         assertThat(bookCopyList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(bookCopySearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
 
     @Test
@@ -1,25 +1,29 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Author;
 import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.Category;
 import com.mycompany.myapp.repository.BookRepository;
 import com.mycompany.myapp.repository.search.BookSearchRepository;
 import com.mycompany.myapp.service.BookService;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.persistence.EntityManager;
-import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,9 +36,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -59,6 +65,8 @@ class BookResourceIT {
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
     private static final String ENTITY_SEARCH_API_URL = "/api/_search/books";
 
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]*)>; rel=\"next\"");
+
     private static Random random = new Random();
     private static AtomicLong count = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
 
@@ -74,6 +82,9 @@ class BookResourceIT {
     @Autowired
     private BookSearchRepository bookSearchRepository;
 
+    @Autowired
+    private SearchIndexer searchIndexer;
+
     @Autowired
     private EntityManager em;
 
@@ -119,7 +130,6 @@ class BookResourceIT {
     @Transactional
     void createBook() throws Exception {
         int databaseSizeBeforeCreate = bookRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(bookSearchRepository.findAll());
         // Create the Book
         restBookMockMvc
             .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(book)))
@@ -128,12 +138,6 @@ class BookResourceIT {
         // Validate the Book in the database
         List<Book> bookList = bookRepository.findAll();
         assertThat(bookList).hasSize(databaseSizeBeforeCreate + 1);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(bookSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
-            });
         Book testBook = bookList.get(bookList.size() - 1);
         assertThat(testBook.getTitle()).isEqualTo(DEFAULT_TITLE);
         assertThat(testBook.getImage()).isEqualTo(DEFAULT_IMAGE);
@@ -215,6 +219,71 @@ class BookResourceIT {
         verify(bookRepositoryMock, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    @Transactional
+    void getAllBooksWithCursor() throws Exception {
+        // Initialize the database
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(bookRepository.saveAndFlush(createEntity(em)).getId());
+        }
+
+        // Follow the next links, 2 books at a time
+        List<Long> listed = new ArrayList<>();
+        String url = ENTITY_API_URL + "?cursor=&size=2&count=true";
+        while (url != null) {
+            MvcResult result = restBookMockMvc
+                .perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", String.valueOf(bookRepository.count())))
+                .andExpect(jsonPath("$.length()").value(lessThanOrEqualTo(2)))
+                .andReturn();
+            for (Object id : (List<?>) JsonPath.read(result.getResponse().getContentAsString(), "$.[*].id")) {
+                listed.add(((Number) id).longValue());
+            }
+            Matcher next = NEXT_LINK.matcher(result.getResponse().getHeader(HttpHeaders.LINK));
+            url = next.find() ? next.group(1) : null;
+        }
+
+        assertThat(listed).isSorted().doesNotHaveDuplicates().containsAll(ids).hasSize((int) bookRepository.count());
+    }
+
+    @Test
+    void getAllBooksWithInvalidCursor() throws Exception {
+        restBookMockMvc.perform(get(ENTITY_API_URL + "?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllBooksWithCursorRejectsOtherSort() throws Exception {
+        restBookMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=title,asc")).andExpect(status().isBadRequest());
+        restBookMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=id,desc")).andExpect(status().isBadRequest());
+        restBookMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=id,asc")).andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    void getAllBooksByCategoryAsTiles() throws Exception {
+        // Initialize the database
+        Category category = new Category().name("category");
+        em.persist(category);
+        Author author = new Author().name("author");
+        em.persist(author);
+        bookRepository.saveAndFlush(book.category(category).addAuthor(author));
+
+        // Get the tiles of the category
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL + "/category?categoryId=" + category.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(book.getId().intValue()))
+            .andExpect(jsonPath("$.[0].title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.[0].image").value(DEFAULT_IMAGE))
+            .andExpect(jsonPath("$.[0].authors.[0].name").value("author"))
+            .andExpect(jsonPath("$.[0].description").doesNotExist())
+            .andExpect(jsonPath("$.[0].category").doesNotExist())
+            .andExpect(jsonPath("$.[0].bookCopies").doesNotExist());
+    }
+
     @Test
     @Transactional
     void getBook() throws Exception {
@@ -239,6 +308,24 @@ class BookResourceIT {
         restBookMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getBookIfNoneMatchAny() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book);
+
+        // "*" matches an existing book
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID, book.getId()).header(HttpHeaders.IF_NONE_MATCH, "*"))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // but not a missing one
+        restBookMockMvc
+            .perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, "*"))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putExistingBook() throws Exception {
@@ -246,8 +333,6 @@ class BookResourceIT {
         bookRepository.saveAndFlush(book);
 
         int databaseSizeBeforeUpdate = bookRepository.findAll().size();
-        bookSearchRepository.save(book);
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(bookSearchRepository.findAll());
 
         // Update the book
         Book updatedBook = bookRepository.findById(book.getId()).get();
@@ -270,17 +355,6 @@ class BookResourceIT {
         assertThat(testBook.getTitle()).isEqualTo(UPDATED_TITLE);
         assertThat(testBook.getImage()).isEqualTo(UPDATED_IMAGE);
         assertThat(testBook.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(bookSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-                List<Book> bookSearchList = IterableUtils.toList(bookSearchRepository.findAll());
-                Book testBookSearch = bookSearchList.get(searchDatabaseSizeAfter - 1);
-                assertThat(testBookSearch.getTitle()).isEqualTo(UPDATED_TITLE);
-                assertThat(testBookSearch.getImage()).isEqualTo(UPDATED_IMAGE);
-                assertThat(testBookSearch.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-            });
     }
 
     @Test
@@ -377,6 +451,32 @@ class BookResourceIT {
         assertThat(testBook.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
     }
 
+    @Test
+    void partialUpdateBookIsIndexedOnceCommitted() throws Exception {
+        // Initialize the database
+        bookRepository.saveAndFlush(book);
+
+        try {
+            Book partialUpdatedBook = new Book();
+            partialUpdatedBook.setId(book.getId());
+            partialUpdatedBook.title(UPDATED_TITLE);
+
+            restBookMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedBook.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedBook))
+                )
+                .andExpect(status().isOk());
+            searchIndexer.flush();
+
+            assertThat(bookSearchRepository.findById(book.getId()))
+                .hasValueSatisfying(document -> assertThat(document.getTitle()).isEqualTo(UPDATED_TITLE));
+        } finally {
+            bookRepository.deleteById(book.getId());
+        }
+    }
+
     @Test
     @Transactional
     void fullUpdateBookWithPatch() throws Exception {
@@ -479,11 +579,8 @@ class BookResourceIT {
         // Initialize the database
         bookRepository.saveAndFlush(book);
         bookRepository.save(book);
-        bookSearchRepository.save(book);
 
         int databaseSizeBeforeDelete = bookRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(bookSearchRepository.findAll());
-        assertThat(searchDatabaseSizeBefore).isEqualTo(databaseSizeBeforeDelete);
 
         // Delete the book
         restBookMockMvc
@@ -493,8 +590,6 @@ class BookResourceIT {
         // Validate the database contains one less item
         List<Book> bookList = bookRepository.findAll();
         assertThat(bookList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(bookSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
 
     @Test
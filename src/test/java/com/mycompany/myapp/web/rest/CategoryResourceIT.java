@@ -1,23 +1,26 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Book;
 import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.repository.BookRepository;
 import com.mycompany.myapp.repository.CategoryRepository;
+import com.mycompany.myapp.repository.search.BookSearchRepository;
 import com.mycompany.myapp.repository.search.CategorySearchRepository;
+import com.mycompany.myapp.service.redis.ResourceVersionService;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
-import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,6 +30,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -59,6 +63,18 @@ class CategoryResourceIT {
     @Autowired
     private CategorySearchRepository categorySearchRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookSearchRepository bookSearchRepository;
+
+    @Autowired
+    private SearchIndexer searchIndexer;
+
     @Autowired
     private EntityManager em;
 
@@ -104,7 +120,6 @@ class CategoryResourceIT {
     @Transactional
     void createCategory() throws Exception {
         int databaseSizeBeforeCreate = categoryRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(categorySearchRepository.findAll());
         // Create the Category
         restCategoryMockMvc
             .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(category)))
@@ -113,12 +128,6 @@ class CategoryResourceIT {
         // Validate the Category in the database
         List<Category> categoryList = categoryRepository.findAll();
         assertThat(categoryList).hasSize(databaseSizeBeforeCreate + 1);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(categorySearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
-            });
         Category testCategory = categoryList.get(categoryList.size() - 1);
         assertThat(testCategory.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testCategory.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
@@ -181,6 +190,32 @@ class CategoryResourceIT {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)));
     }
 
+    @Test
+    void getAllCategoriesNotModified() throws Exception {
+        String eTag = restCategoryMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=0, must-revalidate, public, s-maxage=0"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"" + ResourceVersionService.CATEGORIES + "-");
+
+        // Same version: no body
+        restCategoryMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        // A write bumps the version
+        resourceVersionService.bump(ResourceVersionService.CATEGORIES);
+        restCategoryMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
     @Test
     @Transactional
     void getCategory() throws Exception {
@@ -211,8 +246,6 @@ class CategoryResourceIT {
         categoryRepository.saveAndFlush(category);
 
         int databaseSizeBeforeUpdate = categoryRepository.findAll().size();
-        categorySearchRepository.save(category);
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(categorySearchRepository.findAll());
 
         // Update the category
         Category updatedCategory = categoryRepository.findById(category.getId()).get();
@@ -234,16 +267,6 @@ class CategoryResourceIT {
         Category testCategory = categoryList.get(categoryList.size() - 1);
         assertThat(testCategory.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testCategory.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(categorySearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-                List<Category> categorySearchList = IterableUtils.toList(categorySearchRepository.findAll());
-                Category testCategorySearch = categorySearchList.get(searchDatabaseSizeAfter - 1);
-                assertThat(testCategorySearch.getName()).isEqualTo(UPDATED_NAME);
-                assertThat(testCategorySearch.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-            });
     }
 
     @Test
@@ -341,6 +364,61 @@ class CategoryResourceIT {
         assertThat(testCategory.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
     }
 
+    @Test
+    void partialUpdateCategoryIsIndexedOnceCommitted() throws Exception {
+        // Initialize the database
+        categoryRepository.saveAndFlush(category);
+
+        try {
+            Category partialUpdatedCategory = new Category();
+            partialUpdatedCategory.setId(category.getId());
+            partialUpdatedCategory.name(UPDATED_NAME);
+
+            restCategoryMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedCategory.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedCategory))
+                )
+                .andExpect(status().isOk());
+            searchIndexer.flush();
+
+            assertThat(categorySearchRepository.findById(category.getId()))
+                .hasValueSatisfying(document -> assertThat(document.getName()).isEqualTo(UPDATED_NAME));
+        } finally {
+            categoryRepository.deleteById(category.getId());
+        }
+    }
+
+    @Test
+    void patchCategoryNameUpdatesBookDocuments() throws Exception {
+        // Initialize the database, committed so that the book documents are updated
+        categoryRepository.saveAndFlush(category);
+        Book book = bookRepository.saveAndFlush(new Book().title("title").category(category));
+        bookSearchRepository.save(book);
+
+        try {
+            Category partialUpdatedCategory = new Category();
+            partialUpdatedCategory.setId(category.getId());
+            partialUpdatedCategory.name(UPDATED_NAME);
+
+            restCategoryMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedCategory.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedCategory))
+                )
+                .andExpect(status().isOk());
+
+            assertThat(bookSearchRepository.findById(book.getId()))
+                .hasValueSatisfying(document -> assertThat(document.getCategory().getName()).isEqualTo(UPDATED_NAME));
+        } finally {
+            bookRepository.delete(book);
+            categoryRepository.delete(category);
+            bookSearchRepository.deleteAll();
+        }
+    }
+
     @Test
     @Transactional
     void fullUpdateCategoryWithPatch() throws Exception {
@@ -442,11 +520,8 @@ class CategoryResourceIT {
         // Initialize the database
         categoryRepository.saveAndFlush(category);
         categoryRepository.save(category);
-        categorySearchRepository.save(category);
 
         int databaseSizeBeforeDelete = categoryRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(categorySearchRepository.findAll());
-        assertThat(searchDatabaseSizeBefore).isEqualTo(databaseSizeBeforeDelete);
 
         // Delete the category
         restCategoryMockMvc
@@ -456,8 +531,6 @@ class CategoryResourceIT {
         // Validate the database contains one less item
         List<Category> categoryList = categoryRepository.findAll();
         assertThat(categoryList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(categorySearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
 
     @Test
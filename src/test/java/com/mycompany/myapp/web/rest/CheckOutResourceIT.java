@@ -1,26 +1,31 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Book;
+import com.mycompany.myapp.domain.BookCopy;
 import com.mycompany.myapp.domain.CheckOut;
+import com.mycompany.myapp.domain.PatronAccount;
+import com.mycompany.myapp.domain.Publisher;
+import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.domain.enumeration.Status;
 import com.mycompany.myapp.repository.CheckOutRepository;
 import com.mycompany.myapp.repository.search.CheckOutSearchRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
-import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +35,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -68,9 +74,15 @@ class CheckOutResourceIT {
     @Autowired
     private CheckOutSearchRepository checkOutSearchRepository;
 
+    @Autowired
+    private SearchIndexer searchIndexer;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private MockMvc restCheckOutMockMvc;
 
@@ -121,7 +133,6 @@ class CheckOutResourceIT {
     @Transactional
     void createCheckOut() throws Exception {
         int databaseSizeBeforeCreate = checkOutRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(checkOutSearchRepository.findAll());
         // Create the CheckOut
         restCheckOutMockMvc
             .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(checkOut)))
@@ -130,12 +141,6 @@ class CheckOutResourceIT {
         // Validate the CheckOut in the database
         List<CheckOut> checkOutList = checkOutRepository.findAll();
         assertThat(checkOutList).hasSize(databaseSizeBeforeCreate + 1);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(checkOutSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
-            });
         CheckOut testCheckOut = checkOutList.get(checkOutList.size() - 1);
         assertThat(testCheckOut.getStartTime()).isEqualTo(DEFAULT_START_TIME);
         assertThat(testCheckOut.getEndTime()).isEqualTo(DEFAULT_END_TIME);
@@ -182,6 +187,66 @@ class CheckOutResourceIT {
             .andExpect(jsonPath("$.[*].isReturned").value(hasItem(DEFAULT_IS_RETURNED.booleanValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllCheckOutsServesSummaries() throws Exception {
+        // Initialize the database
+        User user = UserResourceIT.createEntity(em);
+        em.persist(user);
+        PatronAccount patronAccount = new PatronAccount().cardNumber("CO00000001").user(user);
+        em.persist(patronAccount);
+        Book book = BookResourceIT.createEntity(em);
+        em.persist(book);
+        Publisher publisher = PublisherResourceIT.createEntity(em);
+        em.persist(publisher);
+        BookCopy bookCopy = BookCopyResourceIT.createEntity(em).book(book).publisher(publisher);
+        em.persist(bookCopy);
+        checkOutRepository.saveAndFlush(checkOut.bookCopy(bookCopy).patronAccount(patronAccount));
+
+        // Get the checkOut as the list view reads it
+        String summaries = restCheckOutMockMvc
+            .perform(get(ENTITY_API_URL + "?status=" + DEFAULT_STATUS + "&sort=id,desc&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(checkOut.getId().intValue()))
+            .andExpect(jsonPath("$.[0].bookCopy.yearPublished").value(bookCopy.getYearPublished()))
+            .andExpect(jsonPath("$.[0].bookCopy.book.title").value(book.getTitle()))
+            .andExpect(jsonPath("$.[0].bookCopy.publisher.name").value(publisher.getName()))
+            .andExpect(jsonPath("$.[0].patronAccount.cardNumber").value(patronAccount.getCardNumber()))
+            .andExpect(jsonPath("$.[0].patronAccount.user.login").value(user.getLogin()))
+            .andExpect(jsonPath("$.[0].patronAccount.user.email").doesNotExist())
+            .andExpect(jsonPath("$.[0].bookCopy.book.description").doesNotExist())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // The summaries are lighter than the entities the endpoint used to serve
+        String entities = objectMapper.writeValueAsString(List.of(checkOut));
+        assertThat(summaries.length()).isLessThan(entities.length());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void exportCheckOutsByStatus() throws Exception {
+        // Initialize the database
+        checkOutRepository.saveAndFlush(checkOut);
+        CheckOut pendingCheckOut = checkOutRepository.saveAndFlush(createUpdatedEntity(em).status(Status.Pending));
+
+        // Export the confirmed check outs
+        String csv = restCheckOutMockMvc
+            .perform(get(ENTITY_API_URL + "/export?status=" + Status.Confirmed))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv;charset=UTF-8"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"check-outs.csv\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        assertThat(csv)
+            .startsWith("id;start_time;end_time;status;is_returned;")
+            .contains("\n" + checkOut.getId() + ";" + DEFAULT_START_TIME + ";" + DEFAULT_END_TIME + ";Confirmed;false;")
+            .doesNotContain("\n" + pendingCheckOut.getId() + ";");
+    }
+
     @Test
     @Transactional
     void getCheckOut() throws Exception {
@@ -214,8 +279,6 @@ class CheckOutResourceIT {
         checkOutRepository.saveAndFlush(checkOut);
 
         int databaseSizeBeforeUpdate = checkOutRepository.findAll().size();
-        checkOutSearchRepository.save(checkOut);
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(checkOutSearchRepository.findAll());
 
         // Update the checkOut
         CheckOut updatedCheckOut = checkOutRepository.findById(checkOut.getId()).get();
@@ -239,18 +302,6 @@ class CheckOutResourceIT {
         assertThat(testCheckOut.getEndTime()).isEqualTo(UPDATED_END_TIME);
         assertThat(testCheckOut.getStatus()).isEqualTo(UPDATED_STATUS);
         assertThat(testCheckOut.getIsReturned()).isEqualTo(UPDATED_IS_RETURNED);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(checkOutSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-                List<CheckOut> checkOutSearchList = IterableUtils.toList(checkOutSearchRepository.findAll());
-                CheckOut testCheckOutSearch = checkOutSearchList.get(searchDatabaseSizeAfter - 1);
-                assertThat(testCheckOutSearch.getStartTime()).isEqualTo(UPDATED_START_TIME);
-                assertThat(testCheckOutSearch.getEndTime()).isEqualTo(UPDATED_END_TIME);
-                assertThat(testCheckOutSearch.getStatus()).isEqualTo(UPDATED_STATUS);
-                assertThat(testCheckOutSearch.getIsReturned()).isEqualTo(UPDATED_IS_RETURNED);
-            });
     }
 
     @Test
@@ -350,6 +401,32 @@ class CheckOutResourceIT {
         assertThat(testCheckOut.getIsReturned()).isEqualTo(DEFAULT_IS_RETURNED);
     }
 
+    @Test
+    void partialUpdateCheckOutIsIndexedOnceCommitted() throws Exception {
+        // Initialize the database
+        checkOutRepository.saveAndFlush(checkOut);
+
+        try {
+            CheckOut partialUpdatedCheckOut = new CheckOut();
+            partialUpdatedCheckOut.setId(checkOut.getId());
+            partialUpdatedCheckOut.status(UPDATED_STATUS);
+
+            restCheckOutMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedCheckOut.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedCheckOut))
+                )
+                .andExpect(status().isOk());
+            searchIndexer.flush();
+
+            assertThat(checkOutSearchRepository.findById(checkOut.getId()))
+                .hasValueSatisfying(document -> assertThat(document.getStatus()).isEqualTo(UPDATED_STATUS));
+        } finally {
+            checkOutRepository.deleteById(checkOut.getId());
+        }
+    }
+
     @Test
     @Transactional
     void fullUpdateCheckOutWithPatch() throws Exception {
@@ -457,11 +534,8 @@ class CheckOutResourceIT {
         // Initialize the database
         checkOutRepository.saveAndFlush(checkOut);
         checkOutRepository.save(checkOut);
-        checkOutSearchRepository.save(checkOut);
 
         int databaseSizeBeforeDelete = checkOutRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(checkOutSearchRepository.findAll());
-        assertThat(searchDatabaseSizeBefore).isEqualTo(databaseSizeBeforeDelete);
 
         // Delete the checkOut
         restCheckOutMockMvc
@@ -471,8 +545,6 @@ class CheckOutResourceIT {
         // Validate the database contains one less item
         List<CheckOut> checkOutList = checkOutRepository.findAll();
         assertThat(checkOutList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(checkOutSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
 
     @Test
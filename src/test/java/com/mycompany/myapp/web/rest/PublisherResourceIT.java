@@ -1,7 +1,6 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -11,13 +10,12 @@ import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Publisher;
 import com.mycompany.myapp.repository.PublisherRepository;
 import com.mycompany.myapp.repository.search.PublisherSearchRepository;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
-import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +54,9 @@ class PublisherResourceIT {
     @Autowired
     private PublisherSearchRepository publisherSearchRepository;
 
+    @Autowired
+    private SearchIndexer searchIndexer;
+
     @Autowired
     private EntityManager em;
 
@@ -101,7 +102,6 @@ class PublisherResourceIT {
     @Transactional
     void createPublisher() throws Exception {
         int databaseSizeBeforeCreate = publisherRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(publisherSearchRepository.findAll());
         // Create the Publisher
         restPublisherMockMvc
             .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(publisher)))
@@ -110,12 +110,6 @@ class PublisherResourceIT {
         // Validate the Publisher in the database
         List<Publisher> publisherList = publisherRepository.findAll();
         assertThat(publisherList).hasSize(databaseSizeBeforeCreate + 1);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(publisherSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
-            });
         Publisher testPublisher = publisherList.get(publisherList.size() - 1);
         assertThat(testPublisher.getName()).isEqualTo(DEFAULT_NAME);
     }
@@ -205,8 +199,6 @@ class PublisherResourceIT {
         publisherRepository.saveAndFlush(publisher);
 
         int databaseSizeBeforeUpdate = publisherRepository.findAll().size();
-        publisherSearchRepository.save(publisher);
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(publisherSearchRepository.findAll());
 
         // Update the publisher
         Publisher updatedPublisher = publisherRepository.findById(publisher.getId()).get();
@@ -227,15 +219,6 @@ class PublisherResourceIT {
         assertThat(publisherList).hasSize(databaseSizeBeforeUpdate);
         Publisher testPublisher = publisherList.get(publisherList.size() - 1);
         assertThat(testPublisher.getName()).isEqualTo(UPDATED_NAME);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(publisherSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-                List<Publisher> publisherSearchList = IterableUtils.toList(publisherSearchRepository.findAll());
-                Publisher testPublisherSearch = publisherSearchList.get(searchDatabaseSizeAfter - 1);
-                assertThat(testPublisherSearch.getName()).isEqualTo(UPDATED_NAME);
-            });
     }
 
     @Test
@@ -330,6 +313,32 @@ class PublisherResourceIT {
         assertThat(testPublisher.getName()).isEqualTo(DEFAULT_NAME);
     }
 
+    @Test
+    void partialUpdatePublisherIsIndexedOnceCommitted() throws Exception {
+        // Initialize the database
+        publisherRepository.saveAndFlush(publisher);
+
+        try {
+            Publisher partialUpdatedPublisher = new Publisher();
+            partialUpdatedPublisher.setId(publisher.getId());
+            partialUpdatedPublisher.name(UPDATED_NAME);
+
+            restPublisherMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedPublisher.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedPublisher))
+                )
+                .andExpect(status().isOk());
+            searchIndexer.flush();
+
+            assertThat(publisherSearchRepository.findById(publisher.getId()))
+                .hasValueSatisfying(document -> assertThat(document.getName()).isEqualTo(UPDATED_NAME));
+        } finally {
+            publisherRepository.deleteById(publisher.getId());
+        }
+    }
+
     @Test
     @Transactional
     void fullUpdatePublisherWithPatch() throws Exception {
@@ -432,11 +441,8 @@ class PublisherResourceIT {
         // Initialize the database
         publisherRepository.saveAndFlush(publisher);
         publisherRepository.save(publisher);
-        publisherSearchRepository.save(publisher);
 
         int databaseSizeBeforeDelete = publisherRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(publisherSearchRepository.findAll());
-        assertThat(searchDatabaseSizeBefore).isEqualTo(databaseSizeBeforeDelete);
 
         // Delete the publisher
         restPublisherMockMvc
@@ -446,8 +452,6 @@ class PublisherResourceIT {
         // Validate the database contains one less item
         List<Publisher> publisherList = publisherRepository.findAll();
         assertThat(publisherList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(publisherSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
 
     @Test
@@ -1,7 +1,6 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -12,16 +11,15 @@ import com.mycompany.myapp.domain.WaitList;
 import com.mycompany.myapp.repository.WaitListRepository;
 import com.mycompany.myapp.repository.search.WaitListSearchRepository;
 import com.mycompany.myapp.service.WaitListService;
+import com.mycompany.myapp.service.search.SearchIndexer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
-import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -70,6 +68,9 @@ class WaitListResourceIT {
     @Autowired
     private WaitListSearchRepository waitListSearchRepository;
 
+    @Autowired
+    private SearchIndexer searchIndexer;
+
     @Autowired
     private EntityManager em;
 
@@ -115,7 +116,6 @@ class WaitListResourceIT {
     @Transactional
     void createWaitList() throws Exception {
         int databaseSizeBeforeCreate = waitListRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(waitListSearchRepository.findAll());
         // Create the WaitList
         restWaitListMockMvc
             .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(waitList)))
@@ -124,12 +124,6 @@ class WaitListResourceIT {
         // Validate the WaitList in the database
         List<WaitList> waitListList = waitListRepository.findAll();
         assertThat(waitListList).hasSize(databaseSizeBeforeCreate + 1);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(waitListSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
-            });
         WaitList testWaitList = waitListList.get(waitListList.size() - 1);
         assertThat(testWaitList.getCreatAt()).isEqualTo(DEFAULT_CREAT_AT);
     }
@@ -216,8 +210,6 @@ class WaitListResourceIT {
         waitListRepository.saveAndFlush(waitList);
 
         int databaseSizeBeforeUpdate = waitListRepository.findAll().size();
-        waitListSearchRepository.save(waitList);
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(waitListSearchRepository.findAll());
 
         // Update the waitList
         WaitList updatedWaitList = waitListRepository.findById(waitList.getId()).get();
@@ -238,15 +230,6 @@ class WaitListResourceIT {
         assertThat(waitListList).hasSize(databaseSizeBeforeUpdate);
         WaitList testWaitList = waitListList.get(waitListList.size() - 1);
         assertThat(testWaitList.getCreatAt()).isEqualTo(UPDATED_CREAT_AT);
-        await()
-            .atMost(5, TimeUnit.SECONDS)
-            .untilAsserted(() -> {
-                int searchDatabaseSizeAfter = IterableUtil.sizeOf(waitListSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-                List<WaitList> waitListSearchList = IterableUtils.toList(waitListSearchRepository.findAll());
-                WaitList testWaitListSearch = waitListSearchList.get(searchDatabaseSizeAfter - 1);
-                assertThat(testWaitListSearch.getCreatAt()).isEqualTo(UPDATED_CREAT_AT);
-            });
     }
 
     @Test
@@ -343,6 +326,32 @@ class WaitListResourceIT {
         assertThat(testWaitList.getCreatAt()).isEqualTo(UPDATED_CREAT_AT);
     }
 
+    @Test
+    void partialUpdateWaitListIsIndexedOnceCommitted() throws Exception {
+        // Initialize the database
+        waitListRepository.saveAndFlush(waitList);
+
+        try {
+            WaitList partialUpdatedWaitList = new WaitList();
+            partialUpdatedWaitList.setId(waitList.getId());
+            partialUpdatedWaitList.creatAt(UPDATED_CREAT_AT);
+
+            restWaitListMockMvc
+                .perform(
+                    patch(ENTITY_API_URL_ID, partialUpdatedWaitList.getId())
+                        .contentType("application/merge-patch+json")
+                        .content(TestUtil.convertObjectToJsonBytes(partialUpdatedWaitList))
+                )
+                .andExpect(status().isOk());
+            searchIndexer.flush();
+
+            assertThat(waitListSearchRepository.findById(waitList.getId()))
+                .hasValueSatisfying(document -> assertThat(document.getCreatAt()).isEqualTo(UPDATED_CREAT_AT));
+        } finally {
+            waitListRepository.deleteById(waitList.getId());
+        }
+    }
+
     @Test
     @Transactional
     void fullUpdateWaitListWithPatch() throws Exception {
@@ -443,11 +452,8 @@ class WaitListResourceIT {
         // Initialize the database
         waitListRepository.saveAndFlush(waitList);
         waitListRepository.save(waitList);
-        waitListSearchRepository.save(waitList);
 
         int databaseSizeBeforeDelete = waitListRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(waitListSearchRepository.findAll());
-        assertThat(searchDatabaseSizeBefore).isEqualTo(databaseSizeBeforeDelete);
 
         // Delete the waitList
         restWaitListMockMvc
@@ -457,8 +463,6 @@ class WaitListResourceIT {
         // Validate the database contains one less item
         List<WaitList> waitListList = waitListRepository.findAll();
         assertThat(waitListList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(waitListSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
 
     @Test